@@ -0,0 +1,139 @@
+package com.techcorp.authapp.benchmark;
+
+import com.techcorp.authapp.controller.UserAuthenticationController;
+import com.techcorp.authapp.dto.ApiResponseDto;
+import com.techcorp.authapp.dto.LoginRequestDto;
+import com.techcorp.authapp.dto.UserRegistrationDto;
+import com.techcorp.authapp.repository.InMemoryRevokedTokenRepository;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.AdaptiveConcurrencyLimiter;
+import com.techcorp.authapp.service.AuthenticationFailureException;
+import com.techcorp.authapp.service.AuthenticationService;
+import com.techcorp.authapp.service.CredentialDigester;
+import com.techcorp.authapp.service.LoginAttemptThrottle;
+import com.techcorp.authapp.service.LoginOutcome;
+import com.techcorp.authapp.service.LoginVerificationCoalescer;
+import com.techcorp.authapp.service.TokenGenerationService;
+import com.techcorp.authapp.service.VerifiedCredentialCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Throughput de logins fallidos (contraseña incorrecta): excepción con traza y status por texto del mensaje
+ * (señalización anterior) frente a excepción sin traza con status por enum y frente a resultado sin excepción
+ * El encoder compara en claro para que el coste de la señalización no quede oculto tras BCrypt;
+ * callDepth simula la profundidad de pila de una petición real, que encarece capturar la traza
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=FailedLoginBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FailedLoginBenchmark {
+    
+    private static final String USERNAME = "bench.user";
+    
+    @Param({"16", "128"})
+    private int callDepth;
+    
+    private AuthenticationService authenticationService;
+    private UserAuthenticationController controller;
+    private LoginRequestDto wrongPassword;
+    
+    @Setup
+    public void setUp() {
+        CredentialDigester credentialDigester = new CredentialDigester();
+        authenticationService = new AuthenticationService();
+        ReflectionTestUtils.setField(authenticationService, "userRepository", new InMemoryUserRepository());
+        ReflectionTestUtils.setField(authenticationService, "passwordEncoder", new PlainTextPasswordEncoder());
+        ReflectionTestUtils.setField(authenticationService, "tokenService", new TokenGenerationService());
+        ReflectionTestUtils.setField(authenticationService, "revokedTokenRepository", new InMemoryRevokedTokenRepository());
+        ReflectionTestUtils.setField(authenticationService, "verifiedCredentialCache",
+            new VerifiedCredentialCache(credentialDigester, false, 60, 10000));
+        ReflectionTestUtils.setField(authenticationService, "loginVerificationCoalescer",
+            new LoginVerificationCoalescer(credentialDigester));
+        // Sin limitadores: todos los intentos llegan a la verificación
+        ReflectionTestUtils.setField(authenticationService, "concurrencyLimiter",
+            new AdaptiveConcurrencyLimiter(false, 20, 4, 200, 0.2, 1));
+        ReflectionTestUtils.setField(authenticationService, "loginAttemptThrottle",
+            new LoginAttemptThrottle(false, 10, 10, 50, 120, 100000));
+        controller = new UserAuthenticationController();
+        ReflectionTestUtils.setField(controller, "authenticationService", authenticationService);
+        
+        UserRegistrationDto registration = new UserRegistrationDto();
+        registration.setUsername(USERNAME);
+        registration.setPassword("Benchmark123!");
+        registration.setEmailAddress("bench.user@techcorp.com");
+        authenticationService.registerNewUser(registration);
+        wrongPassword = new LoginRequestDto(USERNAME, "Incorrecta123!");
+    }
+    
+    @Benchmark
+    public ResponseEntity<?> stackTraceAndMessageMatching() {
+        return atDepth(callDepth, () -> {
+            try {
+                LoginOutcome outcome = authenticationService.attemptLogin(wrongPassword);
+                if (!outcome.isSuccess()) {
+                    // Señalización anterior: RuntimeException con traza completa...
+                    throw new RuntimeException(outcome.getFailure().getMessage());
+                }
+                return ResponseEntity.ok().build();
+            } catch (RuntimeException e) {
+                // ...y status elegido inspeccionando el mensaje
+                if (e.getMessage().contains("Usuario no encontrado")) {
+                    return errorResponse(e.getMessage(), HttpStatus.NOT_FOUND);
+                }
+                if (e.getMessage().contains("Credenciales inválidas")) {
+                    return errorResponse(e.getMessage(), HttpStatus.UNAUTHORIZED);
+                }
+                return errorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
+    
+    @Benchmark
+    public ResponseEntity<?> stacklessExceptionAndEnumStatus() {
+        return atDepth(callDepth, () -> {
+            try {
+                authenticationService.authenticateUser(wrongPassword);
+                return ResponseEntity.ok().build();
+            } catch (AuthenticationFailureException e) {
+                return errorResponse(e.getMessage(), e.getFailure().getHttpStatus());
+            }
+        });
+    }
+    
+    @Benchmark
+    public ResponseEntity<?> outcome() {
+        // Camino actual del controlador
+        return atDepth(callDepth, () -> controller.loginUser(null, wrongPassword));
+    }
+    
+    private static ResponseEntity<ApiResponseDto<Void>> errorResponse(String message, HttpStatus status) {
+        return new ResponseEntity<>(new ApiResponseDto<>(false, message), status);
+    }
+    
+    private static <T> T atDepth(int remaining, Supplier<T> call) {
+        return remaining <= 0 ? call.get() : atDepth(remaining - 1, call);
+    }
+    
+    private static final class PlainTextPasswordEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+        
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
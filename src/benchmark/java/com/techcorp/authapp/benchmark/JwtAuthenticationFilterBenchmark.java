@@ -0,0 +1,72 @@
+package com.techcorp.authapp.benchmark;
+
+import com.techcorp.authapp.config.JwtAuthenticationFilter;
+import com.techcorp.authapp.repository.InMemoryRevokedTokenRepository;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.AccessTokenVerifier;
+import com.techcorp.authapp.service.TokenGenerationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sobrecoste por petición del filtro JWT: token cacheado, token nuevo y ruta pública
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=JwtAuthenticationFilterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+    
+    private TokenGenerationService tokenService;
+    private JwtAuthenticationFilter filter;
+    private String cachedToken;
+    
+    @Setup
+    public void setUp() {
+        tokenService = new TokenGenerationService();
+        AccessTokenVerifier verifier = new AccessTokenVerifier();
+        ReflectionTestUtils.setField(verifier, "tokenService", tokenService);
+        ReflectionTestUtils.setField(verifier, "userRepository", new InMemoryUserRepository());
+        ReflectionTestUtils.setField(verifier, "revokedTokenRepository", new InMemoryRevokedTokenRepository());
+        filter = new JwtAuthenticationFilter(verifier, "/api/auth/**", "/api/system/**", "/swagger-ui/**");
+        cachedToken = tokenService.generateUserToken("benchmark.user", 0);
+    }
+    
+    @Benchmark
+    public Object cachedToken() throws Exception {
+        return filter(request("/api/users", cachedToken));
+    }
+    
+    @Benchmark
+    public Object uncachedToken() throws Exception {
+        // Incluye la emisión del token para que cada iteración use uno distinto
+        return filter(request("/api/users", tokenService.generateUserToken("benchmark.user", 0)));
+    }
+    
+    @Benchmark
+    public Object publicPath() throws Exception {
+        return filter(new MockHttpServletRequest("GET", "/api/system/health"));
+    }
+    
+    private MockHttpServletRequest request(String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+    
+    private Object filter(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,162 @@
+package com.techcorp.authapp.benchmark;
+
+import com.techcorp.authapp.config.BoundedPasswordEncoder;
+import com.techcorp.authapp.dto.LoginRequestDto;
+import com.techcorp.authapp.dto.UserRegistrationDto;
+import com.techcorp.authapp.repository.InMemoryRevokedTokenRepository;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.AdaptiveConcurrencyLimiter;
+import com.techcorp.authapp.service.AuthenticationService;
+import com.techcorp.authapp.service.CredentialDigester;
+import com.techcorp.authapp.service.LoginAttemptThrottle;
+import com.techcorp.authapp.service.LoginVerificationCoalescer;
+import com.techcorp.authapp.service.PasswordHashingExecutor;
+import com.techcorp.authapp.service.TokenGenerationService;
+import com.techcorp.authapp.service.VerifiedCredentialCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Peticiones concurrentes de login, registro y consulta de usuario atendidas con hilos de plataforma
+ * (pool fijo como el de Tomcat) o con hilos virtuales; BCrypt siempre corre en el pool acotado de hashing.
+ * La consulta simula la latencia de un repositorio con I/O. El modo virtual requiere ejecutar con Java 21 (-Pjava21)
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=RequestThreadingBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestThreadingBenchmark {
+    
+    private static final int CONCURRENT_REQUESTS = 400;
+    private static final int PLATFORM_REQUEST_THREADS = 200; // server.tomcat.threads.max por defecto
+    private static final int SEEDED_USERS = 50;
+    private static final String PASSWORD = "Benchmark123!";
+    
+    @Param({"platform", "virtual"})
+    private String threadMode;
+    
+    @Param({"5"})
+    private long lookupLatencyMillis;
+    
+    private ExecutorService requestExecutor;
+    private PasswordHashingExecutor hashingExecutor;
+    private InMemoryUserRepository userRepository;
+    private AuthenticationService authenticationService;
+    private final AtomicLong registrations = new AtomicLong();
+    
+    @Setup
+    public void setUp() {
+        requestExecutor = "virtual".equals(threadMode)
+            ? newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(PLATFORM_REQUEST_THREADS);
+        hashingExecutor = new PasswordHashingExecutor(0, CONCURRENT_REQUESTS, 1);
+        userRepository = new InMemoryUserRepository();
+        
+        CredentialDigester credentialDigester = new CredentialDigester();
+        authenticationService = new AuthenticationService();
+        ReflectionTestUtils.setField(authenticationService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authenticationService, "passwordEncoder",
+            new BoundedPasswordEncoder(new BCryptPasswordEncoder(6), hashingExecutor));
+        ReflectionTestUtils.setField(authenticationService, "passwordHashingExecutor", hashingExecutor);
+        ReflectionTestUtils.setField(authenticationService, "tokenService", new TokenGenerationService());
+        ReflectionTestUtils.setField(authenticationService, "revokedTokenRepository", new InMemoryRevokedTokenRepository());
+        ReflectionTestUtils.setField(authenticationService, "verifiedCredentialCache",
+            new VerifiedCredentialCache(credentialDigester, false, 60, 10000));
+        ReflectionTestUtils.setField(authenticationService, "loginVerificationCoalescer",
+            new LoginVerificationCoalescer(credentialDigester));
+        // Limitadores deshabilitados: se compara el modelo de hilos, no el descarte de carga
+        ReflectionTestUtils.setField(authenticationService, "concurrencyLimiter",
+            new AdaptiveConcurrencyLimiter(false, 20, 4, 200, 0.2, 1));
+        ReflectionTestUtils.setField(authenticationService, "loginAttemptThrottle",
+            new LoginAttemptThrottle(false, 10, 10, 50, 120, 100000));
+        
+        for (int i = 0; i < SEEDED_USERS; i++) {
+            authenticationService.registerNewUser(registration("bench.user." + i));
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        hashingExecutor.shutdown();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public int login() throws Exception {
+        return runConcurrently(i -> {
+            LoginRequestDto loginRequest = new LoginRequestDto();
+            loginRequest.setUsername("bench.user." + (i % SEEDED_USERS));
+            loginRequest.setPassword(PASSWORD);
+            return authenticationService.authenticateUser(loginRequest);
+        });
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public int register() throws Exception {
+        return runConcurrently(i -> authenticationService.registerNewUser(
+            registration("bench.new." + registrations.incrementAndGet())));
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public int userLookup() throws Exception {
+        return runConcurrently(i -> {
+            // Latencia de un repositorio con I/O: bloquea el hilo de la petición sin consumir CPU
+            Thread.sleep(lookupLatencyMillis);
+            return userRepository.findByUsername("bench.user." + (i % SEEDED_USERS)).orElseThrow();
+        });
+    }
+    
+    private int runConcurrently(Request request) throws Exception {
+        List<Future<Object>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            int requestIndex = i;
+            responses.add(requestExecutor.submit(() -> request.handle(requestIndex)));
+        }
+        int completed = 0;
+        for (Future<Object> response : responses) {
+            if (response.get() != null) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+    
+    private static UserRegistrationDto registration(String username) {
+        UserRegistrationDto registration = new UserRegistrationDto();
+        registration.setUsername(username);
+        registration.setPassword(PASSWORD);
+        registration.setEmailAddress(username + "@techcorp.com");
+        return registration;
+    }
+    
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() por reflexión: el código se compila para Java 17
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Los hilos virtuales requieren Java 21 (mvn -Pjava21 -Pbenchmark ...)", e);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface Request {
+        Object handle(int requestIndex) throws Exception;
+    }
+}
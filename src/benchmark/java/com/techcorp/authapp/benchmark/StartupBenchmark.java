@@ -0,0 +1,68 @@
+package com.techcorp.authapp.benchmark;
+
+import com.techcorp.authapp.UserManagementApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arranque en frío y primera petición a /api-docs: springdoc escaneando en ejecución (default)
+ * frente al OpenAPI generado en build y servido estático (prod). Un arranque por fork
+ * Ejecutar con: mvn -Pbenchmark,openapi package exec:exec -DskipTests -Dbenchmark.include=StartupBenchmark
+ * (el perfil openapi genera static/openapi; sin él, /api-docs en prod responde 404)
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext startup() {
+        context = start();
+        return context;
+    }
+
+    @Benchmark
+    public String startupAndFirstApiDocs() throws Exception {
+        context = start();
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        HttpResponse<String> response = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build()
+            .send(HttpRequest.newBuilder(URI.create(baseUrl + "/api-docs")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("/api-docs respondió " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(UserManagementApplication.class)
+            .profiles(profile)
+            .properties(
+                "server.port=0",
+                "app.security.bcrypt.calibration-enabled=false",
+                "logging.level.root=WARN")
+            .run();
+    }
+}
@@ -0,0 +1,43 @@
+package com.techcorp.authapp.benchmark;
+
+import com.techcorp.authapp.service.AccessTokenClaims;
+import com.techcorp.authapp.service.TokenGenerationService;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de firma y verificación de access tokens por algoritmo
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=TokenSigningBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenSigningBenchmark {
+    
+    @Param({"HS256", "ES256"})
+    private String algorithm;
+    
+    private TokenGenerationService tokenService;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        tokenService = new TokenGenerationService(SignatureAlgorithm.forName(algorithm));
+        token = tokenService.generateUserToken("benchmark.user", 0);
+    }
+    
+    @Benchmark
+    public String sign() {
+        return tokenService.generateUserToken("benchmark.user", 0);
+    }
+    
+    @Benchmark
+    public AccessTokenClaims verify() {
+        return tokenService.verifyAccessToken(token);
+    }
+}
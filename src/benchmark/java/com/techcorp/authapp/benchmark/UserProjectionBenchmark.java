@@ -0,0 +1,79 @@
+package com.techcorp.authapp.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.techcorp.authapp.dto.ApiResponseDto;
+import com.techcorp.authapp.dto.UserProjection;
+import com.techcorp.authapp.model.SystemUser;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de serializar GET /api/users completo frente a la proyección fields=username,accountActive
+ * Con el perfilador gc (activo por defecto en el perfil) gc.alloc.rate.norm indica los bytes asignados por listado,
+ * y la métrica secundaria bytes el tamaño del payload escrito
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=UserProjectionBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserProjectionBenchmark {
+    
+    @Param({"100", "10000"})
+    private int users;
+    
+    private ObjectMapper objectMapper;
+    private ObjectWriter fullWriter;
+    private List<SystemUser> userList;
+    
+    /**
+     * Tamaño del último payload serializado; JMH lo publica junto al tiempo de cada benchmark
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long bytes;
+    }
+    
+    @Setup
+    public void setUp() throws Exception {
+        // Misma configuración que el ObjectMapper de Spring Boot (fechas ISO-8601)
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        fullWriter = objectMapper.writerFor(new TypeReference<ApiResponseDto<List<SystemUser>>>() { });
+        
+        userList = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            SystemUser user = new SystemUser("USR-" + i, "usuario." + i, "$2a$12$hash", "usuario." + i + "@techcorp.com");
+            user.setRegistrationDate(LocalDateTime.of(2024, 1, 15, 10, 30).plusMinutes(i));
+            userList.add(user);
+        }
+    }
+    
+    @Benchmark
+    public byte[] full(Payload payload) throws Exception {
+        byte[] body = fullWriter.writeValueAsBytes(new ApiResponseDto<>(true, "Users retrieved successfully", userList));
+        payload.bytes = body.length;
+        return body;
+    }
+    
+    @Benchmark
+    public byte[] projected(Payload payload) throws Exception {
+        UserProjection projection = UserProjection.compile("username,accountActive");
+        byte[] body = objectMapper.writeValueAsBytes(
+            new ApiResponseDto<>(true, "Users retrieved successfully", projection.project(userList)));
+        payload.bytes = body.length;
+        return body;
+    }
+}
@@ -0,0 +1,104 @@
+package com.techcorp.authapp.benchmark;
+
+import com.techcorp.authapp.UserManagementApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Comparativa de throughput y latencia (percentiles de SampleTime) entre el stack MVC (Tomcat)
+ * y la edición reactiva (WebFlux sobre Netty) con muchas conexiones concurrentes
+ * Ejecutar con: mvn -Pbenchmark,webflux test-compile exec:exec -Dbenchmark.include=WebStackBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WebStackBenchmark {
+    
+    private static final String USERNAME = "bench.stack";
+    private static final String PASSWORD = "Benchmark123!";
+    private static final Pattern AUTH_TOKEN = Pattern.compile("\"authToken\"\\s*:\\s*\"([^\"]+)\"");
+    
+    @Param({"mvc", "webflux"})
+    private String stack;
+    
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private String authToken;
+    
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(UserManagementApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.main.web-application-type=" + ("webflux".equals(stack) ? "reactive" : "servlet"),
+                // Coste fijo y sin limitadores: se compara el stack web, no el descarte de carga
+                "app.security.bcrypt.calibration-enabled=false",
+                "app.security.bcrypt.strength=10",
+                "app.security.login-throttle.enabled=false",
+                "app.security.concurrency-limit.enabled=false",
+                "logging.level.root=WARN")
+            .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        
+        post("/api/auth/register", "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD
+            + "\",\"emailAddress\":\"bench.stack@techcorp.com\"}");
+        Matcher matcher = AUTH_TOKEN.matcher(login());
+        if (!matcher.find()) {
+            throw new IllegalStateException("El login inicial no devolvió un token");
+        }
+        authToken = matcher.group(1);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public String health() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/system/health")).GET().build());
+    }
+    
+    @Benchmark
+    public String listUsers() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/users"))
+            .header("Authorization", "Bearer " + authToken)
+            .GET()
+            .build());
+    }
+    
+    @Benchmark
+    public String login() throws Exception {
+        return post("/api/auth/login", "{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}");
+    }
+    
+    private String post(String path, String json) throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build());
+    }
+    
+    private String send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " respondió " + response.statusCode());
+        }
+        return response.body();
+    }
+}
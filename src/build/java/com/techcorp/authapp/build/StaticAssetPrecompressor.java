@@ -0,0 +1,118 @@
+package com.techcorp.authapp.build;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Precompresión en build de los assets de texto: webjars del classpath y static/ de target/classes
+ * Escribe la variante .br (y .gz si el webjar no la incluye) junto al recurso en target/classes,
+ * donde EncodedResourceResolver la encuentra; el servidor nunca los comprime en tiempo de ejecución.
+ * Se lanza como programa de un solo fichero desde maven-antrun-plugin (process-classes y prepare-package)
+ */
+public final class StaticAssetPrecompressor {
+    
+    private static final String WEBJARS_PREFIX = "META-INF/resources/webjars/";
+    private static final String STATIC_DIRECTORY = "static";
+    private static final List<String> COMPRESSIBLE = List.of(".js", ".css", ".html", ".json", ".svg");
+    private static final int MIN_SIZE = 1024;
+    private static final Encoder.Parameters BROTLI = new Encoder.Parameters().setQuality(11).setMode(Encoder.Mode.TEXT);
+    
+    private StaticAssetPrecompressor() {
+    }
+    
+    /**
+     * args[0]: directorio de salida (target/classes); args[1]: classpath de runtime
+     */
+    public static void main(String[] args) throws IOException {
+        Brotli4jLoader.ensureAvailability();
+        Path outputDirectory = Path.of(args[0]);
+        int written = 0;
+        
+        for (String entry : args[1].split(File.pathSeparator)) {
+            File jar = new File(entry);
+            if (!jar.isFile() || !jar.getName().endsWith(".jar")) {
+                continue;
+            }
+            try (JarFile jarFile = new JarFile(jar)) {
+                Enumeration<JarEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    JarEntry asset = entries.nextElement();
+                    if (!asset.getName().startsWith(WEBJARS_PREFIX) || asset.isDirectory()
+                            || !isCompressible(asset.getName(), asset.getSize())) {
+                        continue;
+                    }
+                    Path target = outputDirectory.resolve(asset.getName());
+                    if (isUpToDate(target, jar.lastModified())) {
+                        continue;
+                    }
+                    try (InputStream input = jarFile.getInputStream(asset)) {
+                        precompress(target, input.readAllBytes(), jarFile.getEntry(asset.getName() + ".gz") != null);
+                    }
+                    written++;
+                }
+            }
+        }
+        
+        Path staticDirectory = outputDirectory.resolve(STATIC_DIRECTORY);
+        if (Files.isDirectory(staticDirectory)) {
+            try (Stream<Path> files = Files.walk(staticDirectory)) {
+                for (Path asset : files.filter(Files::isRegularFile).toList()) {
+                    if (!isCompressible(asset.toString(), Files.size(asset))
+                            || isUpToDate(asset, Files.getLastModifiedTime(asset).toMillis())) {
+                        continue;
+                    }
+                    precompress(asset, Files.readAllBytes(asset), false);
+                    written++;
+                }
+            }
+        }
+        System.out.println("Assets precomprimidos: " + written);
+    }
+    
+    private static boolean isCompressible(String name, long size) {
+        return size >= MIN_SIZE && COMPRESSIBLE.stream().anyMatch(name::endsWith);
+    }
+    
+    private static boolean isUpToDate(Path target, long sourceModified) throws IOException {
+        Path brotliTarget = sibling(target, ".br");
+        return Files.exists(brotliTarget) && Files.getLastModifiedTime(brotliTarget).toMillis() >= sourceModified;
+    }
+    
+    private static void precompress(Path target, byte[] content, boolean gzipShipped) throws IOException {
+        Files.createDirectories(target.getParent());
+        if (!gzipShipped) {
+            Files.write(sibling(target, ".gz"), gzip(content));
+        }
+        Files.write(sibling(target, ".br"), Encoder.compress(content, BROTLI));
+    }
+    
+    private static Path sibling(Path target, String extension) {
+        return target.resolveSibling(target.getFileName() + extension);
+    }
+    
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 3);
+        try (GZIPOutputStream output = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            output.write(content);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,116 @@
+package com.techcorp.authapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro asíncrono y estructurado (clave=valor) de errores inesperados
+ * El hilo de la petición solo encola; con la cola llena el evento se descarta y se contabiliza.
+ * Las trazas completas se limitan por segundo para que una avalancha de errores no sature el log
+ */
+final class AsyncErrorLogger {
+    
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    
+    private final BlockingQueue<ErrorEvent> queue;
+    private final int stackTracesPerSecond;
+    private final LongSupplier clock;
+    private final Thread worker;
+    
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder suppressedStackTraces = new LongAdder();
+    
+    // Ventana del límite de trazas: solo la usa el hilo que escribe
+    private long windowStartMillis;
+    private int stackTracesInWindow;
+    
+    AsyncErrorLogger(int queueCapacity, int stackTracesPerSecond) {
+        this(queueCapacity, stackTracesPerSecond, System::currentTimeMillis, true);
+    }
+    
+    AsyncErrorLogger(int queueCapacity, int stackTracesPerSecond, LongSupplier clock, boolean startWorker) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.stackTracesPerSecond = stackTracesPerSecond;
+        this.clock = clock;
+        this.worker = new Thread(this::drain, "error-logger");
+        this.worker.setDaemon(true);
+        if (startWorker) {
+            this.worker.start();
+        }
+    }
+    
+    /**
+     * Encola el error sin bloquear; false si la cola estaba llena y el evento se descartó
+     */
+    boolean publish(String errorId, String path, Throwable error) {
+        if (queue.offer(new ErrorEvent(errorId, path, error))) {
+            return true;
+        }
+        droppedEvents.increment();
+        return false;
+    }
+    
+    /**
+     * Escribe el evento; true si se incluyó la traza completa
+     */
+    boolean write(ErrorEvent event) {
+        long dropped = droppedEvents.sumThenReset();
+        if (dropped > 0) {
+            log.warn("event=error_log_overflow droppedEvents={}", dropped);
+        }
+        
+        Throwable error = event.error();
+        if (allowStackTrace()) {
+            log.error("event=unexpected_error errorId={} path={} exception={} message={}",
+                event.errorId(), event.path(), error.getClass().getName(), error.getMessage(), error);
+            return true;
+        }
+        suppressedStackTraces.increment();
+        log.error("event=unexpected_error errorId={} path={} exception={} message={} stackTrace=suppressed",
+            event.errorId(), event.path(), error.getClass().getName(), error.getMessage());
+        return false;
+    }
+    
+    long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+    
+    long getSuppressedStackTraces() {
+        return suppressedStackTraces.sum();
+    }
+    
+    void shutdown() {
+        worker.interrupt();
+    }
+    
+    private boolean allowStackTrace() {
+        long now = clock.getAsLong();
+        if (now - windowStartMillis >= 1000) {
+            windowStartMillis = now;
+            stackTracesInWindow = 0;
+        }
+        if (stackTracesInWindow < stackTracesPerSecond) {
+            stackTracesInWindow++;
+            return true;
+        }
+        return false;
+    }
+    
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                write(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    record ErrorEvent(String errorId, String path, Throwable error) {
+    }
+}
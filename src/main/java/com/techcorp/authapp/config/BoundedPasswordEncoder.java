@@ -0,0 +1,37 @@
+package com.techcorp.authapp.config;
+
+import com.techcorp.authapp.service.HashingPriority;
+import com.techcorp.authapp.service.PasswordHashingExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder que ejecuta las operaciones costosas (encode y matches) en el pool acotado de hashing
+ * en lugar de hacerlo en el hilo de la petición
+ * Las verificaciones (login) tienen prioridad sobre los hashes nuevos (registro)
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor hashingExecutor;
+    
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor hashingExecutor) {
+        this.delegate = delegate;
+        this.hashingExecutor = hashingExecutor;
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingExecutor.execute(HashingPriority.REGISTRATION, () -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashingExecutor.execute(HashingPriority.LOGIN, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Solo inspecciona el prefijo del hash: no requiere el pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
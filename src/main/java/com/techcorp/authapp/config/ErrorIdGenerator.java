@@ -0,0 +1,70 @@
+package com.techcorp.authapp.config;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Identificadores de error sin bloqueo con el formato ERR-yyyyMMdd-XXXXXXXX
+ * El sufijo es una secuencia monótona con semilla aleatoria por proceso: sin UUID ni SecureRandom por error,
+ * y el prefijo del día se calcula una sola vez por día
+ */
+final class ErrorIdGenerator {
+    
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final int SUFFIX_LENGTH = 8;
+    
+    private final Clock clock;
+    private final AtomicInteger sequence;
+    private volatile DayPrefix dayPrefix;
+    
+    ErrorIdGenerator() {
+        this(Clock.systemDefaultZone(), ThreadLocalRandom.current().nextInt());
+    }
+    
+    ErrorIdGenerator(Clock clock, int seed) {
+        this.clock = clock;
+        this.sequence = new AtomicInteger(seed);
+        this.dayPrefix = DayPrefix.of(clock.millis(), clock.getZone());
+    }
+    
+    String nextId() {
+        char[] prefix = currentPrefix();
+        int value = sequence.getAndIncrement();
+        
+        char[] id = new char[prefix.length + SUFFIX_LENGTH];
+        System.arraycopy(prefix, 0, id, 0, prefix.length);
+        for (int i = id.length - 1; i >= prefix.length; i--) {
+            id[i] = HEX_DIGITS[value & 0xF];
+            value >>>= 4;
+        }
+        return new String(id);
+    }
+    
+    private char[] currentPrefix() {
+        long now = clock.millis();
+        DayPrefix current = dayPrefix;
+        if (now < current.validFromMillis || now >= current.validUntilMillis) {
+            // Cambio de día (o ajuste del reloj): carreras inocuas, todos calculan el mismo prefijo
+            current = DayPrefix.of(now, clock.getZone());
+            dayPrefix = current;
+        }
+        return current.chars;
+    }
+    
+    private record DayPrefix(char[] chars, long validFromMillis, long validUntilMillis) {
+        
+        static DayPrefix of(long millis, ZoneId zone) {
+            LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(millis), zone);
+            String prefix = String.format("ERR-%04d%02d%02d-", day.getYear(), day.getMonthValue(), day.getDayOfMonth());
+            return new DayPrefix(
+                prefix.toCharArray(),
+                day.atStartOfDay(zone).toInstant().toEpochMilli(),
+                day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli()
+            );
+        }
+    }
+}
@@ -1,21 +1,26 @@
 package com.techcorp.authapp.config;
 
 import com.techcorp.authapp.dto.ErrorResponseDto;
+import com.techcorp.authapp.service.AuthenticationFailureException;
 import com.techcorp.authapp.service.UserAlreadyExistsException;
 import com.techcorp.authapp.service.UserNotFoundException;
 import com.techcorp.authapp.service.InvalidCredentialsException;
+import com.techcorp.authapp.service.ServiceOverloadedException;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -23,9 +28,19 @@ import java.util.stream.Collectors;
  * Proporciona respuestas de error estandarizadas y consistentes
  */
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Hidden // Oculta este controlador de la documentación Swagger
 public class GlobalExceptionHandler {
     
+    private final ErrorIdGenerator errorIdGenerator = new ErrorIdGenerator();
+    private final AsyncErrorLogger errorLogger;
+    
+    public GlobalExceptionHandler(
+            @Value("${app.errors.log-queue-capacity:1024}") int logQueueCapacity,
+            @Value("${app.errors.stack-traces-per-second:5}") int stackTracesPerSecond) {
+        this.errorLogger = new AsyncErrorLogger(logQueueCapacity, stackTracesPerSecond);
+    }
+    
     /**
      * Maneja errores de validación de campos
      */
@@ -43,7 +58,7 @@ public class GlobalExceptionHandler {
             HttpStatus.BAD_REQUEST.value(),
             "Validation Failed",
             "One or more fields have validation errors",
-            request.getDescription(false).replace("uri=", ""),
+            requestPath(request),
             fieldErrors,
             generateErrorId()
         );
@@ -62,7 +77,7 @@ public class GlobalExceptionHandler {
             HttpStatus.CONFLICT.value(),
             "User Already Exists",
             ex.getMessage(),
-            request.getDescription(false).replace("uri=", ""),
+            requestPath(request),
             null,
             generateErrorId()
         );
@@ -81,7 +96,7 @@ public class GlobalExceptionHandler {
             HttpStatus.NOT_FOUND.value(),
             "User Not Found",
             ex.getMessage(),
-            request.getDescription(false).replace("uri=", ""),
+            requestPath(request),
             null,
             generateErrorId()
         );
@@ -100,7 +115,7 @@ public class GlobalExceptionHandler {
             HttpStatus.UNAUTHORIZED.value(),
             "Invalid Credentials",
             ex.getMessage(),
-            request.getDescription(false).replace("uri=", ""),
+            requestPath(request),
             null,
             generateErrorId()
         );
@@ -108,6 +123,47 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
     }
     
+    /**
+     * Maneja el resto de fallos esperados de autenticación con el status de su AuthenticationFailure
+     */
+    @ExceptionHandler(AuthenticationFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleAuthenticationFailureException(
+            AuthenticationFailureException ex, WebRequest request) {
+        
+        HttpStatus status = ex.getFailure().getHttpStatus();
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+            status.value(),
+            ex.getFailure().getErrorTitle(),
+            ex.getMessage(),
+            requestPath(request),
+            null,
+            generateErrorId()
+        );
+        
+        return new ResponseEntity<>(errorResponse, status);
+    }
+    
+    /**
+     * Maneja la sobrecarga (límite de concurrencia o pool de hashing saturado) con 503 y Retry-After
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponseDto> handleServiceOverloadedException(
+            ServiceOverloadedException ex, WebRequest request) {
+        
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            requestPath(request),
+            null,
+            generateErrorId()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(errorResponse);
+    }
+    
     /**
      * Maneja excepciones de tiempo de ejecución generales
      */
@@ -119,7 +175,7 @@ public class GlobalExceptionHandler {
             HttpStatus.BAD_REQUEST.value(),
             "Runtime Error",
             ex.getMessage(),
-            request.getDescription(false).replace("uri=", ""),
+            requestPath(request),
             null,
             generateErrorId()
         );
@@ -138,7 +194,7 @@ public class GlobalExceptionHandler {
             HttpStatus.BAD_REQUEST.value(),
             "Invalid Argument",
             ex.getMessage(),
-            request.getDescription(false).replace("uri=", ""),
+            requestPath(request),
             null,
             generateErrorId()
         );
@@ -157,7 +213,7 @@ public class GlobalExceptionHandler {
             HttpStatus.UNAUTHORIZED.value(),
             "Unauthorized Access",
             ex.getMessage(),
-            request.getDescription(false).replace("uri=", ""),
+            requestPath(request),
             null,
             generateErrorId()
         );
@@ -176,14 +232,13 @@ public class GlobalExceptionHandler {
             HttpStatus.INTERNAL_SERVER_ERROR.value(),
             "Internal Server Error",
             "An unexpected error occurred. Please contact support if the problem persists.",
-            request.getDescription(false).replace("uri=", ""),
+            requestPath(request),
             null,
             generateErrorId()
         );
         
-        // Log the actual exception for debugging (in a real app, use proper logging)
-        System.err.println("Unexpected error: " + ex.getMessage());
-        ex.printStackTrace();
+        // Registro asíncrono: el hilo de la petición no escribe la traza
+        errorLogger.publish(errorResponse.getErrorId(), errorResponse.getPath(), ex);
         
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
@@ -203,7 +258,21 @@ public class GlobalExceptionHandler {
      * Genera un ID único para el error
      */
     private String generateErrorId() {
-        return "ERR-" + LocalDateTime.now().toString().substring(0, 10).replace("-", "") 
-               + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return errorIdGenerator.nextId();
+    }
+    
+    /**
+     * Ruta de la petición sin construir la descripción completa de WebRequest
+     */
+    private static String requestPath(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest) {
+            return servletRequest.getRequest().getRequestURI();
+        }
+        return request.getDescription(false).replace("uri=", "");
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        errorLogger.shutdown();
     }
 }
@@ -0,0 +1,46 @@
+package com.techcorp.authapp.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Ajustes de serialización JSON y de los formatos binarios negociables CBOR y Smile
+ * Spring Boot registra en el ObjectMapper compartido cualquier bean de tipo Module
+ */
+@Configuration
+public class JacksonConfiguration {
+    
+    /**
+     * Blackbird sustituye el acceso reflexivo a getters y componentes de records por lambdas generadas
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.json.blackbird-enabled", havingValue = "true")
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+    
+    /**
+     * CBOR (application/cbor) con la misma configuración y módulos que el ObjectMapper JSON
+     * Sustituye al convertidor por defecto en su misma posición, detrás de JSON
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+    
+    /**
+     * Smile (application/x-jackson-smile) con la misma configuración y módulos que el ObjectMapper JSON
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
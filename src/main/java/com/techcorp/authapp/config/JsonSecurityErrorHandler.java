@@ -0,0 +1,59 @@
+package com.techcorp.authapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techcorp.authapp.dto.ErrorResponseDto;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.access.AccessDeniedHandler;
+
+import java.io.IOException;
+
+/**
+ * Respuestas 401 y 403 de la cadena de seguridad con el mismo ErrorResponseDto que GlobalExceptionHandler
+ */
+class JsonSecurityErrorHandler implements AuthenticationEntryPoint, AccessDeniedHandler {
+    
+    static final String AUTHENTICATION_REQUIRED_MESSAGE = "Token de autenticación requerido";
+    static final String ACCESS_DENIED_MESSAGE = "Permisos insuficientes para este recurso";
+    
+    private final ObjectMapper objectMapper;
+    private final ErrorIdGenerator errorIdGenerator = new ErrorIdGenerator();
+    
+    JsonSecurityErrorHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) throws IOException {
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        writeError(request, response, HttpStatus.UNAUTHORIZED, AUTHENTICATION_REQUIRED_MESSAGE);
+    }
+    
+    @Override
+    public void handle(HttpServletRequest request, HttpServletResponse response,
+                       AccessDeniedException accessDeniedException) throws IOException {
+        writeError(request, response, HttpStatus.FORBIDDEN, ACCESS_DENIED_MESSAGE);
+    }
+    
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+            status.value(),
+            status.getReasonPhrase(),
+            message,
+            request.getRequestURI().substring(request.getContextPath().length()),
+            null,
+            errorIdGenerator.nextId()
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
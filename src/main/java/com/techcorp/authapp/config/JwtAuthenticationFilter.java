@@ -0,0 +1,144 @@
+package com.techcorp.authapp.config;
+
+import com.techcorp.authapp.service.AccessTokenClaims;
+import com.techcorp.authapp.service.AccessTokenVerifier;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Filtro de autenticación JWT stateless
+ * Resuelve el Authentication una sola vez por token y lo reutiliza hasta la expiración del token;
+ * la revocación se sigue comprobando en cada petición a través del verificador compartido
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final int MAX_CACHED_AUTHENTICATIONS = 10_000;
+    private static final List<GrantedAuthority> USER_AUTHORITIES =
+        List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+        List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+    
+    private final AccessTokenVerifier accessTokenVerifier;
+    private final Predicate<String> administrators;
+    
+    // Patrones de rutas públicas compilados una sola vez al construir el filtro
+    private final List<PathPattern> publicPathPatterns;
+    
+    private final Map<String, CachedAuthentication> authentications = new ConcurrentHashMap<>();
+    
+    public JwtAuthenticationFilter(AccessTokenVerifier accessTokenVerifier, String... publicPaths) {
+        this(accessTokenVerifier, username -> false, publicPaths);
+    }
+    
+    /**
+     * Los usuarios que administrators reconoce (el rol guardado en el usuario) reciben además ROLE_ADMIN
+     */
+    public JwtAuthenticationFilter(AccessTokenVerifier accessTokenVerifier, Predicate<String> administrators,
+                                   String... publicPaths) {
+        this.accessTokenVerifier = accessTokenVerifier;
+        this.administrators = administrators;
+        this.publicPathPatterns = Arrays.stream(publicPaths)
+            .map(PathPatternParser.defaultInstance::parse)
+            .collect(Collectors.toUnmodifiableList());
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String requestUri = request.getRequestURI();
+        PathContainer path = PathContainer.parsePath(
+            requestUri.substring(request.getContextPath().length()));
+        for (PathPattern publicPathPattern : publicPathPatterns) {
+            if (publicPathPattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        
+        String authorizationHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader != null && authorizationHeader.startsWith(BEARER_PREFIX)) {
+            Authentication authentication = resolveAuthentication(authorizationHeader.substring(BEARER_PREFIX.length()));
+            if (authentication != null) {
+                SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+                securityContext.setAuthentication(authentication);
+                SecurityContextHolder.setContext(securityContext);
+            }
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    /**
+     * Cuenta los Authentication cacheados por token
+     */
+    int countCachedAuthentications() {
+        return authentications.size();
+    }
+    
+    private Authentication resolveAuthentication(String token) {
+        long now = System.currentTimeMillis();
+        CachedAuthentication cached = authentications.get(token);
+        if (cached != null && cached.claims.getExpiresAtMillis() > now) {
+            return accessTokenVerifier.isRevoked(cached.claims) ? null : cached.authentication;
+        }
+        
+        Optional<AccessTokenClaims> verifiedClaims = accessTokenVerifier.verify(token);
+        if (verifiedClaims.isEmpty()) {
+            if (cached != null) {
+                authentications.remove(token);
+            }
+            return null;
+        }
+        
+        AccessTokenClaims claims = verifiedClaims.get();
+        Authentication authentication =
+            UsernamePasswordAuthenticationToken.authenticated(claims.getUsername(), null,
+                administrators.test(claims.getUsername()) ? ADMIN_AUTHORITIES : USER_AUTHORITIES);
+        
+        if (authentications.size() >= MAX_CACHED_AUTHENTICATIONS) {
+            authentications.values().removeIf(entry -> entry.claims.getExpiresAtMillis() <= now);
+            if (authentications.size() >= MAX_CACHED_AUTHENTICATIONS) {
+                authentications.clear();
+            }
+        }
+        authentications.put(token, new CachedAuthentication(claims, authentication));
+        return authentication;
+    }
+    
+    private static final class CachedAuthentication {
+        private final AccessTokenClaims claims;
+        private final Authentication authentication;
+        
+        private CachedAuthentication(AccessTokenClaims claims, Authentication authentication) {
+            this.claims = claims;
+            this.authentication = authentication;
+        }
+    }
+}
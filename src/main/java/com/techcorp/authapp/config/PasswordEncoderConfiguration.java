@@ -0,0 +1,29 @@
+package com.techcorp.authapp.config;
+
+import com.techcorp.authapp.service.PasswordHashingCalibrator;
+import com.techcorp.authapp.service.PasswordHashingExecutor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Encoder de contraseñas compartido por los stacks servlet y reactivo
+ */
+@Configuration
+public class PasswordEncoderConfiguration {
+    
+    /**
+     * Bean para el encoder de contraseñas
+     * BCrypt se ejecuta en el pool acotado de hashing, no en los hilos que atienden peticiones,
+     * con el coste calibrado al arranque según el presupuesto de latencia
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor,
+                                           PasswordHashingCalibrator passwordHashingCalibrator) {
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(passwordHashingCalibrator.getStrength()),
+            passwordHashingExecutor
+        );
+    }
+}
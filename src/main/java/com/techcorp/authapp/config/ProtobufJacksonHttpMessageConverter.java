@@ -0,0 +1,100 @@
+package com.techcorp.authapp.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.techcorp.authapp.dto.ApiResponseDto;
+import com.techcorp.authapp.dto.LoginRequestDto;
+import com.techcorp.authapp.dto.SessionTokensDto;
+import com.techcorp.authapp.model.SystemUser;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Convertidor Protobuf sobre Jackson con el esquema de proto/authapp.proto, sin clases generadas
+ * Solo acepta los tipos con mensaje en el esquema; el resto de respuestas se negocian en otro formato
+ */
+class ProtobufJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+    
+    static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+    
+    private final Map<JavaType, ProtobufSchema> schemas = new HashMap<>();
+    
+    ProtobufJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        // El esquema declara las fechas como texto ISO-8601
+        super(objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS), APPLICATION_PROTOBUF);
+        NativeProtobufSchema nativeSchema = loadSchema();
+        TypeFactory types = objectMapper.getTypeFactory();
+        schemas.put(types.constructType(SystemUser.class), nativeSchema.forType("SystemUser"));
+        schemas.put(types.constructType(LoginRequestDto.class), nativeSchema.forType("LoginRequest"));
+        schemas.put(types.constructParametricType(ApiResponseDto.class, SystemUser.class),
+            nativeSchema.forType("UserResponse"));
+        schemas.put(types.constructParametricType(ApiResponseDto.class,
+                types.constructCollectionType(List.class, SystemUser.class)),
+            nativeSchema.forType("UserListResponse"));
+        schemas.put(types.constructParametricType(ApiResponseDto.class, SessionTokensDto.class),
+            nativeSchema.forType("LoginResponse"));
+    }
+    
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return schemas.containsKey(getJavaType(type, contextClass)) && canRead(mediaType);
+    }
+    
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return canRead(clazz, null, mediaType);
+    }
+    
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return schemas.containsKey(getJavaType(type != null ? type : clazz, null)) && canWrite(mediaType);
+    }
+    
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(null, clazz, mediaType);
+    }
+    
+    @Override
+    protected ObjectReader customizeReader(ObjectReader reader, JavaType javaType) {
+        return reader.with(schemaFor(javaType));
+    }
+    
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable JavaType javaType, @Nullable MediaType contentType) {
+        return writer.with(schemaFor(javaType));
+    }
+    
+    private ProtobufSchema schemaFor(@Nullable JavaType javaType) {
+        ProtobufSchema schema = javaType != null ? schemas.get(javaType) : null;
+        if (schema == null) {
+            throw new IllegalStateException("Sin mensaje Protobuf para " + javaType);
+        }
+        return schema;
+    }
+    
+    private static NativeProtobufSchema loadSchema() {
+        URL schemaUrl = ProtobufJacksonHttpMessageConverter.class.getResource("/proto/authapp.proto");
+        try {
+            return ProtobufSchemaLoader.std.loadNative(schemaUrl);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo cargar el esquema Protobuf", e);
+        }
+    }
+}
@@ -1,27 +1,74 @@
 package com.techcorp.authapp.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.AccessTokenVerifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.util.function.Supplier;
 
 /**
  * Configuración de seguridad para la aplicación TechCorp
- * Maneja autenticación, autorización y configuración CORS
+ * Maneja autenticación, autorización y configuración CORS (stack servlet)
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 public class SecurityConfiguration {
     
+    // Rutas que nunca requieren token: el filtro JWT ni siquiera se ejecuta para ellas (compartidas con el stack reactivo)
+    static final String[] PUBLIC_PATHS = {
+        "/",
+        "/docs",
+        "/api",
+        "/error",
+        "/api/auth/register",
+        "/api/auth/login",
+        "/api/auth/refresh",
+        "/api/auth/logout",
+        "/api/system/**",
+        "/.well-known/**",
+        "/swagger-ui.html",
+        "/swagger-ui/**",
+        "/api-docs/**",
+        "/v3/api-docs/**",
+        "/openapi/**",
+        "/webjars/**",
+        "/static/**"
+    };
+    
+    // Endpoints que requieren un token válido: la introspección (RFC 7662 §2.1) solo la usan servicios autenticados
+    static final String[] AUTHENTICATED_PATHS = {
+        "/api/auth/introspect"
+    };
+    
+    // Gestión de usuarios: cada usuario consulta su propio perfil; el resto requiere el rol de administración,
+    // que se lee del usuario almacenado (solo lo tiene la cuenta aprovisionada al arranque)
+    static final String USER_MANAGEMENT_PATHS = "/api/users/**";
+    static final String USER_PROFILE_PATH = "/api/users/{username}";
+    static final String ADMIN_ROLE = "ADMIN";
+    
     /**
      * Configuración de la cadena de filtros de seguridad HTTP
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AccessTokenVerifier accessTokenVerifier, ObjectMapper objectMapper,
+            InMemoryUserRepository userRepository) throws Exception {
+        JsonSecurityErrorHandler securityErrorHandler = new JsonSecurityErrorHandler(objectMapper);
         http
             // Deshabilitar CSRF completamente para todos los endpoints
             .csrf(csrf -> csrf.disable())
@@ -33,19 +80,29 @@ public class SecurityConfiguration {
             .sessionManagement(session -> 
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             
-            // Configurar autorización de requests - PERMITIR TODO PARA TESTS
+            // Autenticación JWT stateless; sin token válido 401 y sin permisos 403, ambos con ErrorResponseDto
+            .addFilterBefore(new JwtAuthenticationFilter(accessTokenVerifier, userRepository::isAdministrator, PUBLIC_PATHS),
+                UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(securityErrorHandler)
+                .accessDeniedHandler(securityErrorHandler))
+            
+            // Gestión de usuarios e introspección requieren token; el resto de endpoints es público
             .authorizeHttpRequests(auth -> auth
+                .requestMatchers(HttpMethod.GET, USER_PROFILE_PATH).access(AuthorizationManagers.anyOf(
+                    AuthorityAuthorizationManager.hasRole(ADMIN_ROLE), SecurityConfiguration::isOwnProfile))
+                .requestMatchers(USER_MANAGEMENT_PATHS).hasRole(ADMIN_ROLE)
+                .requestMatchers(AUTHENTICATED_PATHS).authenticated()
                 .anyRequest().permitAll()
             );
         
         return http.build();
     }
     
-    /**
-     * Bean para el encoder de contraseñas
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12); // Aumentamos la fortaleza a 12 rounds
+    private static AuthorizationDecision isOwnProfile(Supplier<Authentication> authentication,
+                                                      RequestAuthorizationContext context) {
+        Authentication current = authentication.get();
+        return new AuthorizationDecision(current instanceof UsernamePasswordAuthenticationToken
+            && current.getName().equals(context.getVariables().get("username")));
     }
 }
@@ -11,6 +11,7 @@ import io.swagger.v3.oas.models.servers.Server;
 import io.swagger.v3.oas.models.tags.Tag;
 import org.springdoc.core.models.GroupedOpenApi;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -19,11 +20,14 @@ import java.util.List;
 /**
  * Configuración completa de Swagger/OpenAPI para el servicio de gestión de usuarios TechCorp
  * Cumple con los lineamientos de documentación y seguridad organizacionales
+ * Con springdoc deshabilitado (perfil prod) no se carga: el OpenAPI se sirve ya generado en build
  */
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", matchIfMissing = true)
 public class SwaggerConfiguration {
     
-    @Value("${server.port:8081}")
+    // La generación en build arranca en otro puerto; el documento publica siempre el del servidor local
+    @Value("${app.openapi.local-server-port:${server.port:8081}}")
     private String serverPort;
     
     @Value("${spring.application.name:user-management-service}")
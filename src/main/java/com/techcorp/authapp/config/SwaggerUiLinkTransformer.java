@@ -0,0 +1,47 @@
+package com.techcorp.authapp.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+import org.springframework.web.servlet.resource.ResourceTransformerSupport;
+import org.springframework.web.servlet.resource.TransformedResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reescribe los enlaces relativos del index.html de Swagger UI a las URLs con hash de contenido del webjar
+ * swagger-initializer.js se mantiene relativo: springdoc lo genera con la configuración de la aplicación
+ */
+class SwaggerUiLinkTransformer extends ResourceTransformerSupport {
+    
+    private static final Pattern RELATIVE_LINK = Pattern.compile("(href|src)=\"(?:\\./)?([\\w.-]+)\"");
+    private static final String INITIALIZER = "swagger-initializer.js";
+    
+    private final String webjarPath;
+    
+    SwaggerUiLinkTransformer(String webjarPath) {
+        this.webjarPath = webjarPath;
+    }
+    
+    @Override
+    public Resource transform(HttpServletRequest request, Resource resource,
+                              ResourceTransformerChain transformerChain) throws IOException {
+        resource = transformerChain.transform(request, resource);
+        String html = resource.getContentAsString(StandardCharsets.UTF_8);
+        
+        Matcher matcher = RELATIVE_LINK.matcher(html);
+        StringBuilder transformed = new StringBuilder(html.length() + 256);
+        while (matcher.find()) {
+            String fileName = matcher.group(2);
+            String url = INITIALIZER.equals(fileName)
+                ? null : resolveUrlPath(webjarPath + fileName, request, resource, transformerChain);
+            String link = (url != null) ? matcher.group(1) + "=\"" + url + "\"" : matcher.group();
+            matcher.appendReplacement(transformed, Matcher.quoteReplacement(link));
+        }
+        matcher.appendTail(transformed);
+        return new TransformedResource(resource, transformed.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,33 +1,61 @@
 package com.techcorp.authapp.config;
 
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Configuración de Web MVC para optimizar el manejo de recursos estáticos
  * y mejorar el rendimiento de Swagger UI
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class WebMvcConfig implements WebMvcConfigurer {
     
+    private static final String SWAGGER_UI_POM = "META-INF/maven/org.webjars/swagger-ui/pom.properties";
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+    
     /**
      * Configuración de manejadores de recursos estáticos para Swagger
+     * Los webjars se sirven con hash de contenido en la URL, caché inmutable y variantes .br/.gz precomprimidas en build
      */
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Configuración específica para Swagger UI
-        registry.addResourceHandler("/swagger-ui/**")
-                .addResourceLocations("classpath:/META-INF/resources/webjars/swagger-ui/")
-                .setCachePeriod(3600)
-                .resourceChain(true);
+        // Página de Swagger UI: revalidación en cada carga, enlaza los assets del webjar por URL con hash.
+        // El resto de /swagger-ui/** (swagger-initializer.js con la configuración) lo sirve springdoc
+        String swaggerUiWebjar = "/webjars/swagger-ui/" + swaggerUiVersion() + "/";
+        registry.addResourceHandler("/swagger-ui/{page:index\\.html}")
+                .addResourceLocations("classpath:/META-INF/resources" + swaggerUiWebjar)
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addTransformer(new SwaggerUiLinkTransformer(swaggerUiWebjar));
         
-        // Configuración para recursos de webjars
+        // Configuración para recursos de webjars: la versión del webjar ya va en la ruta
         registry.addResourceHandler("/webjars/**")
                 .addResourceLocations("classpath:/META-INF/resources/webjars/")
-                .setCachePeriod(3600)
-                .resourceChain(true);
+                .setCacheControl(IMMUTABLE)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
         
         // Configuración para recursos estáticos generales
         registry.addResourceHandler("/static/**")
@@ -45,5 +73,28 @@ public class WebMvcConfig implements WebMvcConfigurer {
         registry.addRedirectViewController("/", "/swagger-ui.html");
         registry.addRedirectViewController("/docs", "/swagger-ui.html");
         registry.addRedirectViewController("/api", "/swagger-ui.html");
+        
+        // Sin springdoc (perfil prod) estas rutas llevan a la UI y al OpenAPI generados en build;
+        // con springdoc activo sus propios endpoints tienen prioridad sobre los view controllers
+        registry.addRedirectViewController("/swagger-ui.html", "/swagger-ui/index.html");
+        registry.addRedirectViewController("/api-docs", "/openapi/api-docs.json");
+    }
+    
+    /**
+     * Protobuf (application/x-protobuf) para usuarios y login
+     * Se añade al final de la lista: con Accept genérico o ausente la respuesta sigue siendo JSON
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufJacksonHttpMessageConverter(
+            objectMapperBuilder.factory(new ProtobufFactory()).build()));
+    }
+    
+    private static String swaggerUiVersion() {
+        try {
+            return PropertiesLoaderUtils.loadProperties(new ClassPathResource(SWAGGER_UI_POM)).getProperty("version");
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se encontró el webjar de Swagger UI", e);
+        }
     }
 }
@@ -0,0 +1,46 @@
+package com.techcorp.authapp.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Revalidación de GET con If-None-Match: listas de ETags, comparación débil y * (RFC 9110, 13.1.2)
+ * Spring solo evalúa * en métodos no seguros; en GET coincide con cualquier representación vigente
+ */
+final class ConditionalRequests {
+    
+    private ConditionalRequests() {
+    }
+    
+    /**
+     * Para controladores solo servlet: delega en checkNotModified, que además deja el ETag puesto en la respuesta
+     */
+    static boolean checkNotModified(ServletWebRequest request, String etag) {
+        return request.checkNotModified(etag) || isWildcard(request.getHeader(HttpHeaders.IF_NONE_MATCH));
+    }
+    
+    /**
+     * Para controladores servidos también sobre WebFlux, donde no hay WebRequest: mismas reglas sobre las cabeceras
+     */
+    static boolean isNotModified(HttpHeaders requestHeaders, String etag) {
+        String opaqueTag = opaqueTag(etag);
+        try {
+            for (String requested : requestHeaders.getIfNoneMatch()) {
+                if (isWildcard(requested) || opaqueTag(requested).equals(opaqueTag)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // If-None-Match mal formado: se sirve la representación completa
+        }
+        return false;
+    }
+    
+    private static boolean isWildcard(String ifNoneMatch) {
+        return ifNoneMatch != null && "*".equals(ifNoneMatch.trim());
+    }
+    
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
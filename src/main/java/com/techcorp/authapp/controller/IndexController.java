@@ -1,5 +1,6 @@
 package com.techcorp.authapp.controller;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.servlet.view.RedirectView;
@@ -8,6 +9,7 @@ import org.springframework.web.servlet.view.RedirectView;
  * Controlador para redirecciones y navegación básica
  */
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class IndexController {
     
     /**
@@ -0,0 +1,118 @@
+package com.techcorp.authapp.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techcorp.authapp.service.TokenGenerationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controlador que publica las claves públicas de verificación (JWKS)
+ * Permite a los servicios downstream validar access tokens localmente sin llamar a este servicio
+ */
+@RestController
+@CrossOrigin(origins = "*")
+@Tag(name = "Seguridad", description = "Operaciones relacionadas con tokens y seguridad")
+public class JwksController {
+    
+    private static final MediaType JWK_SET_MEDIA_TYPE = MediaType.parseMediaType("application/jwk-set+json");
+    
+    @Autowired
+    private TokenGenerationService tokenService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // Las claves no cambian durante la vida del proceso: el documento se serializa una sola vez
+    private volatile byte[] jwksBody;
+    private volatile String jwksEtag;
+    
+    /**
+     * Retorna el JWK Set con las claves públicas de firma de access tokens
+     */
+    @Operation(
+        summary = "Claves públicas de verificación (JWKS)",
+        description = "Publica las claves públicas con las que se verifican los access tokens. " +
+                      "Con app.jwt.signing-algorithm=HS256 el conjunto está vacío porque la clave es secreta. " +
+                      "Soporta If-None-Match para revalidación con 304",
+        tags = {"Seguridad"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "JWK Set vigente",
+            content = @Content(
+                mediaType = "application/jwk-set+json",
+                examples = @ExampleObject(
+                    name = "Clave ES256",
+                    value = """
+                        {
+                            "keys": [
+                                {
+                                    "kty": "EC",
+                                    "crv": "P-256",
+                                    "x": "f83OJ3D2xF1Bg8vub9tLe1gHMzV76e8Tus9uPHvRVEU",
+                                    "y": "x_FEzRu9m36HLN_tue659LNpXW6pCyStikYjKIWI5a0",
+                                    "use": "sig",
+                                    "alg": "ES256",
+                                    "kid": "NzbLsXh8uDCcd-6MNwXF4W_7noWXFZAfHkxZsRGC9Xs"
+                                }
+                            ]
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "304", description = "El JWK Set no ha cambiado")
+    })
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<byte[]> getJwks(@Parameter(hidden = true) @RequestHeader HttpHeaders requestHeaders) {
+        
+        byte[] body = jwksBody;
+        if (body == null) {
+            body = serializeJwks();
+        }
+        
+        CacheControl cacheControl = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+        if (ConditionalRequests.isNotModified(requestHeaders, jwksEtag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(jwksEtag)
+                .cacheControl(cacheControl)
+                .build();
+        }
+        
+        return ResponseEntity.ok()
+            .contentType(JWK_SET_MEDIA_TYPE)
+            .eTag(jwksEtag)
+            .cacheControl(cacheControl)
+            .body(body);
+    }
+    
+    private byte[] serializeJwks() {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(
+                Collections.singletonMap("keys", tokenService.getPublicJwks()));
+            jwksEtag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            jwksBody = body;
+            return body;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el JWK Set", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.techcorp.authapp.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Respuesta JSON serializada una sola vez; por petición solo se sustituyen los valores variables
+ * Cada valor variable se serializa con un centinela que después se localiza en los bytes
+ */
+final class PrecomputedJsonResponse {
+    
+    // Tramos fijos entre valores variables, en orden de aparición
+    private final byte[][] segments;
+    // Para cada hueco, índice del valor que lo ocupa según el orden de los centinelas
+    private final int[] valueOrder;
+    private final int fixedLength;
+    private final String etag;
+    
+    PrecomputedJsonResponse(ObjectMapper objectMapper, Object body, Object... sentinels) {
+        byte[] json = write(objectMapper, body);
+        int[] positions = new int[sentinels.length];
+        int[] lengths = new int[sentinels.length];
+        Integer[] order = new Integer[sentinels.length];
+        for (int i = 0; i < sentinels.length; i++) {
+            byte[] token = write(objectMapper, sentinels[i]);
+            positions[i] = indexOf(json, token);
+            if (positions[i] < 0) {
+                throw new IllegalStateException("El centinela " + sentinels[i] + " no aparece en la respuesta");
+            }
+            lengths[i] = token.length;
+            order[i] = i;
+        }
+        Arrays.sort(order, (left, right) -> Integer.compare(positions[left], positions[right]));
+        
+        segments = new byte[sentinels.length + 1][];
+        valueOrder = new int[sentinels.length];
+        ByteArrayOutputStream fixedBytes = new ByteArrayOutputStream(json.length);
+        int start = 0;
+        for (int slot = 0; slot < order.length; slot++) {
+            int sentinel = order[slot];
+            segments[slot] = Arrays.copyOfRange(json, start, positions[sentinel]);
+            fixedBytes.writeBytes(segments[slot]);
+            valueOrder[slot] = sentinel;
+            start = positions[sentinel] + lengths[sentinel];
+        }
+        segments[order.length] = Arrays.copyOfRange(json, start, json.length);
+        fixedBytes.writeBytes(segments[order.length]);
+        fixedLength = fixedBytes.size();
+        // ETag débil: los valores variables (marcas de tiempo) no alteran el significado de la respuesta
+        etag = "W/\"" + DigestUtils.md5DigestAsHex(fixedBytes.toByteArray()) + "\"";
+    }
+    
+    /**
+     * Compone la respuesta con los valores ya serializados como JSON, en el orden de los centinelas
+     */
+    byte[] render(byte[]... values) {
+        int length = fixedLength;
+        for (byte[] value : values) {
+            length += value.length;
+        }
+        byte[] body = new byte[length];
+        int offset = 0;
+        for (int slot = 0; slot < valueOrder.length; slot++) {
+            System.arraycopy(segments[slot], 0, body, offset, segments[slot].length);
+            offset += segments[slot].length;
+            byte[] value = values[valueOrder[slot]];
+            System.arraycopy(value, 0, body, offset, value.length);
+            offset += value.length;
+        }
+        byte[] last = segments[valueOrder.length];
+        System.arraycopy(last, 0, body, offset, last.length);
+        return body;
+    }
+    
+    /**
+     * ETag débil calculado sobre la parte fija de la respuesta
+     */
+    String getEtag() {
+        return etag;
+    }
+    
+    /**
+     * ETag débil de la parte fija combinada con la versión de los datos variables
+     */
+    String getEtag(long contentVersion) {
+        return etag.substring(0, etag.length() - 1) + "-" + Long.toString(contentVersion, 36) + "\"";
+    }
+    
+    static byte[] write(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta precalculada", e);
+        }
+    }
+    
+    private static int indexOf(byte[] json, byte[] token) {
+        outer:
+        for (int i = 0; i <= json.length - token.length; i++) {
+            for (int j = 0; j < token.length; j++) {
+                if (json[i + j] != token[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -1,8 +1,18 @@
 package com.techcorp.authapp.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techcorp.authapp.dto.ApiResponseDto;
+import com.techcorp.authapp.dto.ApiVersionDto;
+import com.techcorp.authapp.dto.HealthStatusDto;
+import com.techcorp.authapp.dto.SystemInfoDto;
+import com.techcorp.authapp.dto.UserStatsDto;
 import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.AdaptiveConcurrencyLimiter;
+import com.techcorp.authapp.service.LoginAttemptThrottle;
+import com.techcorp.authapp.service.PasswordHashingCalibrator;
+import com.techcorp.authapp.service.PasswordHashingExecutor;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,18 +21,27 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import jakarta.annotation.PostConstruct;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controlador para información del sistema y verificación de estado
  * Proporciona endpoints para monitoreo y diagnóstico del servicio
+ * health, info y version se serializan una vez al arranque; por petición solo se insertan las marcas
+ * de tiempo (resolución de un segundo) y los contadores de usuarios
  */
 @RestController
 @RequestMapping("/api/system")
@@ -30,15 +49,77 @@ import java.util.Map;
 @Tag(name = "Sistema", description = "Información del sistema y verificación de estado")
 public class SystemController {
     
+    // Centinelas que marcan en la respuesta serializada los valores que cambian entre peticiones
+    private static final String RESPONSE_TIMESTAMP_SENTINEL = "{{timestamp}}";
+    private static final LocalDateTime CHECKED_AT_SENTINEL = LocalDateTime.MIN;
+    private static final long TOTAL_USERS_SENTINEL = Long.MIN_VALUE;
+    private static final long ACTIVE_USERS_SENTINEL = Long.MIN_VALUE + 1;
+    
     @Autowired
     private InMemoryUserRepository userRepository;
     
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
+    @Autowired
+    private PasswordHashingCalibrator passwordHashingCalibrator;
+    
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+    
     @Value("${spring.application.name:user-management-service}")
     private String applicationName;
     
     @Value("${app.version:1.0.0}")
     private String applicationVersion;
     
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private PrecomputedJsonResponse healthResponse;
+    private PrecomputedJsonResponse infoResponse;
+    private PrecomputedJsonResponse versionResponse;
+    private volatile CoarseTimestamps timestamps;
+    
+    /**
+     * Serializa las respuestas estáticas; la calibración de BCrypt ya ha terminado al inyectarse
+     */
+    @PostConstruct
+    void precomputeResponses() {
+        healthResponse = new PrecomputedJsonResponse(objectMapper,
+            envelope("Service is healthy and running",
+                new HealthStatusDto("UP", applicationName, applicationVersion, CHECKED_AT_SENTINEL)),
+            RESPONSE_TIMESTAMP_SENTINEL, CHECKED_AT_SENTINEL);
+        
+        LocalDateTime startTime = LocalDateTime.ofInstant(
+            Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime()), ZoneId.systemDefault());
+        infoResponse = new PrecomputedJsonResponse(objectMapper,
+            envelope("System information retrieved successfully", new SystemInfoDto(
+                applicationName,
+                applicationVersion,
+                System.getProperty("java.version"),
+                "3.2.0",
+                startTime,
+                TOTAL_USERS_SENTINEL,
+                ACTIVE_USERS_SENTINEL,
+                "development",
+                // Spring Boot solo atiende peticiones con hilos virtuales si la propiedad está activa y el runtime es Java 21+
+                virtualThreadsEnabled && Runtime.version().feature() >= 21 ? "virtual" : "platform",
+                passwordHashingCalibrator.getCalibrationReport())),
+            RESPONSE_TIMESTAMP_SENTINEL, TOTAL_USERS_SENTINEL, ACTIVE_USERS_SENTINEL);
+        
+        versionResponse = new PrecomputedJsonResponse(objectMapper,
+            envelope("API version retrieved successfully",
+                new ApiVersionDto(applicationVersion, "TechCorp User Management API", "2024-01-15")),
+            RESPONSE_TIMESTAMP_SENTINEL);
+    }
+    
     /**
      * Verificación de estado del servicio (Health Check)
      */
@@ -74,20 +155,14 @@ public class SystemController {
         )
     })
     @GetMapping("/health")
-    public ResponseEntity<ApiResponseDto<Map<String, Object>>> healthCheck() {
-        Map<String, Object> healthData = new HashMap<>();
-        healthData.put("status", "UP");
-        healthData.put("service", applicationName);
-        healthData.put("version", applicationVersion);
-        healthData.put("timestamp", LocalDateTime.now());
-        
-        ApiResponseDto<Map<String, Object>> response = new ApiResponseDto<>(
-            true, 
-            "Service is healthy and running", 
-            healthData
-        );
+    public ResponseEntity<byte[]> healthCheck() {
+        CoarseTimestamps now = timestamps();
         
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        // Las sondas deben ver siempre el estado vigente: no se permite cachear
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noStore())
+            .body(healthResponse.render(now.responseTimestamp(), now.checkedAt()));
     }
     
     /**
@@ -95,7 +170,8 @@ public class SystemController {
      */
     @Operation(
         summary = "Información del sistema",
-        description = "Obtiene información detallada del sistema incluyendo estadísticas básicas",
+        description = "Obtiene información detallada del sistema incluyendo estadísticas básicas. " +
+                      "Soporta If-None-Match para revalidación con 304",
         tags = {"Sistema"}
     )
     @ApiResponses(value = {
@@ -119,34 +195,50 @@ public class SystemController {
                                 "startTime": "2024-01-15T10:00:00",
                                 "totalUsers": 150,
                                 "activeUsers": 145,
-                                "environment": "development"
+                                "environment": "development",
+                                "requestThreads": "platform",
+                                "passwordHashing": {
+                                    "algorithm": "bcrypt",
+                                    "strength": 12,
+                                    "calibrated": true,
+                                    "targetHashMillis": 250,
+                                    "measuredMillisByStrength": {
+                                        "10": 61,
+                                        "11": 122,
+                                        "12": 243
+                                    },
+                                    "calibrationMillis": 431
+                                }
                             },
                             "timestamp": "2024-01-15T12:00:00Z"
                         }
                         """
                 )
             )
-        )
+        ),
+        @ApiResponse(responseCode = "304", description = "La información del sistema no ha cambiado")
     })
     @GetMapping("/info")
-    public ResponseEntity<ApiResponseDto<Map<String, Object>>> systemInfo() {
-        Map<String, Object> systemData = new HashMap<>();
-        systemData.put("applicationName", applicationName);
-        systemData.put("version", applicationVersion);
-        systemData.put("javaVersion", System.getProperty("java.version"));
-        systemData.put("springBootVersion", "3.2.0");
-        systemData.put("startTime", LocalDateTime.now().minusHours(2)); // Simulando tiempo de inicio
-        systemData.put("totalUsers", userRepository.countUsers());
-        systemData.put("activeUsers", userRepository.countActiveUsers());
-        systemData.put("environment", "development");
+    public ResponseEntity<byte[]> systemInfo(@Parameter(hidden = true) @RequestHeader HttpHeaders requestHeaders) {
+        // Los contadores solo cambian con el directorio: su versión identifica la respuesta sin recontar
+        String etag = infoResponse.getEtag(userRepository.getDirectoryVersion());
+        if (ConditionalRequests.isNotModified(requestHeaders, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
         
-        ApiResponseDto<Map<String, Object>> response = new ApiResponseDto<>(
-            true, 
-            "System information retrieved successfully", 
-            systemData
-        );
+        byte[] body = infoResponse.render(
+            timestamps().responseTimestamp(),
+            asciiBytes(userRepository.countUsers()),
+            asciiBytes(userRepository.countActiveUsers()));
         
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .body(body);
     }
     
     /**
@@ -175,7 +267,35 @@ public class SystemController {
                                 "activeUsers": 145,
                                 "inactiveUsers": 5,
                                 "usersWithActiveTokens": 12,
-                                "lastUpdated": "2024-01-15T12:00:00"
+                                "lastUpdated": "2024-01-15T12:00:00",
+                                "passwordHashing": {
+                                    "threads": 8,
+                                    "queueCapacity": 64,
+                                    "activeTasks": 2,
+                                    "queuedTasks": 0,
+                                    "completedTasks": 1520,
+                                    "rejectedTasks": 3,
+                                    "avgQueueWaitMs": 4.2,
+                                    "maxQueueWaitMs": 310.5,
+                                    "avgExecutionMs": 248.7
+                                },
+                                "authConcurrency": {
+                                    "enabled": true,
+                                    "limit": 18,
+                                    "inFlight": 6,
+                                    "acceptedRequests": 1523,
+                                    "droppedRequests": 41,
+                                    "dropRate": 0.026,
+                                    "shortRttMs": 262.4,
+                                    "longRttMs": 251.9
+                                },
+                                "loginThrottle": {
+                                    "enabled": true,
+                                    "trackedUsers": 312,
+                                    "trackedClients": 47,
+                                    "throttledAttempts": 9650,
+                                    "evictedEntries": 0
+                                }
                             },
                             "timestamp": "2024-01-15T12:00:00Z"
                         }
@@ -185,18 +305,22 @@ public class SystemController {
         )
     })
     @GetMapping("/stats")
-    public ResponseEntity<ApiResponseDto<Map<String, Object>>> userStats() {
-        Map<String, Object> statsData = new HashMap<>();
+    public ResponseEntity<ApiResponseDto<UserStatsDto>> userStats() {
         long totalUsers = userRepository.countUsers();
         long activeUsers = userRepository.countActiveUsers();
         
-        statsData.put("totalRegisteredUsers", totalUsers);
-        statsData.put("activeUsers", activeUsers);
-        statsData.put("inactiveUsers", totalUsers - activeUsers);
-        statsData.put("usersWithActiveTokens", calculateActiveTokens());
-        statsData.put("lastUpdated", LocalDateTime.now());
+        UserStatsDto statsData = new UserStatsDto(
+            totalUsers,
+            activeUsers,
+            totalUsers - activeUsers,
+            calculateActiveTokens(),
+            LocalDateTime.now(),
+            passwordHashingExecutor.getMetrics(),
+            concurrencyLimiter.getMetrics(),
+            loginAttemptThrottle.getMetrics()
+        );
         
-        ApiResponseDto<Map<String, Object>> response = new ApiResponseDto<>(
+        ApiResponseDto<UserStatsDto> response = new ApiResponseDto<>(
             true, 
             "User statistics retrieved successfully", 
             statsData
@@ -210,7 +334,8 @@ public class SystemController {
      */
     @Operation(
         summary = "Versión de la API",
-        description = "Obtiene la versión actual de la API del servicio",
+        description = "Obtiene la versión actual de la API del servicio. Cacheable durante 5 minutos y " +
+                      "con soporte de If-None-Match para revalidación con 304",
         tags = {"Sistema"}
     )
     @ApiResponses(value = {
@@ -236,22 +361,25 @@ public class SystemController {
                         """
                 )
             )
-        )
+        ),
+        @ApiResponse(responseCode = "304", description = "La versión no ha cambiado")
     })
     @GetMapping("/version")
-    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getVersion() {
-        Map<String, Object> versionData = new HashMap<>();
-        versionData.put("version", applicationVersion);
-        versionData.put("apiName", "TechCorp User Management API");
-        versionData.put("releaseDate", "2024-01-15");
+    public ResponseEntity<byte[]> getVersion(@Parameter(hidden = true) @RequestHeader HttpHeaders requestHeaders) {
         
-        ApiResponseDto<Map<String, Object>> response = new ApiResponseDto<>(
-            true, 
-            "API version retrieved successfully", 
-            versionData
-        );
+        CacheControl cacheControl = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+        if (ConditionalRequests.isNotModified(requestHeaders, versionResponse.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(versionResponse.getEtag())
+                .cacheControl(cacheControl)
+                .build();
+        }
         
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(versionResponse.getEtag())
+            .cacheControl(cacheControl)
+            .body(versionResponse.render(timestamps().responseTimestamp()));
     }
     
     /**
@@ -262,4 +390,33 @@ public class SystemController {
         // En una implementación real, esto vendría del repositorio
         return Math.min(userRepository.countActiveUsers(), 15);
     }
+    
+    private static <T> ApiResponseDto<T> envelope(String message, T data) {
+        ApiResponseDto<T> response = new ApiResponseDto<>(true, message, data);
+        response.setTimestamp(RESPONSE_TIMESTAMP_SENTINEL);
+        return response;
+    }
+    
+    private static byte[] asciiBytes(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+    
+    /**
+     * Marcas de tiempo serializadas una vez por segundo y compartidas entre peticiones
+     */
+    private CoarseTimestamps timestamps() {
+        long epochSecond = System.currentTimeMillis() / 1000;
+        CoarseTimestamps current = timestamps;
+        if (current == null || current.epochSecond() != epochSecond) {
+            current = new CoarseTimestamps(
+                epochSecond,
+                PrecomputedJsonResponse.write(objectMapper, Instant.ofEpochSecond(epochSecond).toString()),
+                PrecomputedJsonResponse.write(objectMapper, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)));
+            timestamps = current;
+        }
+        return current;
+    }
+    
+    private record CoarseTimestamps(long epochSecond, byte[] responseTimestamp, byte[] checkedAt) {
+    }
 }
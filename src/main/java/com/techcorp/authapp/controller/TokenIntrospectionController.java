@@ -0,0 +1,129 @@
+package com.techcorp.authapp.controller;
+
+import com.techcorp.authapp.dto.ApiResponseDto;
+import com.techcorp.authapp.dto.TokenIntrospectionRequestDto;
+import com.techcorp.authapp.dto.TokenIntrospectionResultDto;
+import com.techcorp.authapp.service.AccessTokenClaims;
+import com.techcorp.authapp.service.TokenIntrospectionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Controlador REST para introspección de tokens por parte de servicios downstream
+ * Permite validar lotes de access tokens en una sola llamada en lugar de una llamada por token;
+ * el servicio que llama se autentica con su propio Bearer token (RFC 7662 §2.1)
+ */
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "*")
+@Tag(name = "Seguridad", description = "Operaciones relacionadas con tokens y seguridad")
+public class TokenIntrospectionController {
+    
+    @Autowired
+    private TokenIntrospectionService tokenIntrospectionService;
+    
+    /**
+     * Verifica un lote de access tokens y retorna un resultado compacto por token
+     */
+    @Operation(
+        summary = "Introspección de tokens por lotes",
+        description = "Verifica firma, expiración y revocación de hasta 100 access tokens (estilo RFC 7662). " +
+                      "Los resultados se retornan en el mismo orden que los tokens recibidos. " +
+                      "Requiere el Bearer token del servicio que llama",
+        tags = {"Seguridad"},
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Tokens verificados",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ApiResponseDto.class),
+                examples = @ExampleObject(
+                    name = "Lote verificado",
+                    value = """
+                        {
+                            "success": true,
+                            "message": "Tokens verificados",
+                            "data": [
+                                {
+                                    "active": true,
+                                    "sub": "juan.perez",
+                                    "jti": "3f6c1e9a-6d2b-4f7e-9a51-2c8d7b0e4a13",
+                                    "iat": 1705312800,
+                                    "exp": 1705313700
+                                },
+                                {
+                                    "active": false
+                                }
+                            ]
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Lote vacío o con más de 100 tokens",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ApiResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Token de autenticación requerido",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ApiResponseDto.class)
+            )
+        )
+    })
+    @PostMapping("/introspect")
+    public ResponseEntity<ApiResponseDto<List<TokenIntrospectionResultDto>>> introspectTokens(
+            @Parameter(description = "Lote de access tokens a verificar", required = true)
+            @Valid @RequestBody TokenIntrospectionRequestDto introspectionRequest) {
+        
+        List<Optional<AccessTokenClaims>> verifiedTokens =
+            tokenIntrospectionService.introspect(introspectionRequest.getTokens());
+        
+        List<TokenIntrospectionResultDto> results = new ArrayList<>(verifiedTokens.size());
+        for (Optional<AccessTokenClaims> verifiedToken : verifiedTokens) {
+            results.add(verifiedToken
+                .map(claims -> new TokenIntrospectionResultDto(
+                    true,
+                    claims.getUsername(),
+                    claims.getTokenId(),
+                    claims.getIssuedAtMillis() / 1000,
+                    claims.getExpiresAtMillis() / 1000
+                ))
+                .orElseGet(() -> new TokenIntrospectionResultDto(false, null, null, null, null)));
+        }
+        
+        ApiResponseDto<List<TokenIntrospectionResultDto>> response = new ApiResponseDto<>(
+            true, 
+            "Tokens verificados", 
+            results
+        );
+        
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
@@ -2,12 +2,19 @@ package com.techcorp.authapp.controller;
 
 import com.techcorp.authapp.dto.ApiResponseDto;
 import com.techcorp.authapp.dto.LoginRequestDto;
+import com.techcorp.authapp.dto.RefreshTokenRequestDto;
+import com.techcorp.authapp.dto.RegisteredUserDto;
+import com.techcorp.authapp.dto.SessionTokensDto;
 import com.techcorp.authapp.dto.UserRegistrationDto;
 import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.service.AuthenticationFailure;
+import com.techcorp.authapp.service.AuthenticationFailureException;
 import com.techcorp.authapp.service.AuthenticationService;
-import com.techcorp.authapp.service.UserNotFoundException;
-import com.techcorp.authapp.service.InvalidCredentialsException;
-import com.techcorp.authapp.service.UserAlreadyExistsException;
+import com.techcorp.authapp.service.IdempotencyKeyReusedException;
+import com.techcorp.authapp.service.LoginAttemptsExceededException;
+import com.techcorp.authapp.service.LoginOutcome;
+import com.techcorp.authapp.service.ServiceOverloadedException;
+import com.techcorp.authapp.service.SessionTokens;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,14 +26,12 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Controlador REST para operaciones de autenticación de usuarios TechCorp
  * Proporciona endpoints para registro, login y logout de usuarios
@@ -37,6 +42,8 @@ import java.util.Map;
 @Tag(name = "Autenticación", description = "Operaciones de autenticación de usuarios (login, registro, logout)")
 public class UserAuthenticationController {
     
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    
     @Autowired
     private AuthenticationService authenticationService;
     
@@ -89,48 +96,50 @@ public class UserAuthenticationController {
                         """
                 )
             )
+        ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "Idempotency-Key ya utilizada con otra petición",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ApiResponseDto.class)
+            )
         )
     })
     @PostMapping("/register")
-    public ResponseEntity<ApiResponseDto<Map<String, Object>>> registerUser(
+    public ResponseEntity<ApiResponseDto<RegisteredUserDto>> registerUser(
+            @Parameter(description = "Clave opcional para reintentos seguros: la misma petición con la misma clave recibe la respuesta original")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Parameter(description = "Datos de registro del nuevo usuario", required = true)
             @Valid @RequestBody UserRegistrationDto registrationDto) {
         
         try {
-            SystemUser newUser = authenticationService.registerNewUser(registrationDto);
-            
-            Map<String, Object> userData = new HashMap<>();
-            userData.put("userId", newUser.getUserId());
-            userData.put("username", newUser.getUsername());
-            userData.put("emailAddress", newUser.getEmailAddress());
-            userData.put("registrationDate", newUser.getRegistrationDate());
+            SystemUser newUser = (idempotencyKey == null)
+                ? authenticationService.registerNewUser(registrationDto)
+                : authenticationService.registerNewUser(registrationDto, idempotencyKey);
             
-            ApiResponseDto<Map<String, Object>> response = new ApiResponseDto<>(
+            ApiResponseDto<RegisteredUserDto> response = new ApiResponseDto<>(
                 true, 
                 "Registro exitoso", 
-                userData
+                RegisteredUserDto.from(newUser)
             );
             
             return new ResponseEntity<>(response, HttpStatus.OK);
             
-        } catch (UserAlreadyExistsException e) {
-            ApiResponseDto<Map<String, Object>> errorResponse = new ApiResponseDto<>(
-                false, 
-                e.getMessage()
-            );
-            return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        } catch (AuthenticationFailureException e) {
+            return failureResponse(e);
+            
+        } catch (ServiceOverloadedException e) {
+            return overloadedResponse(e);
+            
+        } catch (IdempotencyKeyReusedException e) {
+            return idempotencyKeyReusedResponse(e);
             
         } catch (RuntimeException e) {
-            ApiResponseDto<Map<String, Object>> errorResponse = new ApiResponseDto<>(
+            ApiResponseDto<RegisteredUserDto> errorResponse = new ApiResponseDto<>(
                 false, 
                 e.getMessage()
             );
-            
-            // TC002: Manejar usuario duplicado con HTTP 409 Conflict
-            if (e.getMessage().contains("already exists") || e.getMessage().contains("ya registrado")) {
-                return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
-            }
-            
             return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
         }
     }
@@ -159,7 +168,9 @@ public class UserAuthenticationController {
                             "data": {
                                 "username": "juan.perez",
                                 "authToken": "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...",
-                                "tokenType": "Bearer"
+                                "refreshToken": "q3J8vK1mT0a9Xc2bYd4eZw.Hh7s0cFq9Lw2pN3rX5tV8yB1zD4gJ6kM9nQ2sU5wY8a",
+                                "tokenType": "Bearer",
+                                "expiresIn": 900
                             }
                         }
                         """
@@ -183,22 +194,50 @@ public class UserAuthenticationController {
                         """
                 )
             )
+        ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "Idempotency-Key ya utilizada con otra petición",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ApiResponseDto.class)
+            )
         )
     })
     @PostMapping("/login")
-    public ResponseEntity<ApiResponseDto<Map<String, Object>>> loginUser(
+    public ResponseEntity<ApiResponseDto<SessionTokensDto>> loginUser(
+            @Parameter(description = "Clave opcional para reintentos seguros: la misma petición con la misma clave recibe la respuesta original")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Parameter(description = "Credenciales de acceso del usuario", required = true)
             @Valid @RequestBody LoginRequestDto loginRequest) {
         
         try {
-            String authToken = authenticationService.authenticateUser(loginRequest);
-            
-            Map<String, Object> loginData = new HashMap<>();
-            loginData.put("username", loginRequest.getUsername());
-            loginData.put("authToken", authToken);
-            loginData.put("tokenType", "Bearer");
+            SessionTokensDto loginData;
+            if (idempotencyKey == null) {
+                // Los fallos esperados llegan como LoginOutcome: el status sale del enum, sin excepciones
+                LoginOutcome outcome = authenticationService.attemptLogin(loginRequest);
+                if (!outcome.isSuccess()) {
+                    return failureResponse(outcome.getFailure());
+                }
+                
+                loginData = SessionTokensDto.bearer(
+                    loginRequest.getUsername(),
+                    outcome.getAccessToken(),
+                    authenticationService.issueRefreshToken(loginRequest.getUsername()),
+                    authenticationService.getAccessTokenValiditySeconds()
+                );
+            } else {
+                SessionTokens sessionTokens = authenticationService.loginUser(loginRequest, idempotencyKey);
+                
+                loginData = SessionTokensDto.bearer(
+                    sessionTokens.getUsername(),
+                    sessionTokens.getAccessToken(),
+                    sessionTokens.getRefreshToken(),
+                    sessionTokens.getExpiresInSeconds()
+                );
+            }
             
-            ApiResponseDto<Map<String, Object>> response = new ApiResponseDto<>(
+            ApiResponseDto<SessionTokensDto> response = new ApiResponseDto<>(
                 true, 
                 "Autenticación exitosa", 
                 loginData
@@ -206,38 +245,112 @@ public class UserAuthenticationController {
             
             return new ResponseEntity<>(response, HttpStatus.OK);
             
-        } catch (UserNotFoundException e) {
-            ApiResponseDto<Map<String, Object>> errorResponse = new ApiResponseDto<>(
-                false, 
-                e.getMessage()
-            );
-            return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        } catch (AuthenticationFailureException e) {
+            // Fallo repetido por Idempotency-Key: mismo status que el intento original
+            return failureResponse(e);
             
-        } catch (InvalidCredentialsException e) {
-            ApiResponseDto<Map<String, Object>> errorResponse = new ApiResponseDto<>(
+        } catch (LoginAttemptsExceededException e) {
+            ApiResponseDto<SessionTokensDto> errorResponse = new ApiResponseDto<>(
                 false, 
                 e.getMessage()
             );
-            return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+            
+        } catch (ServiceOverloadedException e) {
+            return overloadedResponse(e);
+            
+        } catch (IdempotencyKeyReusedException e) {
+            return idempotencyKeyReusedResponse(e);
             
         } catch (RuntimeException e) {
-            ApiResponseDto<Map<String, Object>> errorResponse = new ApiResponseDto<>(
+            ApiResponseDto<SessionTokensDto> errorResponse = new ApiResponseDto<>(
                 false, 
                 e.getMessage()
             );
+            return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    /**
+     * Renueva el access token a partir de un refresh token rotativo
+     */
+    @Operation(
+        summary = "Renovar access token",
+        description = "Intercambia un refresh token vigente por un nuevo access token de vida corta y un nuevo refresh token. " +
+                      "Cada refresh token es de un solo uso: reutilizar uno ya rotado revoca la sesión completa",
+        tags = {"Autenticación"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Token renovado exitosamente",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ApiResponseDto.class),
+                examples = @ExampleObject(
+                    name = "Renovación exitosa",
+                    value = """
+                        {
+                            "success": true,
+                            "message": "Token renovado exitosamente",
+                            "data": {
+                                "username": "juan.perez",
+                                "authToken": "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...",
+                                "refreshToken": "q3J8vK1mT0a9Xc2bYd4eZw.Zx1c2V3b4N5m6A7s8D9f0G1h2J3k4L5z6X7c8V9b0N1",
+                                "tokenType": "Bearer",
+                                "expiresIn": 900
+                            }
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Refresh token inválido, expirado o reutilizado",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ApiResponseDto.class),
+                examples = @ExampleObject(
+                    name = "Refresh token inválido",
+                    value = """
+                        {
+                            "success": false,
+                            "message": "Refresh token inválido",
+                            "data": null
+                        }
+                        """
+                )
+            )
+        )
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponseDto<SessionTokensDto>> refreshToken(
+            @Parameter(description = "Refresh token vigente de la sesión", required = true)
+            @Valid @RequestBody RefreshTokenRequestDto refreshRequest) {
+        
+        try {
+            SessionTokens sessionTokens = authenticationService.refreshSession(refreshRequest.getRefreshToken());
             
-            // TC006: Usuario no encontrado - HTTP 404
-            if (e.getMessage().contains("Usuario no encontrado")) {
-                return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
-            }
+            SessionTokensDto tokenData = SessionTokensDto.bearer(
+                sessionTokens.getUsername(),
+                sessionTokens.getAccessToken(),
+                sessionTokens.getRefreshToken(),
+                sessionTokens.getExpiresInSeconds()
+            );
             
-            // TC005: Credenciales inválidas - HTTP 401
-            if (e.getMessage().contains("Credenciales inválidas")) {
-                return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
-            }
+            ApiResponseDto<SessionTokensDto> response = new ApiResponseDto<>(
+                true, 
+                "Token renovado exitosamente", 
+                tokenData
+            );
             
-            // Error por defecto - HTTP 400
-            return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+            
+        } catch (AuthenticationFailureException e) {
+            return failureResponse(e);
         }
     }
     
@@ -304,9 +417,14 @@ public class UserAuthenticationController {
             
             String token = authorizationHeader.substring(7); // Remover "Bearer "
             
-            // TC008: Validar token y obtener username
-            String username = authenticationService.validateTokenAndGetUsername(token);
+            // TC008: Validar token y obtener username; un token inválido no lanza excepción
+            String username = authenticationService.resolveTokenUsername(token).orElse(null);
+            if (username == null) {
+                return failureResponse(AuthenticationFailure.INVALID_TOKEN);
+            }
             
+            // El token presentado queda revocado de inmediato; las sesiones de refresh se cierran
+            authenticationService.revokeAccessToken(token);
             authenticationService.logoutUser(username);
             
             ApiResponseDto<Void> response = new ApiResponseDto<>(
@@ -316,18 +434,63 @@ public class UserAuthenticationController {
             
             return new ResponseEntity<>(response, HttpStatus.OK);
             
+        } catch (AuthenticationFailureException e) {
+            return failureResponse(e);
+            
         } catch (RuntimeException e) {
             ApiResponseDto<Void> errorResponse = new ApiResponseDto<>(
                 false, 
-                e.getMessage().contains("Token") ? "Token inválido" : "Logout failed"
+                "Logout failed"
             );
-            
-            // TC008: Token inválido - HTTP 401
-            if (e.getMessage().contains("Token") || e.getMessage().contains("Invalid") || e.getMessage().contains("inválido")) {
-                return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
-            }
-            
             return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
         }
     }
+    
+    /**
+     * Respuesta de un fallo esperado de autenticación con el status asociado a su AuthenticationFailure
+     */
+    private <T> ResponseEntity<ApiResponseDto<T>> failureResponse(AuthenticationFailureException e) {
+        ApiResponseDto<T> errorResponse = new ApiResponseDto<>(
+            false, 
+            e.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, e.getFailure().getHttpStatus());
+    }
+    
+    /**
+     * Respuesta de un fallo esperado señalizado sin excepción (LoginOutcome, token no resuelto)
+     */
+    private <T> ResponseEntity<ApiResponseDto<T>> failureResponse(AuthenticationFailure failure) {
+        ApiResponseDto<T> errorResponse = new ApiResponseDto<>(
+            false, 
+            failure.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, failure.getHttpStatus());
+    }
+    
+    /**
+     * Respuesta 503 con Retry-After cuando el límite de concurrencia o el pool de hashing están saturados
+     */
+    private <T> ResponseEntity<ApiResponseDto<T>> overloadedResponse(
+            ServiceOverloadedException e) {
+        ApiResponseDto<T> errorResponse = new ApiResponseDto<>(
+            false, 
+            e.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(errorResponse);
+    }
+    
+    /**
+     * Respuesta 422 cuando una Idempotency-Key se reutiliza con un cuerpo distinto
+     */
+    private <T> ResponseEntity<ApiResponseDto<T>> idempotencyKeyReusedResponse(
+            IdempotencyKeyReusedException e) {
+        ApiResponseDto<T> errorResponse = new ApiResponseDto<>(
+            false, 
+            e.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
 }
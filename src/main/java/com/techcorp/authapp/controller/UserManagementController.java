@@ -1,10 +1,15 @@
 package com.techcorp.authapp.controller;
 
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.techcorp.authapp.dto.ApiResponseDto;
+import com.techcorp.authapp.dto.ErrorResponseDto;
+import com.techcorp.authapp.dto.UserProjection;
 import com.techcorp.authapp.model.SystemUser;
 import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.VerifiedCredentialCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,10 +18,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationStrategy;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -32,16 +42,35 @@ import java.util.Optional;
 @SecurityRequirement(name = "Bearer Authentication")
 public class UserManagementController {
     
+    // Datos por usuario: solo cachés privadas y revalidando siempre con el ETag (en lugar del no-store por defecto)
+    private static final CacheControl USER_DATA_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+    
+    // Formatos que escriben los convertidores registrados, en su orden de preferencia ante Accept genérico
+    private static final List<MediaType> USER_DATA_MEDIA_TYPES = List.of(
+        MediaType.APPLICATION_JSON,
+        MediaType.parseMediaType("application/x-jackson-smile"),
+        MediaType.APPLICATION_CBOR,
+        MediaType.parseMediaType("application/x-protobuf"));
+    
+    // Mismo criterio que la negociación por defecto de Spring MVC: la cabecera Accept
+    private static final ContentNegotiationStrategy ACCEPT_HEADER_STRATEGY = new HeaderContentNegotiationStrategy();
+    
     @Autowired
     private InMemoryUserRepository userRepository;
     
+    @Autowired
+    private VerifiedCredentialCache verifiedCredentialCache;
+    
     /**
      * Obtiene la lista de todos los usuarios registrados
      */
     @Operation(
         summary = "Listar todos los usuarios",
-        description = "Obtiene una lista completa de todos los usuarios registrados en el sistema TechCorp",
-        tags = {"Gestión de Usuarios"}
+        description = "Obtiene una lista completa de todos los usuarios registrados en el sistema TechCorp. " +
+                      "Soporta If-None-Match con la versión del directorio para revalidación con 304",
+        tags = {"Gestión de Usuarios"},
+        parameters = @Parameter(name = "fields", in = ParameterIn.QUERY,
+            description = "Propiedades a devolver de cada usuario, separadas por comas", example = "username,accountActive")
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -71,18 +100,35 @@ public class UserManagementController {
                 )
             )
         ),
+        @ApiResponse(responseCode = "304", description = "La lista de usuarios no ha cambiado"),
         @ApiResponse(
             responseCode = "401",
             description = "Token de autenticación requerido",
             content = @Content(
                 mediaType = MediaType.APPLICATION_JSON_VALUE,
-                schema = @Schema(implementation = ApiResponseDto.class)
+                schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Requiere el rol de administración",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ErrorResponseDto.class)
             )
         )
     })
     @GetMapping
-    public ResponseEntity<ApiResponseDto<List<SystemUser>>> getAllUsers() {
+    public ResponseEntity<ApiResponseDto<List<SystemUser>>> getAllUsers(ServletWebRequest request)
+            throws HttpMediaTypeNotAcceptableException {
+        MediaType mediaType = negotiatedMediaType(request);
         try {
+            // La versión se lee antes que los datos; sin cambios se responde 304 sin leer ni serializar la lista
+            String etag = representationTag(versionTag(userRepository.getDirectoryVersion()), mediaType);
+            if (ConditionalRequests.checkNotModified(request, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(USER_DATA_CACHE_CONTROL).build();
+            }
+            
             List<SystemUser> users = userRepository.findAllUsers();
             
             ApiResponseDto<List<SystemUser>> response = new ApiResponseDto<>(
@@ -91,7 +137,7 @@ public class UserManagementController {
                 users
             );
             
-            return new ResponseEntity<>(response, HttpStatus.OK);
+            return ResponseEntity.ok().cacheControl(USER_DATA_CACHE_CONTROL).body(response);
             
         } catch (Exception e) {
             ApiResponseDto<List<SystemUser>> errorResponse = new ApiResponseDto<>(
@@ -102,13 +148,50 @@ public class UserManagementController {
         }
     }
     
+    /**
+     * Lista de usuarios con solo las propiedades pedidas en fields= (documentado en getAllUsers)
+     */
+    @Operation(hidden = true)
+    @GetMapping(params = "fields")
+    public ResponseEntity<ApiResponseDto<JsonSerializable>> getAllUsersProjected(
+            @RequestParam String fields,
+            ServletWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        // Un campo desconocido lanza IllegalArgumentException, que se responde con 400
+        UserProjection projection = UserProjection.compile(fields);
+        MediaType mediaType = negotiatedMediaType(request);
+        try {
+            String etag = representationTag(versionTag(userRepository.getDirectoryVersion(), projection), mediaType);
+            if (ConditionalRequests.checkNotModified(request, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(USER_DATA_CACHE_CONTROL).build();
+            }
+            
+            ApiResponseDto<JsonSerializable> response = new ApiResponseDto<>(
+                true, 
+                "Users retrieved successfully", 
+                projection.project(userRepository.findAllUsers())
+            );
+            
+            return ResponseEntity.ok().cacheControl(USER_DATA_CACHE_CONTROL).body(response);
+            
+        } catch (Exception e) {
+            ApiResponseDto<JsonSerializable> errorResponse = new ApiResponseDto<>(
+                false, 
+                "Error retrieving users: " + e.getMessage()
+            );
+            return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
     /**
      * Obtiene un usuario específico por su nombre de usuario
      */
     @Operation(
         summary = "Obtener usuario por username",
-        description = "Busca y retorna la información de un usuario específico utilizando su nombre de usuario",
-        tags = {"Gestión de Usuarios"}
+        description = "Busca y retorna la información de un usuario específico utilizando su nombre de usuario. " +
+                      "Soporta If-None-Match con la versión del usuario para revalidación con 304",
+        tags = {"Gestión de Usuarios"},
+        parameters = @Parameter(name = "fields", in = ParameterIn.QUERY,
+            description = "Propiedades a devolver del usuario, separadas por comas", example = "username,accountActive")
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -155,21 +238,39 @@ public class UserManagementController {
                 )
             )
         ),
+        @ApiResponse(responseCode = "304", description = "El usuario no ha cambiado"),
         @ApiResponse(
             responseCode = "401",
             description = "Token de autenticación requerido",
             content = @Content(
                 mediaType = MediaType.APPLICATION_JSON_VALUE,
-                schema = @Schema(implementation = ApiResponseDto.class)
+                schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Solo el propio usuario o un administrador",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ErrorResponseDto.class)
             )
         )
     })
     @GetMapping("/{username}")
     public ResponseEntity<ApiResponseDto<SystemUser>> getUserByUsername(
             @Parameter(description = "Nombre de usuario a buscar", required = true, example = "juan.perez")
-            @PathVariable String username) {
+            @PathVariable String username,
+            ServletWebRequest request) throws HttpMediaTypeNotAcceptableException {
         
+        MediaType mediaType = negotiatedMediaType(request);
         try {
+            // Versión 0: el usuario no existe y no hay representación que revalidar
+            long version = userRepository.getUserVersion(username);
+            String etag = representationTag(versionTag(version), mediaType);
+            if (version != 0 && ConditionalRequests.checkNotModified(request, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(USER_DATA_CACHE_CONTROL).build();
+            }
+            
             Optional<SystemUser> user = userRepository.findByUsername(username);
             
             if (user.isPresent()) {
@@ -178,7 +279,7 @@ public class UserManagementController {
                     "User found successfully", 
                     user.get()
                 );
-                return new ResponseEntity<>(response, HttpStatus.OK);
+                return ResponseEntity.ok().cacheControl(USER_DATA_CACHE_CONTROL).body(response);
             } else {
                 ApiResponseDto<SystemUser> response = new ApiResponseDto<>(
                     false, 
@@ -196,6 +297,46 @@ public class UserManagementController {
         }
     }
     
+    /**
+     * Usuario con solo las propiedades pedidas en fields= (documentado en getUserByUsername)
+     */
+    @Operation(hidden = true)
+    @GetMapping(value = "/{username}", params = "fields")
+    public ResponseEntity<ApiResponseDto<JsonSerializable>> getUserByUsernameProjected(
+            @PathVariable String username,
+            @RequestParam String fields,
+            ServletWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        
+        UserProjection projection = UserProjection.compile(fields);
+        MediaType mediaType = negotiatedMediaType(request);
+        try {
+            long version = userRepository.getUserVersion(username);
+            String etag = representationTag(versionTag(version, projection), mediaType);
+            if (version != 0 && ConditionalRequests.checkNotModified(request, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(USER_DATA_CACHE_CONTROL).build();
+            }
+            
+            Optional<SystemUser> user = userRepository.findByUsername(username);
+            if (user.isEmpty()) {
+                return new ResponseEntity<>(new ApiResponseDto<>(false, "User not found"), HttpStatus.NOT_FOUND);
+            }
+            
+            ApiResponseDto<JsonSerializable> response = new ApiResponseDto<>(
+                true, 
+                "User found successfully", 
+                projection.project(user.get())
+            );
+            return ResponseEntity.ok().cacheControl(USER_DATA_CACHE_CONTROL).body(response);
+            
+        } catch (Exception e) {
+            ApiResponseDto<JsonSerializable> errorResponse = new ApiResponseDto<>(
+                false, 
+                "Error retrieving user: " + e.getMessage()
+            );
+            return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
     /**
      * Desactiva una cuenta de usuario
      */
@@ -237,7 +378,15 @@ public class UserManagementController {
             description = "Token de autenticación requerido",
             content = @Content(
                 mediaType = MediaType.APPLICATION_JSON_VALUE,
-                schema = @Schema(implementation = ApiResponseDto.class)
+                schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Requiere el rol de administración",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ErrorResponseDto.class)
             )
         )
     })
@@ -253,6 +402,9 @@ public class UserManagementController {
                 SystemUser existingUser = user.get();
                 existingUser.setAccountActive(false);
                 userRepository.updateUser(existingUser);
+                // Revocación masiva en O(1): invalida todos los access tokens emitidos al usuario
+                userRepository.revokeAllTokens(username);
+                verifiedCredentialCache.invalidate(username);
                 
                 ApiResponseDto<Void> response = new ApiResponseDto<>(
                     true, 
@@ -275,4 +427,40 @@ public class UserManagementController {
             return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+    
+    /**
+     * ETag débil derivado de la versión del repositorio: Tomcat no comprime respuestas con ETag fuerte,
+     * y la versión identifica el contenido, no los bytes de cada codificación
+     */
+    static String versionTag(long version) {
+        return "W/\"" + Long.toString(version, 36) + "\"";
+    }
+    
+    /**
+     * ETag débil de una respuesta proyectada: la misma versión con otros campos es otra representación
+     */
+    static String versionTag(long version, UserProjection projection) {
+        return "W/\"" + Long.toString(version, 36) + ";" + projection.getFields() + "\"";
+    }
+    
+    /**
+     * ETag de la representación negociada: JSON, Smile, CBOR y Protobuf de la misma versión son respuestas distintas
+     */
+    static String representationTag(String versionTag, MediaType mediaType) {
+        return versionTag.substring(0, versionTag.length() - 1) + ";" + mediaType.getSubtype() + "\"";
+    }
+    
+    /**
+     * Formato que elegirán los convertidores para el Accept de la petición; sin coincidencia se etiqueta como JSON
+     */
+    private MediaType negotiatedMediaType(ServletWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        for (MediaType requested : ACCEPT_HEADER_STRATEGY.resolveMediaTypes(request)) {
+            for (MediaType producible : USER_DATA_MEDIA_TYPES) {
+                if (requested.isCompatibleWith(producible)) {
+                    return producible;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
 }
@@ -0,0 +1,17 @@
+package com.techcorp.authapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Versión de la API
+ */
+@Schema(description = "Versión de la API")
+public record ApiVersionDto(
+    @Schema(description = "Versión", example = "1.0.0")
+    String version,
+    @Schema(description = "Nombre de la API", example = "TechCorp User Management API")
+    String apiName,
+    @Schema(description = "Fecha de publicación", example = "2024-01-15")
+    String releaseDate
+) {
+}
@@ -0,0 +1,21 @@
+package com.techcorp.authapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado del servicio para el health check
+ */
+@Schema(description = "Estado del servicio")
+public record HealthStatusDto(
+    @Schema(description = "Estado", example = "UP")
+    String status,
+    @Schema(description = "Nombre del servicio", example = "user-management-service")
+    String service,
+    @Schema(description = "Versión desplegada", example = "1.0.0")
+    String version,
+    @Schema(description = "Instante de la comprobación", example = "2024-01-15T12:00:00")
+    LocalDateTime timestamp
+) {
+}
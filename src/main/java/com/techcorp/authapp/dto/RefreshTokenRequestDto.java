@@ -0,0 +1,40 @@
+package com.techcorp.authapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO para solicitudes de renovación de sesión mediante refresh token
+ */
+@Schema(description = "Refresh token para obtener un nuevo access token")
+public class RefreshTokenRequestDto {
+    
+    @Schema(
+        description = "Refresh token emitido en el login o en la última renovación",
+        example = "q3J8vK1mT0a9Xc2bYd4eZw.Hh7s0cFq9Lw2pN3rX5tV8yB1zD4gJ6kM9nQ2sU5wY8a",
+        requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+    
+    // Constructor por defecto
+    public RefreshTokenRequestDto() {}
+    
+    // Constructor completo
+    public RefreshTokenRequestDto(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    @Override
+    public String toString() {
+        return "RefreshTokenRequestDto{refreshToken='[PROTECTED]'}";
+    }
+}
@@ -0,0 +1,26 @@
+package com.techcorp.authapp.dto;
+
+import com.techcorp.authapp.model.SystemUser;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Datos públicos de un usuario recién registrado
+ */
+@Schema(description = "Usuario registrado")
+public record RegisteredUserDto(
+    @Schema(description = "Identificador único del usuario", example = "USR-12345")
+    String userId,
+    @Schema(description = "Nombre de usuario", example = "juan.perez")
+    String username,
+    @Schema(description = "Correo electrónico", example = "juan.perez@techcorp.com")
+    String emailAddress,
+    @Schema(description = "Fecha de registro", example = "2024-01-15T10:30:00")
+    LocalDateTime registrationDate
+) {
+    
+    public static RegisteredUserDto from(SystemUser user) {
+        return new RegisteredUserDto(user.getUserId(), user.getUsername(), user.getEmailAddress(), user.getRegistrationDate());
+    }
+}
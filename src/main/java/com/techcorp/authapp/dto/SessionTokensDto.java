@@ -0,0 +1,25 @@
+package com.techcorp.authapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Tokens emitidos por login y refresh
+ */
+@Schema(description = "Tokens de la sesión")
+public record SessionTokensDto(
+    @Schema(description = "Usuario autenticado", example = "juan.perez")
+    String username,
+    @Schema(description = "Access token JWT de vida corta")
+    String authToken,
+    @Schema(description = "Refresh token opaco de un solo uso")
+    String refreshToken,
+    @Schema(description = "Tipo de token", example = "Bearer")
+    String tokenType,
+    @Schema(description = "Vida del access token en segundos", example = "900")
+    long expiresIn
+) {
+    
+    public static SessionTokensDto bearer(String username, String authToken, String refreshToken, long expiresIn) {
+        return new SessionTokensDto(username, authToken, refreshToken, "Bearer", expiresIn);
+    }
+}
@@ -0,0 +1,34 @@
+package com.techcorp.authapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Información general del sistema
+ */
+@Schema(description = "Información del sistema")
+public record SystemInfoDto(
+    @Schema(description = "Nombre de la aplicación", example = "user-management-service")
+    String applicationName,
+    @Schema(description = "Versión desplegada", example = "1.0.0")
+    String version,
+    @Schema(description = "Versión de Java", example = "17.0.7")
+    String javaVersion,
+    @Schema(description = "Versión de Spring Boot", example = "3.2.0")
+    String springBootVersion,
+    @Schema(description = "Inicio del servicio", example = "2024-01-15T10:00:00")
+    LocalDateTime startTime,
+    @Schema(description = "Usuarios registrados", example = "150")
+    long totalUsers,
+    @Schema(description = "Usuarios activos", example = "145")
+    long activeUsers,
+    @Schema(description = "Entorno", example = "development")
+    String environment,
+    @Schema(description = "Hilos que atienden peticiones: platform o virtual", example = "platform")
+    String requestThreads,
+    @Schema(description = "Calibración de BCrypt")
+    Map<String, Object> passwordHashing
+) {
+}
@@ -0,0 +1,48 @@
+package com.techcorp.authapp.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para solicitudes de introspección de tokens por lotes
+ */
+@Schema(description = "Lote de access tokens a verificar")
+public class TokenIntrospectionRequestDto {
+    
+    @ArraySchema(
+        arraySchema = @Schema(description = "Access tokens JWT a verificar (máximo 100 por solicitud)"),
+        schema = @Schema(example = "eyJhbGciOiJIUzI1NiJ9..."),
+        minItems = 1,
+        maxItems = 100
+    )
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = 100, message = "A maximum of 100 tokens per request is allowed")
+    private List<String> tokens;
+    
+    // Constructor por defecto
+    public TokenIntrospectionRequestDto() {}
+    
+    // Constructor completo
+    public TokenIntrospectionRequestDto(List<String> tokens) {
+        this.tokens = tokens;
+    }
+    
+    public List<String> getTokens() {
+        return tokens;
+    }
+    
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+    
+    @Override
+    public String toString() {
+        return "TokenIntrospectionRequestDto{" +
+                "tokens=" + (tokens == null ? 0 : tokens.size()) +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package com.techcorp.authapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resultado compacto de introspección de un token (campos según RFC 7662)
+ * Los tokens inactivos solo incluyen "active": false
+ */
+@Schema(description = "Resultado de introspección de un access token")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionResultDto {
+    
+    @Schema(description = "Indica si el token es válido y no ha sido revocado", example = "true")
+    private boolean active;
+    
+    @Schema(description = "Usuario titular del token", example = "juan.perez")
+    private String sub;
+    
+    @Schema(description = "Identificador único del token", example = "3f6c1e9a-6d2b-4f7e-9a51-2c8d7b0e4a13")
+    private String jti;
+    
+    @Schema(description = "Emisión del token en segundos desde epoch", example = "1705312800")
+    private Long iat;
+    
+    @Schema(description = "Expiración del token en segundos desde epoch", example = "1705313700")
+    private Long exp;
+    
+    // Constructor por defecto
+    public TokenIntrospectionResultDto() {}
+    
+    // Constructor completo
+    public TokenIntrospectionResultDto(boolean active, String sub, String jti, Long iat, Long exp) {
+        this.active = active;
+        this.sub = sub;
+        this.jti = jti;
+        this.iat = iat;
+        this.exp = exp;
+    }
+    
+    public boolean isActive() {
+        return active;
+    }
+    
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+    
+    public String getSub() {
+        return sub;
+    }
+    
+    public void setSub(String sub) {
+        this.sub = sub;
+    }
+    
+    public String getJti() {
+        return jti;
+    }
+    
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+    
+    public Long getIat() {
+        return iat;
+    }
+    
+    public void setIat(Long iat) {
+        this.iat = iat;
+    }
+    
+    public Long getExp() {
+        return exp;
+    }
+    
+    public void setExp(Long exp) {
+        this.exp = exp;
+    }
+    
+    @Override
+    public String toString() {
+        return "TokenIntrospectionResultDto{" +
+                "active=" + active +
+                ", sub='" + sub + '\'' +
+                ", exp=" + exp +
+                '}';
+    }
+}
@@ -0,0 +1,171 @@
+package com.techcorp.authapp.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.techcorp.authapp.model.SystemUser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Proyección de SystemUser sobre un subconjunto de propiedades (parámetro fields=)
+ * Se compila una vez por conjunto distinto de campos y escribe solo esas propiedades en el JsonGenerator
+ */
+public final class UserProjection {
+    
+    // Como mucho 2^5 - 1 conjuntos distintos: la clave es el conjunto normalizado, no el texto recibido
+    private static final Map<EnumSet<Property>, UserProjection> COMPILED = new ConcurrentHashMap<>();
+    
+    private final Property[] properties;
+    private final String fields;
+    
+    private UserProjection(EnumSet<Property> properties) {
+        this.properties = properties.toArray(new Property[0]);
+        this.fields = properties.stream().map(Property::jsonName).collect(Collectors.joining(","));
+    }
+    
+    /**
+     * Obtiene la proyección compilada para una lista de campos separados por comas
+     * @throws IllegalArgumentException si la lista está vacía o contiene un campo desconocido
+     */
+    public static UserProjection compile(String fields) {
+        EnumSet<Property> properties = EnumSet.noneOf(Property.class);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                properties.add(Property.fromJsonName(name));
+            }
+        }
+        if (properties.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one of " + Property.jsonNames());
+        }
+        return COMPILED.computeIfAbsent(properties, UserProjection::new);
+    }
+    
+    /**
+     * Campos de la proyección en orden canónico, separados por comas
+     */
+    public String getFields() {
+        return fields;
+    }
+    
+    /**
+     * Usuario proyectado, serializable por cualquier ObjectMapper (JSON, CBOR, Smile)
+     */
+    public JsonSerializable project(SystemUser user) {
+        return new Projected(this, Collections.singletonList(user), false);
+    }
+    
+    /**
+     * Lista de usuarios proyectados, escrita como array sin copiar la lista
+     */
+    public JsonSerializable project(List<SystemUser> users) {
+        return new Projected(this, users, true);
+    }
+    
+    private void write(SystemUser user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(user);
+        for (Property property : properties) {
+            generator.writeFieldName(property.serializedName);
+            property.writeValue(user, generator, provider);
+        }
+        generator.writeEndObject();
+    }
+    
+    private enum Property {
+        USER_ID("userId") {
+            @Override
+            void writeValue(SystemUser user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeString(user.getUserId());
+            }
+        },
+        USERNAME("username") {
+            @Override
+            void writeValue(SystemUser user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeString(user.getUsername());
+            }
+        },
+        EMAIL_ADDRESS("emailAddress") {
+            @Override
+            void writeValue(SystemUser user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeString(user.getEmailAddress());
+            }
+        },
+        REGISTRATION_DATE("registrationDate") {
+            @Override
+            void writeValue(SystemUser user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                // Mismo formato de fecha que la serialización completa del ObjectMapper
+                provider.defaultSerializeValue(user.getRegistrationDate(), generator);
+            }
+        },
+        ACCOUNT_ACTIVE("accountActive") {
+            @Override
+            void writeValue(SystemUser user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeBoolean(user.isAccountActive());
+            }
+        };
+        
+        private final String jsonName;
+        private final SerializableString serializedName;
+        
+        Property(String jsonName) {
+            this.jsonName = jsonName;
+            this.serializedName = new SerializedString(jsonName);
+        }
+        
+        abstract void writeValue(SystemUser user, JsonGenerator generator, SerializerProvider provider) throws IOException;
+        
+        String jsonName() {
+            return jsonName;
+        }
+        
+        static Property fromJsonName(String name) {
+            for (Property property : values()) {
+                if (property.jsonName.equals(name)) {
+                    return property;
+                }
+            }
+            throw new IllegalArgumentException("Unknown field '" + name + "', expected any of " + jsonNames());
+        }
+        
+        static List<String> jsonNames() {
+            List<String> names = new ArrayList<>();
+            for (Property property : values()) {
+                names.add(property.jsonName);
+            }
+            return names;
+        }
+    }
+    
+    private record Projected(UserProjection projection, List<SystemUser> users, boolean array) implements JsonSerializable {
+        
+        @Override
+        public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (!array) {
+                projection.write(users.get(0), generator, provider);
+                return;
+            }
+            generator.writeStartArray(users, users.size());
+            for (SystemUser user : users) {
+                projection.write(user, generator, provider);
+            }
+            generator.writeEndArray();
+        }
+        
+        @Override
+        public void serializeWithType(JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer)
+                throws IOException {
+            serialize(generator, provider);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.techcorp.authapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Estadísticas de usuarios y métricas de las protecciones de autenticación
+ */
+@Schema(description = "Estadísticas de usuarios")
+public record UserStatsDto(
+    @Schema(description = "Usuarios registrados", example = "150")
+    long totalRegisteredUsers,
+    @Schema(description = "Usuarios activos", example = "145")
+    long activeUsers,
+    @Schema(description = "Usuarios desactivados", example = "5")
+    long inactiveUsers,
+    @Schema(description = "Usuarios con tokens vigentes", example = "12")
+    long usersWithActiveTokens,
+    @Schema(description = "Instante del cálculo", example = "2024-01-15T12:00:00")
+    LocalDateTime lastUpdated,
+    @Schema(description = "Métricas del pool de hashing")
+    Map<String, Object> passwordHashing,
+    @Schema(description = "Métricas del límite adaptativo de concurrencia")
+    Map<String, Object> authConcurrency,
+    @Schema(description = "Métricas del límite de intentos de login")
+    Map<String, Object> loginThrottle
+) {
+}
@@ -0,0 +1,42 @@
+package com.techcorp.authapp.model;
+
+/**
+ * Familia de refresh tokens rotativos asociada a una sesión de usuario
+ * Solo se conserva el hash del token vigente; cualquier token anterior de la
+ * misma familia que se presente de nuevo se considera reutilizado
+ */
+public final class RefreshTokenFamily {
+    
+    private final String username;
+    private final byte[] currentSecretHash;
+    private final long expiresAtMillis;
+    
+    public RefreshTokenFamily(String username, byte[] currentSecretHash, long expiresAtMillis) {
+        this.username = username;
+        this.currentSecretHash = currentSecretHash;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+    
+    /**
+     * Crea la siguiente generación de la familia con un nuevo secreto vigente
+     */
+    public RefreshTokenFamily rotate(byte[] newSecretHash, long newExpiresAtMillis) {
+        return new RefreshTokenFamily(username, newSecretHash, newExpiresAtMillis);
+    }
+    
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public byte[] getCurrentSecretHash() {
+        return currentSecretHash;
+    }
+    
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+}
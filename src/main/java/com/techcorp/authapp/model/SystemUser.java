@@ -50,6 +50,11 @@ public class SystemUser {
     )
     private boolean accountActive;
     
+    // Rol de administración: solo lo asigna el aprovisionamiento al arranque, nunca el registro ni la API
+    @Schema(hidden = true)
+    @JsonIgnore
+    private boolean administrator;
+    
     /**
      * Constructor por defecto
      */
@@ -117,6 +122,14 @@ public class SystemUser {
         this.accountActive = accountActive;
     }
     
+    public boolean isAdministrator() {
+        return administrator;
+    }
+    
+    public void setAdministrator(boolean administrator) {
+        this.administrator = administrator;
+    }
+    
     @Override
     public String toString() {
         return "SystemUser{" +
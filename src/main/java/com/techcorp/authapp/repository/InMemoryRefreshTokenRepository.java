@@ -0,0 +1,104 @@
+package com.techcorp.authapp.repository;
+
+import com.techcorp.authapp.model.RefreshTokenFamily;
+import org.springframework.stereotype.Repository;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repositorio en memoria para las familias de refresh tokens
+ * Guarda una única entrada compacta por sesión (no por token emitido)
+ */
+@Repository
+public class InMemoryRefreshTokenRepository {
+    
+    private final Map<String, RefreshTokenFamily> families = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> familiesByUser = new ConcurrentHashMap<>();
+    
+    /**
+     * Almacena una nueva familia de refresh tokens
+     */
+    public void saveFamily(String familyId, RefreshTokenFamily family) {
+        familiesByUser.computeIfAbsent(family.getUsername(), key -> ConcurrentHashMap.newKeySet())
+                .add(familyId);
+        families.put(familyId, family);
+    }
+    
+    /**
+     * Busca una familia por su identificador
+     */
+    public Optional<RefreshTokenFamily> findFamily(String familyId) {
+        return Optional.ofNullable(families.get(familyId));
+    }
+    
+    /**
+     * Reemplaza atómicamente la familia solo si no fue modificada concurrentemente
+     */
+    public boolean replaceFamily(String familyId, RefreshTokenFamily expected, RefreshTokenFamily updated) {
+        return families.replace(familyId, expected, updated);
+    }
+    
+    /**
+     * Elimina una familia, invalidando todos sus refresh tokens
+     */
+    public boolean deleteFamily(String familyId) {
+        RefreshTokenFamily removed = families.remove(familyId);
+        if (removed == null) {
+            return false;
+        }
+        Set<String> userFamilies = familiesByUser.get(removed.getUsername());
+        if (userFamilies != null) {
+            userFamilies.remove(familyId);
+        }
+        return true;
+    }
+    
+    /**
+     * Elimina todas las familias de un usuario
+     */
+    public int deleteFamiliesByUsername(String username) {
+        Set<String> userFamilies = familiesByUser.remove(username);
+        if (userFamilies == null) {
+            return 0;
+        }
+        int removed = 0;
+        for (String familyId : userFamilies) {
+            if (families.remove(familyId) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+    
+    /**
+     * Elimina las familias expiradas y retorna cuántas se eliminaron
+     */
+    public int purgeExpired(long nowMillis) {
+        int removed = 0;
+        Iterator<Map.Entry<String, RefreshTokenFamily>> iterator = families.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, RefreshTokenFamily> entry = iterator.next();
+            if (entry.getValue().isExpired(nowMillis)) {
+                iterator.remove();
+                Set<String> userFamilies = familiesByUser.get(entry.getValue().getUsername());
+                if (userFamilies != null) {
+                    userFamilies.remove(entry.getKey());
+                }
+                removed++;
+            }
+        }
+        familiesByUser.values().removeIf(Set::isEmpty);
+        return removed;
+    }
+    
+    /**
+     * Cuenta las familias (sesiones) almacenadas
+     */
+    public long countFamilies() {
+        return families.size();
+    }
+}
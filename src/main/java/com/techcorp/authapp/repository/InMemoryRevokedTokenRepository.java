@@ -0,0 +1,100 @@
+package com.techcorp.authapp.repository;
+
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro global en memoria de identificadores (jti) de access tokens revocados individualmente
+ * Un filtro de Bloom descarta sin bloqueo la gran mayoría de tokens no revocados; solo los
+ * posibles positivos se confirman contra el conjunto exacto. Las entradas se conservan
+ * únicamente hasta la expiración natural del token
+ */
+@Repository
+public class InMemoryRevokedTokenRepository {
+    
+    private static final int BLOOM_BITS = 1 << 16; // 8 KB
+    private static final int BLOOM_HASHES = 3;
+    private static final int PURGE_THRESHOLD = 4096;
+    
+    private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray bloomBits = new AtomicLongArray(BLOOM_BITS / Long.SIZE);
+    private int purgeAtSize = PURGE_THRESHOLD;
+    
+    /**
+     * Revoca un token individual hasta su instante de expiración
+     */
+    public synchronized void revokeTokenId(String tokenId, long expiresAtMillis) {
+        if (revokedTokenIds.size() >= purgeAtSize) {
+            purgeExpired(System.currentTimeMillis());
+            // Si siguen vigentes muchas revocaciones, se espacia la siguiente purga
+            purgeAtSize = Math.max(PURGE_THRESHOLD, revokedTokenIds.size() * 2);
+        }
+        revokedTokenIds.put(tokenId, expiresAtMillis);
+        addToBloom(bloomBits, tokenId);
+    }
+    
+    /**
+     * Verifica si un token fue revocado individualmente
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || revokedTokenIds.isEmpty()) {
+            return false;
+        }
+        return mightContain(bloomBits, tokenId) && revokedTokenIds.containsKey(tokenId);
+    }
+    
+    /**
+     * Elimina las revocaciones de tokens ya expirados y reconstruye el filtro
+     */
+    public synchronized int purgeExpired(long nowMillis) {
+        int sizeBefore = revokedTokenIds.size();
+        revokedTokenIds.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        
+        AtomicLongArray rebuilt = new AtomicLongArray(BLOOM_BITS / Long.SIZE);
+        revokedTokenIds.keySet().forEach(tokenId -> addToBloom(rebuilt, tokenId));
+        bloomBits = rebuilt;
+        
+        return sizeBefore - revokedTokenIds.size();
+    }
+    
+    /**
+     * Cuenta los tokens revocados vigentes
+     */
+    public long countRevoked() {
+        return revokedTokenIds.size();
+    }
+    
+    private static void addToBloom(AtomicLongArray bits, String tokenId) {
+        int h1 = tokenId.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (h1 + i * h2) & (BLOOM_BITS - 1);
+            long mask = 1L << (bit & 63);
+            int index = bit >>> 6;
+            long current;
+            do {
+                current = bits.get(index);
+            } while ((current & mask) == 0 && !bits.compareAndSet(index, current, current | mask));
+        }
+    }
+    
+    private static boolean mightContain(AtomicLongArray bits, String tokenId) {
+        int h1 = tokenId.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (h1 + i * h2) & (BLOOM_BITS - 1);
+            if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) | 1;
+    }
+}
@@ -1,6 +1,7 @@
 package com.techcorp.authapp.repository;
 
 import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.service.AuthenticationFailure;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
@@ -8,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Repositorio en memoria para el almacenamiento de datos de usuarios TechCorp
@@ -17,13 +19,22 @@ import java.util.concurrent.ConcurrentHashMap;
 public class InMemoryUserRepository {
     
     private final Map<String, SystemUser> userStore = new ConcurrentHashMap<>();
-    private final Map<String, String> userTokens = new ConcurrentHashMap<>();
+    // Época de revocación por usuario: los tokens emitidos en una época anterior son inválidos
+    private final Map<String, Integer> tokenEpochs = new ConcurrentHashMap<>();
+    // Versión del directorio: avanza con cada alta, modificación o baja. Parte del instante de arranque
+    // para que un ETag emitido antes de un reinicio no coincida con un estado distinto
+    private final AtomicLong directoryVersion = new AtomicLong(System.currentTimeMillis());
+    private final Map<String, Long> userVersions = new ConcurrentHashMap<>();
     
     /**
      * Almacena un nuevo usuario en memoria
+     * El alta es atómica: si el nombre ya está ocupado (p. ej. dos registros simultáneos) se lanza USER_ALREADY_EXISTS
      */
     public SystemUser saveUser(SystemUser user) {
-        userStore.put(user.getUsername(), user);
+        if (userStore.putIfAbsent(user.getUsername(), user) != null) {
+            throw AuthenticationFailure.USER_ALREADY_EXISTS.toException();
+        }
+        advanceVersion(user.getUsername());
         return user;
     }
     
@@ -56,6 +67,7 @@ public class InMemoryUserRepository {
     public SystemUser updateUser(SystemUser user) {
         if (userStore.containsKey(user.getUsername())) {
             userStore.put(user.getUsername(), user);
+            advanceVersion(user.getUsername());
             return user;
         }
         throw new RuntimeException("User not found for update: " + user.getUsername());
@@ -67,8 +79,10 @@ public class InMemoryUserRepository {
     public boolean deleteUser(String username) {
         SystemUser removedUser = userStore.remove(username);
         if (removedUser != null) {
-            // También remover el token si existe
-            userTokens.remove(username);
+            userVersions.remove(username);
+            directoryVersion.incrementAndGet();
+            // Un usuario recreado con el mismo nombre no debe heredar tokens anteriores
+            revokeAllTokens(username);
             return true;
         }
         return false;
@@ -81,6 +95,14 @@ public class InMemoryUserRepository {
         return userStore.containsKey(username);
     }
     
+    /**
+     * Indica si el usuario almacenado tiene el rol de administración
+     */
+    public boolean isAdministrator(String username) {
+        SystemUser user = userStore.get(username);
+        return user != null && user.isAdministrator();
+    }
+    
     /**
      * Verifica si un email ya existe
      */
@@ -106,45 +128,36 @@ public class InMemoryUserRepository {
     }
     
     /**
-     * Almacena el token de sesión del usuario
+     * Obtiene la época de revocación vigente del usuario (0 si nunca se revocó)
      */
-    public void storeUserToken(String username, String token) {
-        userTokens.put(username, token);
+    public int getTokenEpoch(String username) {
+        return tokenEpochs.getOrDefault(username, 0);
     }
     
     /**
-     * Remueve el token de sesión del usuario
+     * Revoca en O(1) todos los tokens emitidos al usuario avanzando su época de revocación
      */
-    public void removeUserToken(String username) {
-        userTokens.remove(username);
+    public int revokeAllTokens(String username) {
+        return tokenEpochs.merge(username, 1, Integer::sum);
     }
     
     /**
-     * Valida si el usuario tiene un token activo
+     * Versión vigente del directorio completo; cambia con cualquier alta, modificación o baja
      */
-    public boolean hasActiveToken(String username) {
-        return userTokens.containsKey(username);
+    public long getDirectoryVersion() {
+        return directoryVersion.get();
     }
     
     /**
-     * Obtiene el token activo de un usuario
+     * Versión vigente de un usuario (0 si no existe)
      */
-    public Optional<String> getUserToken(String username) {
-        return Optional.ofNullable(userTokens.get(username));
+    public long getUserVersion(String username) {
+        return userVersions.getOrDefault(username, 0L);
     }
     
-    /**
-     * Limpia todos los tokens de sesión
-     */
-    public void clearAllTokens() {
-        userTokens.clear();
-    }
-    
-    /**
-     * Valida si un token específico es válido para un usuario - TC008
-     */
-    public boolean isTokenValid(String username, String token) {
-        String storedToken = userTokens.get(username);
-        return storedToken != null && storedToken.equals(token);
+    // La versión se publica después de escribir: quien lea la versión antes que los datos
+    // podrá obtener datos más nuevos que su ETag, nunca un ETag más nuevo que sus datos
+    private void advanceVersion(String username) {
+        userVersions.put(username, directoryVersion.incrementAndGet());
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.techcorp.authapp.service;
+
+/**
+ * Claims verificados de un access token JWT
+ * Se obtienen con un único parseo y no requieren consultar estado del servidor
+ */
+public final class AccessTokenClaims {
+    
+    private final String username;
+    private final String tokenId;
+    private final long issuedAtMillis;
+    private final long expiresAtMillis;
+    private final int revocationEpoch;
+    
+    public AccessTokenClaims(String username, String tokenId, long issuedAtMillis, long expiresAtMillis,
+                             int revocationEpoch) {
+        this.username = username;
+        this.tokenId = tokenId;
+        this.issuedAtMillis = issuedAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+        this.revocationEpoch = revocationEpoch;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public String getTokenId() {
+        return tokenId;
+    }
+    
+    public long getIssuedAtMillis() {
+        return issuedAtMillis;
+    }
+    
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+    
+    /**
+     * Época de revocación del usuario vigente cuando se emitió el token
+     */
+    public int getRevocationEpoch() {
+        return revocationEpoch;
+    }
+}
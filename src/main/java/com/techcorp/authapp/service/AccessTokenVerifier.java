@@ -0,0 +1,92 @@
+package com.techcorp.authapp.service;
+
+import com.techcorp.authapp.repository.InMemoryRevokedTokenRepository;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verificador compartido de access tokens
+ * La verificación criptográfica se cachea por token hasta su expiración; la revocación
+ * (época del usuario y jti revocados) se comprueba siempre en vivo porque es barata
+ */
+@Service
+public class AccessTokenVerifier {
+    
+    private static final int MAX_CACHED_TOKENS = 10_000;
+    
+    @Autowired
+    private TokenGenerationService tokenService;
+    
+    @Autowired
+    private InMemoryUserRepository userRepository;
+    
+    @Autowired
+    private InMemoryRevokedTokenRepository revokedTokenRepository;
+    
+    private final Map<String, AccessTokenClaims> verifiedTokens = new ConcurrentHashMap<>();
+    
+    /**
+     * Verifica un access token: firma, expiración y revocación
+     * Retorna vacío si el token no es válido por cualquier motivo
+     */
+    public Optional<AccessTokenClaims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        
+        long now = System.currentTimeMillis();
+        AccessTokenClaims claims = verifiedTokens.get(token);
+        if (claims == null || claims.getExpiresAtMillis() <= now) {
+            claims = verifySignature(token);
+            if (claims == null) {
+                verifiedTokens.remove(token);
+                return Optional.empty();
+            }
+            cache(token, claims, now);
+        }
+        
+        if (isRevoked(claims)) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+    
+    /**
+     * Verifica si los claims pertenecen a un token revocado (por época o por jti)
+     */
+    public boolean isRevoked(AccessTokenClaims claims) {
+        return claims.getRevocationEpoch() < userRepository.getTokenEpoch(claims.getUsername())
+            || revokedTokenRepository.isRevoked(claims.getTokenId());
+    }
+    
+    /**
+     * Cuenta los tokens con verificación criptográfica cacheada
+     */
+    public int countCachedTokens() {
+        return verifiedTokens.size();
+    }
+    
+    private AccessTokenClaims verifySignature(String token) {
+        try {
+            return tokenService.verifyAccessToken(token);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+    
+    private void cache(String token, AccessTokenClaims claims, long now) {
+        if (verifiedTokens.size() >= MAX_CACHED_TOKENS) {
+            verifiedTokens.values().removeIf(cached -> cached.getExpiresAtMillis() <= now);
+            if (verifiedTokens.size() >= MAX_CACHED_TOKENS) {
+                // Cache llena de tokens vigentes: se descarta completa para mantener la memoria acotada
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(token, claims);
+    }
+}
@@ -0,0 +1,149 @@
+package com.techcorp.authapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Límite adaptativo de concurrencia para login y registro (estilo gradiente, basado en latencia)
+ * Compara la latencia reciente con la de referencia: si crece, el límite baja; si se mantiene, sube.
+ * Las peticiones por encima del límite se descartan de inmediato con 503 en lugar de encolarse
+ */
+@Service
+public class AdaptiveConcurrencyLimiter {
+    
+    // Suavizado de la latencia de referencia: reacciona lento para representar el comportamiento sin carga
+    private static final double LONG_RTT_SMOOTHING = 0.05;
+    
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final long retryAfterSeconds;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder acceptedRequests = new LongAdder();
+    private final LongAdder droppedRequests = new LongAdder();
+    
+    private volatile double estimatedLimit;
+    private volatile double shortRttNanos;
+    private volatile double longRttNanos;
+    
+    public AdaptiveConcurrencyLimiter(
+            @Value("${app.security.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${app.security.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${app.security.concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${app.security.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${app.security.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${app.security.concurrency-limit.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.smoothing = smoothing;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.estimatedLimit = clamp(initialLimit);
+    }
+    
+    /**
+     * Ejecuta la operación si hay capacidad; si no, lanza ServiceOverloadedException sin esperar
+     */
+    public <T> T execute(Supplier<T> operation) {
+        if (!enabled) {
+            return operation.get();
+        }
+        
+        int inFlightAtStart = tryAcquire();
+        if (inFlightAtStart < 0) {
+            droppedRequests.increment();
+            throw new ServiceOverloadedException("Servicio saturado, reintente en unos segundos", retryAfterSeconds);
+        }
+        acceptedRequests.increment();
+        
+        long startedAt = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            // Las credenciales inválidas también consumen BCrypt: toda petición admitida es una muestra válida
+            onSample(System.nanoTime() - startedAt, inFlightAtStart);
+            inFlight.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Límite de concurrencia vigente
+     */
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+    
+    /**
+     * Métricas del limitador: límite vigente, ocupación, descartes y latencias observadas
+     */
+    public Map<String, Object> getMetrics() {
+        long accepted = acceptedRequests.sum();
+        long dropped = droppedRequests.sum();
+        long total = accepted + dropped;
+        
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("limit", getLimit());
+        metrics.put("inFlight", inFlight.get());
+        metrics.put("acceptedRequests", accepted);
+        metrics.put("droppedRequests", dropped);
+        metrics.put("dropRate", total == 0 ? 0.0 : (double) dropped / total);
+        metrics.put("shortRttMs", shortRttNanos / 1_000_000.0);
+        metrics.put("longRttMs", longRttNanos / 1_000_000.0);
+        return metrics;
+    }
+    
+    /**
+     * Reserva un hueco y devuelve la ocupación resultante, o -1 si se alcanzó el límite
+     */
+    private int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) estimatedLimit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+    
+    /**
+     * Ajusta el límite con una muestra de latencia (Gradient2: referencia lenta frente a latencia reciente)
+     */
+    synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        double sample = Math.max(1, rttNanos);
+        shortRttNanos = sample;
+        
+        double longRtt = longRttNanos == 0 ? sample : longRttNanos * (1 - LONG_RTT_SMOOTHING) + sample * LONG_RTT_SMOOTHING;
+        // Si la referencia queda muy por encima de la latencia actual, la deriva se corrige hacia abajo
+        if (longRtt / sample > 2) {
+            longRtt = longRtt * 0.95;
+        }
+        longRttNanos = longRtt;
+        
+        double limit = estimatedLimit;
+        // Sin demanda suficiente la latencia no dice nada de la capacidad: no se amplía el límite
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        
+        // Gradiente en [0.5, 1]: latencia estable mantiene el límite, latencia creciente lo reduce a la mitad como mucho
+        double gradient = Math.max(0.5, Math.min(1.0, longRtt / sample));
+        double queueSize = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueSize;
+        estimatedLimit = clamp(limit * (1 - smoothing) + newLimit * smoothing);
+    }
+    
+    private double clamp(double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
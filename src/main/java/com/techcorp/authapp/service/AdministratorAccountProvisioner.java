@@ -0,0 +1,66 @@
+package com.techcorp.authapp.service;
+
+import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Aprovisiona al arranque la cuenta de administración, antes de que el servidor acepte peticiones
+ * El rol queda guardado en el SystemUser: registrar ese nombre después no es posible ni concede permisos
+ */
+@Service
+public class AdministratorAccountProvisioner {
+    
+    private static final Logger log = LoggerFactory.getLogger(AdministratorAccountProvisioner.class);
+    
+    private final InMemoryUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final String username;
+    private final String password;
+    private final String emailAddress;
+    
+    public AdministratorAccountProvisioner(
+            InMemoryUserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.security.admin.username:admin}") String username,
+            @Value("${app.security.admin.password:}") String password,
+            @Value("${app.security.admin.email:admin@techcorp.com}") String emailAddress) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.username = username;
+        this.password = password;
+        this.emailAddress = emailAddress;
+    }
+    
+    /**
+     * Crea la cuenta con el rol de administración; sin contraseña configurada genera una y la registra en el log
+     */
+    @PostConstruct
+    public void provisionAdministrator() {
+        if (username.isBlank() || userRepository.existsByUsername(username)) {
+            return;
+        }
+        
+        String rawPassword = password;
+        if (rawPassword.isBlank()) {
+            byte[] randomBytes = new byte[18];
+            new SecureRandom().nextBytes(randomBytes);
+            rawPassword = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+            log.warn("event=admin_password_generated username={} password={}", username, rawPassword);
+        }
+        
+        SystemUser administrator = new SystemUser(UUID.randomUUID().toString(), username,
+            passwordEncoder.encode(rawPassword), emailAddress);
+        administrator.setAdministrator(true);
+        userRepository.saveUser(administrator);
+    }
+}
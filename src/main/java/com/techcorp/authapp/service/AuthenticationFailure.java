@@ -0,0 +1,50 @@
+package com.techcorp.authapp.service;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Fallos esperados del flujo de autenticación, con su mensaje y su código HTTP
+ * El controlador elige el status por el enum en lugar de inspeccionar el texto del mensaje
+ */
+public enum AuthenticationFailure {
+    
+    USER_NOT_FOUND("Usuario no encontrado", HttpStatus.NOT_FOUND, "User Not Found"),
+    INVALID_CREDENTIALS("Credenciales inválidas", HttpStatus.UNAUTHORIZED, "Invalid Credentials"),
+    ACCOUNT_INACTIVE("Account is inactive", HttpStatus.BAD_REQUEST, "Account Inactive"),
+    INVALID_TOKEN("Token inválido", HttpStatus.UNAUTHORIZED, "Invalid Token"),
+    USER_ALREADY_EXISTS("Nombre de usuario ya registrado", HttpStatus.CONFLICT, "User Already Exists");
+    
+    private final String message;
+    private final HttpStatus httpStatus;
+    private final String errorTitle;
+    
+    AuthenticationFailure(String message, HttpStatus httpStatus, String errorTitle) {
+        this.message = message;
+        this.httpStatus = httpStatus;
+        this.errorTitle = errorTitle;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public HttpStatus getHttpStatus() {
+        return httpStatus;
+    }
+    
+    public String getErrorTitle() {
+        return errorTitle;
+    }
+    
+    /**
+     * Excepción (sin traza) equivalente, para los llamantes que esperan el contrato basado en excepciones
+     */
+    public AuthenticationFailureException toException() {
+        return switch (this) {
+            case USER_NOT_FOUND -> new UserNotFoundException(message);
+            case INVALID_CREDENTIALS -> new InvalidCredentialsException(message);
+            case USER_ALREADY_EXISTS -> new UserAlreadyExistsException(message);
+            default -> new AuthenticationFailureException(this, message, null);
+        };
+    }
+}
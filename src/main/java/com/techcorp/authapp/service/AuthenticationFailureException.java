@@ -0,0 +1,18 @@
+package com.techcorp.authapp.service;
+
+/**
+ * Fallo esperado de autenticación; el status HTTP sale de su AuthenticationFailure
+ */
+public class AuthenticationFailureException extends StacklessException {
+    
+    private final AuthenticationFailure failure;
+    
+    public AuthenticationFailureException(AuthenticationFailure failure, String message, Throwable cause) {
+        super(message, cause);
+        this.failure = failure;
+    }
+    
+    public AuthenticationFailure getFailure() {
+        return failure;
+    }
+}
@@ -3,12 +3,20 @@ package com.techcorp.authapp.service;
 import com.techcorp.authapp.dto.LoginRequestDto;
 import com.techcorp.authapp.dto.UserRegistrationDto;
 import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.repository.InMemoryRevokedTokenRepository;
 import com.techcorp.authapp.repository.InMemoryUserRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for handling user authentication operations
@@ -22,16 +30,74 @@ public class AuthenticationService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
     @Autowired
     private TokenGenerationService tokenService;
     
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private InMemoryRevokedTokenRepository revokedTokenRepository;
+    
+    @Autowired
+    private AccessTokenVerifier accessTokenVerifier;
+    
+    @Autowired
+    private VerifiedCredentialCache verifiedCredentialCache;
+    
+    @Autowired
+    private LoginVerificationCoalescer loginVerificationCoalescer;
+    
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+    
+    @Autowired
+    private IdempotencyKeyStore idempotencyKeyStore;
+    
+    @Value("${app.security.login.equalize-unknown-user-cost:true}")
+    private boolean equalizeUnknownUserCost;
+    
+    // Hash señuelo generado con el encoder vigente: verificarlo cuesta lo mismo que un hash real
+    private volatile String unknownUserHash;
+    
+    // Usuarios con un rehash encolado: varios logins seguidos no encolan el mismo trabajo
+    private final Set<String> pendingRehashes = ConcurrentHashMap.newKeySet();
+    
+    @PostConstruct
+    void precomputeUnknownUserHash() {
+        if (equalizeUnknownUserCost) {
+            unknownUserHash();
+        }
+    }
+    
     /**
      * Register a new user in the system
      */
     public SystemUser registerNewUser(UserRegistrationDto registrationDto) {
+        // El registro hashea con BCrypt: pasa por el límite adaptativo de concurrencia
+        return concurrencyLimiter.execute(() -> register(registrationDto));
+    }
+    
+    /**
+     * Registro con Idempotency-Key: un reintento de la misma petición recibe el usuario ya registrado sin hashear
+     */
+    public SystemUser registerNewUser(UserRegistrationDto registrationDto, String idempotencyKey) {
+        // La huella cubre todos los campos: la misma clave con otros datos es rechazada
+        String requestMaterial = registrationDto.getPassword() + '\0' + registrationDto.getEmailAddress();
+        return idempotencyKeyStore.execute("register", idempotencyKey, registrationDto.getUsername(), requestMaterial,
+            () -> registerNewUser(registrationDto));
+    }
+    
+    private SystemUser register(UserRegistrationDto registrationDto) {
         if (userRepository.existsByUsername(registrationDto.getUsername())) {
             // TC002: Mensaje en español para usuario duplicado
-            throw new UserAlreadyExistsException("Nombre de usuario ya registrado");
+            throw AuthenticationFailure.USER_ALREADY_EXISTS.toException();
         }
         
         String userId = UUID.randomUUID().toString();
@@ -49,32 +115,178 @@ public class AuthenticationService {
     
     /**
      * Authenticate user login
+     * Los fallos esperados se lanzan como excepciones sin traza (ver attemptLogin)
      */
     public String authenticateUser(LoginRequestDto loginRequest) {
+        return attemptLogin(loginRequest).orElseThrow();
+    }
+    
+    /**
+     * Intento de login sin excepciones para los fallos esperados (usuario, contraseña, cuenta inactiva)
+     * La limitación de intentos y la sobrecarga siguen señalizándose con sus excepciones
+     */
+    public LoginOutcome attemptLogin(LoginRequestDto loginRequest) {
+        // Los intentos por encima del límite por usuario/cliente se rechazan sin llegar a BCrypt
+        loginAttemptThrottle.checkAttempt(loginRequest.getUsername(), currentClientAddress());
+        
+        // El login verifica con BCrypt: pasa por el límite adaptativo de concurrencia
+        return concurrencyLimiter.execute(() -> authenticate(loginRequest));
+    }
+    
+    private LoginOutcome authenticate(LoginRequestDto loginRequest) {
         // TC006: Verificar si el usuario existe primero
-        SystemUser user = userRepository.findByUsername(loginRequest.getUsername())
-            .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
+        Optional<SystemUser> existingUser = userRepository.findByUsername(loginRequest.getUsername());
+        if (existingUser.isEmpty()) {
+            if (equalizeUnknownUserCost) {
+                // Mismo camino y contabilidad que una verificación real (coalescer y pool de hashing),
+                // para que un usuario inexistente no sea una vía barata de enumeración
+                loginVerificationCoalescer.verify(loginRequest.getUsername(), loginRequest.getPassword(),
+                    () -> passwordEncoder.matches(loginRequest.getPassword(), unknownUserHash()));
+            }
+            return LoginOutcome.failure(AuthenticationFailure.USER_NOT_FOUND);
+        }
+        SystemUser user = existingUser.get();
         
         // TC005: Verificar contraseña después de confirmar que el usuario existe
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getEncodedPassword())) {
-            throw new InvalidCredentialsException("Credenciales inválidas");
+        // Una verificación reciente idéntica evita repetir BCrypt; cualquier otra contraseña pasa por BCrypt,
+        // compartiendo la verificación con intentos idénticos que estén en curso
+        boolean verified = verifiedCredentialCache.matches(user.getUsername(), loginRequest.getPassword(), user.getEncodedPassword())
+            || loginVerificationCoalescer.verify(user.getUsername(), loginRequest.getPassword(),
+                () -> passwordEncoder.matches(loginRequest.getPassword(), user.getEncodedPassword()));
+        if (!verified) {
+            return LoginOutcome.failure(AuthenticationFailure.INVALID_CREDENTIALS);
         }
         
         if (!user.isAccountActive()) {
-            throw new RuntimeException("Account is inactive");
+            return LoginOutcome.failure(AuthenticationFailure.ACCOUNT_INACTIVE);
         }
         
-        String token = tokenService.generateUserToken(user.getUsername());
-        userRepository.storeUserToken(user.getUsername(), token);
+        verifiedCredentialCache.remember(user.getUsername(), loginRequest.getPassword(), user.getEncodedPassword());
         
-        return token;
+        // El access token es de vida corta y queda ligado a la época de revocación del usuario
+        LoginOutcome outcome = LoginOutcome.success(
+            tokenService.generateUserToken(user.getUsername(), userRepository.getTokenEpoch(user.getUsername())));
+        
+        // Hashes con un coste inferior al calibrado se regeneran aprovechando la contraseña en claro,
+        // sin que el login espere ni falle por ello
+        if (passwordEncoder.upgradeEncoding(user.getEncodedPassword())) {
+            scheduleRehash(user, loginRequest.getPassword());
+        }
+        return outcome;
+    }
+    
+    /**
+     * Encola el rehash como trabajo masivo y sin esperarlo; con el pool saturado se conserva el hash actual
+     * y se reintenta en el siguiente login
+     */
+    private void scheduleRehash(SystemUser user, String rawPassword) {
+        if (!pendingRehashes.add(user.getUsername())) {
+            return;
+        }
+        String outdatedHash = user.getEncodedPassword();
+        try {
+            passwordHashingExecutor.submit(HashingPriority.BULK, () -> {
+                try {
+                    String upgradedHash = passwordEncoder.encode(rawPassword);
+                    // Solo si el hash no cambió entretanto y el usuario sigue existiendo
+                    if (outdatedHash.equals(user.getEncodedPassword()) && userRepository.existsByUsername(user.getUsername())) {
+                        user.setEncodedPassword(upgradedHash);
+                        userRepository.updateUser(user);
+                    }
+                    return upgradedHash;
+                } finally {
+                    pendingRehashes.remove(user.getUsername());
+                }
+            });
+        } catch (PasswordHashingRejectedException e) {
+            pendingRehashes.remove(user.getUsername());
+        }
+    }
+    
+    private String unknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            unknownUserHash = hash;
+        }
+        return hash;
+    }
+    
+    /**
+     * Dirección del cliente de la petición HTTP en curso, o null fuera de una petición
+     * Detrás de un proxy de confianza Tomcat ya la ha resuelto desde X-Forwarded-For (RemoteIpValve)
+     */
+    private static String currentClientAddress() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+    
+    /**
+     * Login con Idempotency-Key: un reintento de la misma petición recibe la misma sesión
+     * en lugar de verificar de nuevo la contraseña y abrir otra
+     */
+    public SessionTokens loginUser(LoginRequestDto loginRequest, String idempotencyKey) {
+        return idempotencyKeyStore.execute("login", idempotencyKey, loginRequest.getUsername(), loginRequest.getPassword(),
+            () -> new SessionTokens(
+                loginRequest.getUsername(),
+                authenticateUser(loginRequest),
+                issueRefreshToken(loginRequest.getUsername()),
+                getAccessTokenValiditySeconds()
+            ));
+    }
+    
+    /**
+     * Emite el refresh token de una nueva sesión tras un login exitoso
+     */
+    public String issueRefreshToken(String username) {
+        return refreshTokenService.issueRefreshToken(username);
+    }
+    
+    /**
+     * Renueva la sesión: rota el refresh token y emite un nuevo access token
+     */
+    public SessionTokens refreshSession(String refreshToken) {
+        RotatedRefreshToken rotated = refreshTokenService.rotateRefreshToken(refreshToken);
+        String username = rotated.getUsername();
+        
+        boolean active = userRepository.findByUsername(username)
+            .map(SystemUser::isAccountActive)
+            .orElse(false);
+        if (!active) {
+            refreshTokenService.revokeUserSessions(username);
+            throw new InvalidCredentialsException("Refresh token inválido");
+        }
+        
+        return new SessionTokens(
+            username,
+            tokenService.generateUserToken(username, userRepository.getTokenEpoch(username)),
+            rotated.getRefreshToken(),
+            tokenService.getAccessTokenValiditySeconds()
+        );
+    }
+    
+    /**
+     * Tiempo de vida de los access tokens emitidos, en segundos
+     */
+    public long getAccessTokenValiditySeconds() {
+        return tokenService.getAccessTokenValiditySeconds();
     }
     
     /**
      * Logout user from the system
      */
     public void logoutUser(String username) {
-        userRepository.removeUserToken(username);
+        refreshTokenService.revokeUserSessions(username);
+    }
+    
+    /**
+     * Revoca individualmente un access token hasta su expiración natural
+     */
+    public void revokeAccessToken(String token) {
+        AccessTokenClaims claims = tokenService.verifyAccessToken(token);
+        revokedTokenRepository.revokeTokenId(claims.getTokenId(), claims.getExpiresAtMillis());
     }
     
     /**
@@ -82,23 +294,19 @@ public class AuthenticationService {
      * TC008: Validación de token para logout
      */
     public String validateTokenAndGetUsername(String token) {
+        return resolveTokenUsername(token)
+            .orElseThrow(AuthenticationFailure.INVALID_TOKEN::toException);
+    }
+    
+    /**
+     * Usuario titular de un access token válido y no revocado, o vacío; nunca lanza por un token inválido
+     */
+    public Optional<String> resolveTokenUsername(String token) {
         if (token == null || token.trim().isEmpty()) {
-            throw new RuntimeException("Token inválido");
+            return Optional.empty();
         }
         
-        try {
-            // Validar token usando el servicio de tokens
-            String username = tokenService.validateTokenAndGetUsername(token);
-            
-            // Verificar que el token esté almacenado en el repositorio
-            if (!userRepository.isTokenValid(username, token)) {
-                throw new RuntimeException("Token inválido o expirado");
-            }
-            
-            return username;
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Token inválido");
-        }
+        // Firma y expiración (cacheadas por token), más la comprobación de revocación en vivo
+        return accessTokenVerifier.verify(token).map(AccessTokenClaims::getUsername);
     }
 }
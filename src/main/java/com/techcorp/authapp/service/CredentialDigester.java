@@ -0,0 +1,51 @@
+package com.techcorp.authapp.service;
+
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * Resumen rápido con clave de un par (usuario, contraseña): HMAC-SHA256 con una clave aleatoria por proceso
+ * Permite comparar o indexar credenciales en memoria sin guardar la contraseña ni un hash reutilizable fuera del proceso
+ */
+@Service
+public class CredentialDigester {
+    
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    
+    private final SecretKeySpec processKey;
+    
+    // Mac no es thread-safe: una instancia por hilo
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+    
+    public CredentialDigester() {
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.processKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+    }
+    
+    /**
+     * Calcula el HMAC de la credencial; el usuario forma parte del mensaje
+     */
+    public byte[] digest(String username, CharSequence rawPassword) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        // Separador para que (usuario, contraseña) no sea ambiguo
+        mac.update((byte) 0);
+        return mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(processKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.techcorp.authapp.service;
+
+/**
+ * Clases de prioridad del pool de hashing, de mayor a menor urgencia
+ */
+public enum HashingPriority {
+    
+    /** Verificación de contraseña en un login interactivo */
+    LOGIN,
+    
+    /** Hash de contraseña en un registro interactivo */
+    REGISTRATION,
+    
+    /** Trabajo en segundo plano o masivo (importaciones, migraciones de hash) */
+    BULK
+}
@@ -0,0 +1,11 @@
+package com.techcorp.authapp.service;
+
+/**
+ * Una Idempotency-Key se reutilizó con una petición distinta (HTTP 422)
+ */
+public class IdempotencyKeyReusedException extends StacklessException {
+    
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,148 @@
+package com.techcorp.authapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Resultados recientes por Idempotency-Key, acotados y con expiración
+ * Un reintento con la misma clave y la misma petición recibe el resultado guardado sin volver a hashear;
+ * los duplicados concurrentes esperan a la ejecución en curso. La huella de la petición es un HMAC
+ * (CredentialDigester), de modo que nunca se guarda la contraseña
+ */
+@Service
+public class IdempotencyKeyStore {
+    
+    private static final int MAX_KEY_LENGTH = 255;
+    
+    private final CredentialDigester credentialDigester;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxEntries;
+    
+    private final Map<String, StoredOutcome> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder replayedRequests = new LongAdder();
+    
+    public IdempotencyKeyStore(
+            CredentialDigester credentialDigester,
+            @Value("${app.idempotency.enabled:true}") boolean enabled,
+            @Value("${app.idempotency.ttl-seconds:600}") long ttlSeconds,
+            @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.credentialDigester = credentialDigester;
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * Ejecuta la operación una sola vez por (operación, usuario, clave): repeticiones posteriores reciben el mismo
+     * resultado o el mismo fallo esperado, y las concurrentes esperan al original
+     * Clientes distintos no comparten claves; la huella del material rechaza otra petición del mismo usuario con la misma clave
+     */
+    public <T> T execute(String operation, String idempotencyKey, String username, CharSequence requestMaterial,
+                         Supplier<T> computation) {
+        if (!enabled) {
+            return computation.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key inválida");
+        }
+        
+        // NUL no puede aparecer en una cabecera HTTP: separa las partes sin ambigüedad
+        String key = operation + '\0' + username + '\0' + idempotencyKey;
+        byte[] fingerprint = credentialDigester.digest(username, requestMaterial);
+        StoredOutcome ownOutcome = new StoredOutcome(fingerprint);
+        
+        while (true) {
+            long now = System.currentTimeMillis();
+            StoredOutcome stored = outcomes.get(key);
+            if (stored != null && stored.expiresAtMillis <= now) {
+                outcomes.remove(key, stored);
+                continue;
+            }
+            if (stored != null) {
+                if (!MessageDigest.isEqual(stored.fingerprint, fingerprint)) {
+                    throw new IdempotencyKeyReusedException("Idempotency-Key ya utilizada con otra petición");
+                }
+                replayedRequests.increment();
+                return awaitResult(stored);
+            }
+            
+            if (outcomes.size() >= maxEntries) {
+                outcomes.values().removeIf(outcome -> outcome.expiresAtMillis <= now);
+                if (outcomes.size() >= maxEntries) {
+                    // Almacén lleno: la petición se atiende igual, solo que sin protección frente a reintentos
+                    return computation.get();
+                }
+            }
+            if (outcomes.putIfAbsent(key, ownOutcome) == null) {
+                break;
+            }
+        }
+        
+        try {
+            T result = computation.get();
+            ownOutcome.retain(System.currentTimeMillis() + ttlMillis);
+            ownOutcome.result.complete(result);
+            return result;
+        } catch (AuthenticationFailureException e) {
+            // Fallo definitivo (p. ej. usuario ya registrado): los reintentos reciben la misma respuesta
+            ownOutcome.retain(System.currentTimeMillis() + ttlMillis);
+            ownOutcome.result.completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            // Fallo transitorio (sobrecarga, 429): quien espera recibe el mismo error y un reintento posterior vuelve a ejecutar
+            outcomes.remove(key, ownOutcome);
+            ownOutcome.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Número de peticiones atendidas con un resultado guardado o en curso
+     */
+    public long getReplayedRequests() {
+        return replayedRequests.sum();
+    }
+    
+    /**
+     * Cuenta las claves guardadas (incluidas las que están en curso)
+     */
+    public int countStoredKeys() {
+        return outcomes.size();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T awaitResult(StoredOutcome stored) {
+        try {
+            return (T) stored.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+    
+    private static final class StoredOutcome {
+        private final byte[] fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        // En curso no expira: los duplicados siempre encuentran la ejecución original
+        private volatile long expiresAtMillis = Long.MAX_VALUE;
+        
+        private StoredOutcome(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+        
+        private void retain(long expiresAtMillis) {
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
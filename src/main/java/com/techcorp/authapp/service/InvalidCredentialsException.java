@@ -4,13 +4,13 @@ package com.techcorp.authapp.service;
  * Excepción personalizada para credenciales inválidas
  * TC005: Se lanza cuando la contraseña no coincide con la almacenada
  */
-public class InvalidCredentialsException extends RuntimeException {
+public class InvalidCredentialsException extends AuthenticationFailureException {
     
     public InvalidCredentialsException(String message) {
-        super(message);
+        super(AuthenticationFailure.INVALID_CREDENTIALS, message, null);
     }
     
     public InvalidCredentialsException(String message, Throwable cause) {
-        super(message, cause);
+        super(AuthenticationFailure.INVALID_CREDENTIALS, message, cause);
     }
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.techcorp.authapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita los intentos de login por usuario y por dirección de cliente antes de verificar la contraseña
+ * Cada clave es un token bucket sin bloqueos (GCRA: un único long con el instante teórico de llegada, actualizado por CAS);
+ * un intento rechazado no llega a BCrypt y solo cuesta una búsqueda en el mapa
+ */
+@Service
+public class LoginAttemptThrottle {
+    
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+    
+    private final boolean enabled;
+    private final BucketTable userBuckets;
+    private final BucketTable clientBuckets;
+    
+    private final LongAdder throttledAttempts = new LongAdder();
+    
+    public LoginAttemptThrottle(
+            @Value("${app.security.login-throttle.enabled:true}") boolean enabled,
+            @Value("${app.security.login-throttle.user-burst:10}") int userBurst,
+            @Value("${app.security.login-throttle.user-attempts-per-minute:10}") int userAttemptsPerMinute,
+            @Value("${app.security.login-throttle.client-burst:50}") int clientBurst,
+            @Value("${app.security.login-throttle.client-attempts-per-minute:120}") int clientAttemptsPerMinute,
+            @Value("${app.security.login-throttle.max-entries:100000}") int maxEntries) {
+        this.enabled = enabled;
+        this.userBuckets = new BucketTable(userBurst, userAttemptsPerMinute, maxEntries);
+        this.clientBuckets = new BucketTable(clientBurst, clientAttemptsPerMinute, maxEntries);
+    }
+    
+    /**
+     * Consume un intento del cliente y del usuario; lanza LoginAttemptsExceededException si alguno está agotado
+     * El cliente se comprueba primero para que una misma dirección no pueda llenar la tabla de usuarios
+     */
+    public void checkAttempt(String username, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        
+        long now = System.nanoTime();
+        long waitNanos = clientAddress == null ? 0 : clientBuckets.tryConsume(clientAddress, now);
+        if (waitNanos == 0 && username != null) {
+            waitNanos = userBuckets.tryConsume(username, now);
+        }
+        if (waitNanos > 0) {
+            throttledAttempts.increment();
+            throw new LoginAttemptsExceededException(
+                "Demasiados intentos de inicio de sesión, reintente más tarde",
+                Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+    
+    /**
+     * Métricas del limitador: claves en seguimiento e intentos rechazados
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("trackedUsers", userBuckets.size());
+        metrics.put("trackedClients", clientBuckets.size());
+        metrics.put("throttledAttempts", throttledAttempts.sum());
+        metrics.put("evictedEntries", userBuckets.evictedEntries.sum() + clientBuckets.evictedEntries.sum());
+        return metrics;
+    }
+    
+    /**
+     * Tabla acotada de buckets; una entrada cuyo instante teórico ya pasó equivale a un bucket lleno y se puede purgar
+     * Con la tabla llena de claves activas se desaloja la más inactiva de una muestra: ninguna clave nueva se queda sin límite
+     */
+    private static final class BucketTable {
+        
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final int maxEntries;
+        
+        private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong lastPurgeNanos = new AtomicLong(System.nanoTime());
+        private final LongAdder evictedEntries = new LongAdder();
+        
+        BucketTable(int burst, int attemptsPerMinute, int maxEntries) {
+            this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, attemptsPerMinute);
+            this.burstToleranceNanos = emissionIntervalNanos * Math.max(1, burst);
+            this.maxEntries = maxEntries;
+        }
+        
+        /**
+         * Consume un token; devuelve 0 si se admite o los nanosegundos hasta que haya uno disponible
+         */
+        long tryConsume(String key, long now) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null) {
+                if (buckets.size() >= maxEntries && !purgeFullBuckets(now)) {
+                    evictIdlest();
+                }
+                bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            
+            while (true) {
+                long theoreticalArrival = bucket.get();
+                long next = Math.max(theoreticalArrival, now) + emissionIntervalNanos;
+                long excess = next - now - burstToleranceNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (bucket.compareAndSet(theoreticalArrival, next)) {
+                    return 0;
+                }
+            }
+        }
+        
+        /**
+         * Elimina los buckets ya rellenados (como mucho una vez por segundo); indica si queda hueco
+         */
+        private boolean purgeFullBuckets(long now) {
+            long lastPurge = lastPurgeNanos.get();
+            if (now - lastPurge >= PURGE_INTERVAL_NANOS && lastPurgeNanos.compareAndSet(lastPurge, now)) {
+                buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+            }
+            return buckets.size() < maxEntries;
+        }
+        
+        /**
+         * Desaloja, de las primeras EVICTION_SAMPLE_SIZE entradas, la de instante teórico más antiguo
+         * (la que menos intentos recientes acumula, y por tanto pierde menos estado)
+         */
+        private void evictIdlest() {
+            Map.Entry<String, AtomicLong> idlest = null;
+            int sampled = 0;
+            for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+                if (idlest == null || entry.getValue().get() - idlest.getValue().get() < 0) {
+                    idlest = entry;
+                }
+                if (++sampled == EVICTION_SAMPLE_SIZE) {
+                    break;
+                }
+            }
+            if (idlest != null && buckets.remove(idlest.getKey(), idlest.getValue())) {
+                evictedEntries.increment();
+            }
+        }
+        
+        int size() {
+            return buckets.size();
+        }
+    }
+}
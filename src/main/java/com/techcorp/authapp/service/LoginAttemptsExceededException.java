@@ -0,0 +1,18 @@
+package com.techcorp.authapp.service;
+
+/**
+ * Un usuario o cliente agotó sus intentos de login (HTTP 429 + Retry-After)
+ */
+public class LoginAttemptsExceededException extends StacklessException {
+    
+    private final long retryAfterSeconds;
+    
+    public LoginAttemptsExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,57 @@
+package com.techcorp.authapp.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Resultado de un intento de login: access token emitido o fallo esperado, sin excepciones
+ * Los resultados fallidos son instancias compartidas, de modo que un login rechazado no asigna memoria
+ */
+public final class LoginOutcome {
+    
+    private static final Map<AuthenticationFailure, LoginOutcome> FAILURES = new EnumMap<>(AuthenticationFailure.class);
+    
+    static {
+        for (AuthenticationFailure failure : AuthenticationFailure.values()) {
+            FAILURES.put(failure, new LoginOutcome(null, failure));
+        }
+    }
+    
+    private final String accessToken;
+    private final AuthenticationFailure failure;
+    
+    private LoginOutcome(String accessToken, AuthenticationFailure failure) {
+        this.accessToken = accessToken;
+        this.failure = failure;
+    }
+    
+    public static LoginOutcome success(String accessToken) {
+        return new LoginOutcome(accessToken, null);
+    }
+    
+    public static LoginOutcome failure(AuthenticationFailure failure) {
+        return FAILURES.get(failure);
+    }
+    
+    public boolean isSuccess() {
+        return failure == null;
+    }
+    
+    public String getAccessToken() {
+        return accessToken;
+    }
+    
+    public AuthenticationFailure getFailure() {
+        return failure;
+    }
+    
+    /**
+     * Access token emitido, o la excepción equivalente al fallo
+     */
+    public String orElseThrow() {
+        if (failure != null) {
+            throw failure.toException();
+        }
+        return accessToken;
+    }
+}
@@ -0,0 +1,73 @@
+package com.techcorp.authapp.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Deduplica verificaciones de contraseña idénticas que están en curso al mismo tiempo
+ * Los intentos concurrentes con el mismo (usuario, resumen de contraseña) comparten una sola
+ * verificación BCrypt; cada petición sigue emitiendo su propio token
+ */
+@Service
+public class LoginVerificationCoalescer {
+    
+    private final CredentialDigester credentialDigester;
+    
+    private final Map<String, CompletableFuture<Boolean>> inFlightVerifications = new ConcurrentHashMap<>();
+    private final LongAdder coalescedVerifications = new LongAdder();
+    
+    public LoginVerificationCoalescer(CredentialDigester credentialDigester) {
+        this.credentialDigester = credentialDigester;
+    }
+    
+    /**
+     * Ejecuta la verificación o se une a una idéntica que ya está en curso
+     */
+    public boolean verify(String username, CharSequence rawPassword, BooleanSupplier verification) {
+        String key = username + ':' + Base64.getEncoder().encodeToString(credentialDigester.digest(username, rawPassword));
+        
+        CompletableFuture<Boolean> ownVerification = new CompletableFuture<>();
+        CompletableFuture<Boolean> inFlight = inFlightVerifications.putIfAbsent(key, ownVerification);
+        if (inFlight != null) {
+            coalescedVerifications.increment();
+            return awaitResult(inFlight);
+        }
+        
+        try {
+            boolean verified = verification.getAsBoolean();
+            ownVerification.complete(verified);
+            return verified;
+        } catch (RuntimeException | Error e) {
+            ownVerification.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightVerifications.remove(key, ownVerification);
+        }
+    }
+    
+    /**
+     * Número de intentos que reutilizaron una verificación en curso
+     */
+    public long getCoalescedVerifications() {
+        return coalescedVerifications.sum();
+    }
+    
+    private static boolean awaitResult(CompletableFuture<Boolean> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            // Los intentos unidos reciben el mismo error que el original (p. ej. 503 por pool saturado)
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.techcorp.authapp.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Calibra al arranque el coste de BCrypt según el hardware donde corre el servicio
+ * Elige el coste más alto cuyo hash no supera el presupuesto de latencia configurado,
+ * sin bajar nunca del coste mínimo
+ */
+@Service
+public class PasswordHashingCalibrator {
+    
+    private static final String SAMPLE_PASSWORD = "calibration-Sample-Passw0rd";
+    
+    private final boolean calibrationEnabled;
+    private final int configuredStrength;
+    private final long targetHashMillis;
+    private final int minStrength;
+    private final int maxStrength;
+    
+    private final Map<Integer, Long> measuredMillisByStrength = new LinkedHashMap<>();
+    private volatile int strength;
+    private volatile long calibrationMillis;
+    
+    public PasswordHashingCalibrator(
+            @Value("${app.security.bcrypt.calibration-enabled:true}") boolean calibrationEnabled,
+            @Value("${app.security.bcrypt.strength:12}") int configuredStrength,
+            @Value("${app.security.bcrypt.target-hash-millis:250}") long targetHashMillis,
+            @Value("${app.security.bcrypt.min-strength:10}") int minStrength,
+            @Value("${app.security.bcrypt.max-strength:16}") int maxStrength) {
+        this.calibrationEnabled = calibrationEnabled;
+        this.configuredStrength = configuredStrength;
+        this.targetHashMillis = targetHashMillis;
+        this.minStrength = minStrength;
+        this.maxStrength = maxStrength;
+        this.strength = configuredStrength;
+    }
+    
+    /**
+     * Mide el coste de BCrypt subiendo un nivel cada vez; cada nivel duplica el tiempo,
+     * así que se deja de medir en cuanto el siguiente nivel superaría el presupuesto
+     */
+    @PostConstruct
+    public synchronized void calibrate() {
+        if (!calibrationEnabled) {
+            strength = configuredStrength;
+            return;
+        }
+        
+        long startedAt = System.nanoTime();
+        measuredMillisByStrength.clear();
+        
+        // Calentamiento barato para no medir código aún sin compilar por el JIT
+        BCryptPasswordEncoder warmupEncoder = new BCryptPasswordEncoder(4);
+        for (int i = 0; i < 3; i++) {
+            warmupEncoder.encode(SAMPLE_PASSWORD);
+        }
+        
+        int chosenStrength = minStrength;
+        for (int cost = minStrength; cost <= maxStrength; cost++) {
+            long millis = measureHashMillis(cost);
+            measuredMillisByStrength.put(cost, millis);
+            if (millis > targetHashMillis) {
+                break;
+            }
+            chosenStrength = cost;
+            if (millis * 2 > targetHashMillis) {
+                break;
+            }
+        }
+        
+        strength = chosenStrength;
+        calibrationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+    }
+    
+    /**
+     * Coste de BCrypt elegido (o el configurado si la calibración está deshabilitada)
+     */
+    public int getStrength() {
+        return strength;
+    }
+    
+    /**
+     * Resultado de la calibración para /api/system/info
+     */
+    public synchronized Map<String, Object> getCalibrationReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("algorithm", "bcrypt");
+        report.put("strength", strength);
+        report.put("calibrated", calibrationEnabled);
+        report.put("targetHashMillis", targetHashMillis);
+        report.put("measuredMillisByStrength", Collections.unmodifiableMap(new LinkedHashMap<>(measuredMillisByStrength)));
+        report.put("calibrationMillis", calibrationMillis);
+        return report;
+    }
+    
+    private static long measureHashMillis(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long startedAt = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+}
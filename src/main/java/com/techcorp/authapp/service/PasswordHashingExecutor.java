@@ -0,0 +1,418 @@
+package com.techcorp.authapp.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pool dedicado y acotado para el hashing de contraseñas (BCrypt)
+ * Limita el trabajo de CPU a tantos hilos como núcleos y rechaza de inmediato cuando la cola está llena,
+ * de modo que una ráfaga de logins no acapara los hilos de Tomcat ni bloquea endpoints baratos
+ * La cola se reparte por prioridad (login, registro, masivo) con pesos y protección contra inanición;
+ * una parte de la capacidad queda reservada para los logins
+ */
+@Service
+public class PasswordHashingExecutor {
+    
+    private static final int DEFAULT_LOGIN_WEIGHT = 8;
+    private static final int DEFAULT_REGISTRATION_WEIGHT = 2;
+    private static final int DEFAULT_BULK_WEIGHT = 1;
+    private static final long DEFAULT_STARVATION_THRESHOLD_MS = 500;
+    private static final int DEFAULT_STARVATION_PROMOTION_INTERVAL = 4;
+    
+    private static final ThreadLocal<HashingPriority> SCOPED_PRIORITY = new ThreadLocal<>();
+    // Marca los hilos del pool mientras ejecutan una tarea: el hashing anidado no vuelve a encolarse
+    private static final ThreadLocal<Boolean> RUNNING_TASK = new ThreadLocal<>();
+    
+    private final ThreadPoolExecutor executor;
+    private final Semaphore capacity;
+    // Plazas que registro y masivo pueden ocupar: el resto queda reservado para los logins
+    private final Semaphore sharedCapacity;
+    private final int threads;
+    private final int queueCapacity;
+    private final int loginReservedCapacity;
+    private final long retryAfterSeconds;
+    private final long starvationThresholdNanos;
+    private final int starvationPromotionInterval;
+    
+    // Colas por prioridad y crédito del round-robin ponderado; protegidas por el monitor de pendingTasks
+    private final EnumMap<HashingPriority, ArrayDeque<PrioritizedTask<?>>> pendingTasks = new EnumMap<>(HashingPriority.class);
+    private final EnumMap<HashingPriority, Integer> weights = new EnumMap<>(HashingPriority.class);
+    private final EnumMap<HashingPriority, Integer> credits = new EnumMap<>(HashingPriority.class);
+    private final EnumMap<HashingPriority, PriorityStats> priorityStats = new EnumMap<>(HashingPriority.class);
+    private long dispatches;
+    private long lastPromotionDispatch;
+    
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder rejectedTasks = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final LongAdder totalExecutionNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    
+    @Autowired
+    public PasswordHashingExecutor(
+            @Value("${app.security.hashing.threads:0}") int threads,
+            @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.hashing.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${app.security.hashing.weights.login:" + DEFAULT_LOGIN_WEIGHT + "}") int loginWeight,
+            @Value("${app.security.hashing.weights.registration:" + DEFAULT_REGISTRATION_WEIGHT + "}") int registrationWeight,
+            @Value("${app.security.hashing.weights.bulk:" + DEFAULT_BULK_WEIGHT + "}") int bulkWeight,
+            @Value("${app.security.hashing.starvation-threshold-ms:" + DEFAULT_STARVATION_THRESHOLD_MS + "}") long starvationThresholdMs,
+            @Value("${app.security.hashing.starvation-promotion-interval:" + DEFAULT_STARVATION_PROMOTION_INTERVAL + "}") int starvationPromotionInterval,
+            @Value("${app.security.hashing.login-reserved-capacity:16}") int loginReservedCapacity) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.starvationThresholdNanos = TimeUnit.MILLISECONDS.toNanos(starvationThresholdMs);
+        this.starvationPromotionInterval = Math.max(1, starvationPromotionInterval);
+        this.lastPromotionDispatch = -this.starvationPromotionInterval;
+        int totalCapacity = this.threads + queueCapacity;
+        this.loginReservedCapacity = Math.min(Math.max(0, loginReservedCapacity), totalCapacity - 1);
+        this.capacity = new Semaphore(totalCapacity);
+        this.sharedCapacity = new Semaphore(totalCapacity - this.loginReservedCapacity);
+        // La cola del executor solo guarda despachos sin identidad: el orden real lo decide nextTask()
+        this.executor = new ThreadPoolExecutor(
+            this.threads,
+            this.threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new HashingThreadFactory()
+        );
+        weights.put(HashingPriority.LOGIN, Math.max(1, loginWeight));
+        weights.put(HashingPriority.REGISTRATION, Math.max(1, registrationWeight));
+        weights.put(HashingPriority.BULK, Math.max(1, bulkWeight));
+        for (HashingPriority priority : HashingPriority.values()) {
+            pendingTasks.put(priority, new ArrayDeque<>());
+            credits.put(priority, 0);
+            priorityStats.put(priority, new PriorityStats());
+        }
+    }
+    
+    public PasswordHashingExecutor(int threads, int queueCapacity, long retryAfterSeconds) {
+        this(threads, queueCapacity, retryAfterSeconds,
+            DEFAULT_LOGIN_WEIGHT, DEFAULT_REGISTRATION_WEIGHT, DEFAULT_BULK_WEIGHT, DEFAULT_STARVATION_THRESHOLD_MS,
+            DEFAULT_STARVATION_PROMOTION_INTERVAL, queueCapacity / 4);
+    }
+    
+    /**
+     * Ejecuta una tarea de hashing con prioridad de login interactivo
+     */
+    public <T> T execute(Callable<T> hashingTask) {
+        return execute(HashingPriority.LOGIN, hashingTask);
+    }
+    
+    /**
+     * Ejecuta una tarea de hashing en el pool y espera su resultado
+     * La prioridad fijada con withPriority en el hilo llamante prevalece sobre la indicada
+     * Lanza PasswordHashingRejectedException si el pool y su cola están llenos;
+     * registro y masivo se rechazan antes, al agotar la parte no reservada para los logins
+     */
+    public <T> T execute(HashingPriority priority, Callable<T> hashingTask) {
+        if (RUNNING_TASK.get() != null) {
+            // Ya ocupa una plaza del pool: esperar a otra desde aquí podría bloquear todos los hilos
+            try {
+                return hashingTask.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Error en el hashing de contraseña", e);
+            }
+        }
+        
+        PrioritizedTask<T> task = enqueue(priority, hashingTask);
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hashing de contraseña interrumpido", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Error en el hashing de contraseña", cause);
+        }
+    }
+    
+    /**
+     * Encola una tarea de hashing sin esperar su resultado; el hashing que haga la tarea corre en el mismo hilo
+     * Lanza PasswordHashingRejectedException, igual que execute, si la prioridad no tiene plaza libre
+     */
+    public <T> Future<T> submit(HashingPriority priority, Callable<T> hashingTask) {
+        return enqueue(priority, hashingTask);
+    }
+    
+    /**
+     * Ejecuta el trabajo con todas sus operaciones de hashing en la clase de prioridad indicada
+     * Pensado para trabajos masivos que usan el PasswordEncoder: withPriority(BULK, () -> importar(...))
+     */
+    public <T> T withPriority(HashingPriority priority, Supplier<T> work) {
+        HashingPriority previous = SCOPED_PRIORITY.get();
+        SCOPED_PRIORITY.set(priority);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                SCOPED_PRIORITY.remove();
+            } else {
+                SCOPED_PRIORITY.set(previous);
+            }
+        }
+    }
+    
+    /**
+     * Métricas del pool: ocupación, rechazos, espera en cola y tiempo de ejecución, también por prioridad
+     */
+    public Map<String, Object> getMetrics() {
+        long completed = completedTasks.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("threads", threads);
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("loginReservedCapacity", loginReservedCapacity);
+        metrics.put("activeTasks", executor.getActiveCount());
+        metrics.put("queuedTasks", queuedTasks());
+        metrics.put("completedTasks", completed);
+        metrics.put("rejectedTasks", rejectedTasks.sum());
+        metrics.put("avgQueueWaitMs", averageMillis(totalQueueWaitNanos.sum(), completed));
+        metrics.put("maxQueueWaitMs", maxQueueWaitNanos.get() / 1_000_000.0);
+        metrics.put("avgExecutionMs", averageMillis(totalExecutionNanos.sum(), completed));
+        
+        Map<String, Object> priorities = new LinkedHashMap<>();
+        for (HashingPriority priority : HashingPriority.values()) {
+            priorities.put(priority.name().toLowerCase(Locale.ROOT), priorityMetrics(priority));
+        }
+        metrics.put("priorities", priorities);
+        return metrics;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    /**
+     * Despacho genérico: cada tarea encolada tiene exactamente un despacho, que ejecuta la siguiente elegida
+     */
+    private void runNextTask() {
+        PrioritizedTask<?> task = nextTask();
+        try {
+            if (task != null) {
+                task.run();
+            }
+        } finally {
+            // Cada despacho libera la plaza de la tarea que ejecuta, no necesariamente la de quien lo encoló
+            releaseCapacity(task != null ? task.priority : HashingPriority.LOGIN);
+        }
+    }
+    
+    private <T> PrioritizedTask<T> enqueue(HashingPriority priority, Callable<T> hashingTask) {
+        HashingPriority scopedPriority = SCOPED_PRIORITY.get();
+        HashingPriority effectivePriority = scopedPriority != null ? scopedPriority : priority;
+        
+        if (!acquireCapacity(effectivePriority)) {
+            rejectedTasks.increment();
+            priorityStats.get(effectivePriority).rejectedTasks.increment();
+            throw new PasswordHashingRejectedException(
+                "Servicio saturado, reintente en unos segundos", retryAfterSeconds);
+        }
+        
+        PrioritizedTask<T> task = new PrioritizedTask<>(effectivePriority, hashingTask, System.nanoTime());
+        synchronized (pendingTasks) {
+            pendingTasks.get(effectivePriority).addLast(task);
+        }
+        executor.execute(this::runNextTask);
+        return task;
+    }
+    
+    private boolean acquireCapacity(HashingPriority priority) {
+        if (priority == HashingPriority.LOGIN) {
+            return capacity.tryAcquire();
+        }
+        if (!sharedCapacity.tryAcquire()) {
+            return false;
+        }
+        if (!capacity.tryAcquire()) {
+            sharedCapacity.release();
+            return false;
+        }
+        return true;
+    }
+    
+    private void releaseCapacity(HashingPriority priority) {
+        if (priority != HashingPriority.LOGIN) {
+            sharedCapacity.release();
+        }
+        capacity.release();
+    }
+    
+    /**
+     * Elige la siguiente tarea: como mucho una vez cada starvationPromotionInterval despachos,
+     * la más antigua de registro o masivo que supere el umbral de inanición; si no, round-robin
+     * ponderado suave entre las prioridades con trabajo pendiente. Los logins nunca esperan a toda una cola antigua
+     */
+    private PrioritizedTask<?> nextTask() {
+        synchronized (pendingTasks) {
+            long dispatch = ++dispatches;
+            if (dispatch - lastPromotionDispatch >= starvationPromotionInterval) {
+                HashingPriority starving = oldestStarvingLowerPriority(System.nanoTime());
+                if (starving != null) {
+                    lastPromotionDispatch = dispatch;
+                    priorityStats.get(starving).starvationPromotions.increment();
+                    return pollFrom(starving);
+                }
+            }
+            
+            HashingPriority selected = null;
+            int totalWeight = 0;
+            for (HashingPriority priority : HashingPriority.values()) {
+                if (pendingTasks.get(priority).isEmpty()) {
+                    continue;
+                }
+                int weight = weights.get(priority);
+                credits.merge(priority, weight, Integer::sum);
+                totalWeight += weight;
+                if (selected == null || credits.get(priority) > credits.get(selected)) {
+                    selected = priority;
+                }
+            }
+            if (selected == null) {
+                return null;
+            }
+            credits.merge(selected, -totalWeight, Integer::sum);
+            return pollFrom(selected);
+        }
+    }
+    
+    private HashingPriority oldestStarvingLowerPriority(long now) {
+        HashingPriority starving = null;
+        long oldestEnqueuedAt = 0;
+        for (HashingPriority priority : HashingPriority.values()) {
+            if (priority == HashingPriority.LOGIN) {
+                continue;
+            }
+            PrioritizedTask<?> head = pendingTasks.get(priority).peekFirst();
+            if (head != null && now - head.enqueuedAt >= starvationThresholdNanos
+                    && (starving == null || head.enqueuedAt < oldestEnqueuedAt)) {
+                starving = priority;
+                oldestEnqueuedAt = head.enqueuedAt;
+            }
+        }
+        return starving;
+    }
+    
+    private PrioritizedTask<?> pollFrom(HashingPriority priority) {
+        ArrayDeque<PrioritizedTask<?>> queue = pendingTasks.get(priority);
+        PrioritizedTask<?> task = queue.pollFirst();
+        if (queue.isEmpty()) {
+            // Una prioridad sin trabajo no acumula crédito para la siguiente ráfaga
+            credits.put(priority, 0);
+        }
+        return task;
+    }
+    
+    private int queuedTasks() {
+        synchronized (pendingTasks) {
+            return pendingTasks.values().stream().mapToInt(ArrayDeque::size).sum();
+        }
+    }
+    
+    private Map<String, Object> priorityMetrics(HashingPriority priority) {
+        PriorityStats stats = priorityStats.get(priority);
+        long completed = stats.completedTasks.sum();
+        int queued;
+        synchronized (pendingTasks) {
+            queued = pendingTasks.get(priority).size();
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("weight", weights.get(priority));
+        metrics.put("queuedTasks", queued);
+        metrics.put("completedTasks", completed);
+        metrics.put("rejectedTasks", stats.rejectedTasks.sum());
+        metrics.put("starvationPromotions", stats.starvationPromotions.sum());
+        metrics.put("avgQueueWaitMs", averageMillis(stats.totalQueueWaitNanos.sum(), completed));
+        metrics.put("maxQueueWaitMs", stats.maxQueueWaitNanos.get() / 1_000_000.0);
+        return metrics;
+    }
+    
+    private void recordQueueWait(HashingPriority priority, long queueWaitNanos) {
+        totalQueueWaitNanos.add(queueWaitNanos);
+        maxQueueWaitNanos.accumulateAndGet(queueWaitNanos, Math::max);
+        PriorityStats stats = priorityStats.get(priority);
+        stats.totalQueueWaitNanos.add(queueWaitNanos);
+        stats.maxQueueWaitNanos.accumulateAndGet(queueWaitNanos, Math::max);
+    }
+    
+    private static double averageMillis(long totalNanos, long count) {
+        return count == 0 ? 0.0 : totalNanos / (count * 1_000_000.0);
+    }
+    
+    /**
+     * Tarea encolada con su prioridad y el instante de encolado
+     */
+    private final class PrioritizedTask<T> extends FutureTask<T> {
+        private final HashingPriority priority;
+        private final long enqueuedAt;
+        
+        PrioritizedTask(HashingPriority priority, Callable<T> hashingTask, long enqueuedAt) {
+            super(() -> {
+                long startedAt = System.nanoTime();
+                recordQueueWait(priority, startedAt - enqueuedAt);
+                RUNNING_TASK.set(Boolean.TRUE);
+                try {
+                    return hashingTask.call();
+                } finally {
+                    RUNNING_TASK.remove();
+                    totalExecutionNanos.add(System.nanoTime() - startedAt);
+                    completedTasks.increment();
+                    priorityStats.get(priority).completedTasks.increment();
+                }
+            });
+            this.priority = priority;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+    
+    private static final class PriorityStats {
+        private final LongAdder completedTasks = new LongAdder();
+        private final LongAdder rejectedTasks = new LongAdder();
+        private final LongAdder starvationPromotions = new LongAdder();
+        private final LongAdder totalQueueWaitNanos = new LongAdder();
+        private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    }
+    
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.techcorp.authapp.service;
+
+/**
+ * Excepción lanzada cuando el pool de hashing de contraseñas está saturado
+ * El cliente debe reintentar pasados los segundos indicados (HTTP 503 + Retry-After)
+ */
+public class PasswordHashingRejectedException extends ServiceOverloadedException {
+    
+    public PasswordHashingRejectedException(String message, long retryAfterSeconds) {
+        super(message, retryAfterSeconds);
+    }
+}
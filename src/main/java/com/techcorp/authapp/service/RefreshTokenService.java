@@ -0,0 +1,117 @@
+package com.techcorp.authapp.service;
+
+import com.techcorp.authapp.model.RefreshTokenFamily;
+import com.techcorp.authapp.repository.InMemoryRefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio para emisión y rotación de refresh tokens opacos
+ * Formato del token: {familyId}.{secreto}; solo se almacena el hash SHA-256 del secreto vigente
+ */
+@Service
+public class RefreshTokenService {
+    
+    private static final String INVALID_REFRESH_TOKEN = "Refresh token inválido";
+    private static final int FAMILY_ID_BYTES = 16;
+    private static final int SECRET_BYTES = 32;
+    private static final long PURGE_INTERVAL = 1024;
+    
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final AtomicLong issuedFamilies = new AtomicLong();
+    
+    @Autowired
+    private InMemoryRefreshTokenRepository refreshTokenRepository;
+    
+    @Value("${app.jwt.refresh-token-validity:1209600}")
+    private long refreshTokenValiditySeconds = 1209600; // 14 days
+    
+    /**
+     * Emite un refresh token que abre una nueva familia (sesión) para el usuario
+     */
+    public String issueRefreshToken(String username) {
+        long now = System.currentTimeMillis();
+        String familyId = randomToken(FAMILY_ID_BYTES);
+        String secret = randomToken(SECRET_BYTES);
+        
+        refreshTokenRepository.saveFamily(familyId,
+            new RefreshTokenFamily(username, hash(secret), now + refreshTokenValiditySeconds * 1000));
+        
+        // Limpieza oportunista de sesiones expiradas sin necesidad de un scheduler
+        if (issuedFamilies.incrementAndGet() % PURGE_INTERVAL == 0) {
+            refreshTokenRepository.purgeExpired(now);
+        }
+        
+        return familyId + "." + secret;
+    }
+    
+    /**
+     * Valida y rota un refresh token. Si se presenta un token ya rotado de la familia
+     * (reuso) se revoca la familia completa
+     */
+    public RotatedRefreshToken rotateRefreshToken(String refreshToken) {
+        int separator = refreshToken == null ? -1 : refreshToken.indexOf('.');
+        if (separator <= 0 || separator == refreshToken.length() - 1) {
+            throw new InvalidCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        
+        String familyId = refreshToken.substring(0, separator);
+        String secret = refreshToken.substring(separator + 1);
+        long now = System.currentTimeMillis();
+        
+        RefreshTokenFamily family = refreshTokenRepository.findFamily(familyId)
+            .orElseThrow(() -> new InvalidCredentialsException(INVALID_REFRESH_TOKEN));
+        
+        if (family.isExpired(now)) {
+            refreshTokenRepository.deleteFamily(familyId);
+            throw new InvalidCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        
+        if (!MessageDigest.isEqual(family.getCurrentSecretHash(), hash(secret))) {
+            // Reuso detectado: el token ya fue rotado, se revoca toda la sesión
+            refreshTokenRepository.deleteFamily(familyId);
+            throw new InvalidCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        
+        String newSecret = randomToken(SECRET_BYTES);
+        RefreshTokenFamily rotated = family.rotate(hash(newSecret), now + refreshTokenValiditySeconds * 1000);
+        
+        if (!refreshTokenRepository.replaceFamily(familyId, family, rotated)) {
+            // Otra petición rotó el mismo token en paralelo: se trata como reuso
+            refreshTokenRepository.deleteFamily(familyId);
+            throw new InvalidCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        
+        return new RotatedRefreshToken(family.getUsername(), familyId + "." + newSecret);
+    }
+    
+    /**
+     * Revoca todas las sesiones (familias de refresh tokens) de un usuario
+     */
+    public void revokeUserSessions(String username) {
+        refreshTokenRepository.deleteFamiliesByUsername(username);
+    }
+    
+    private String randomToken(int numBytes) {
+        byte[] bytes = new byte[numBytes];
+        secureRandom.nextBytes(bytes);
+        return encoder.encodeToString(bytes);
+    }
+    
+    private byte[] hash(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.techcorp.authapp.service;
+
+/**
+ * Resultado de rotar un refresh token: usuario de la sesión y nuevo token vigente
+ */
+public final class RotatedRefreshToken {
+    
+    private final String username;
+    private final String refreshToken;
+    
+    public RotatedRefreshToken(String username, String refreshToken) {
+        this.username = username;
+        this.refreshToken = refreshToken;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+}
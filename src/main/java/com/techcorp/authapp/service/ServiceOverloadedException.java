@@ -0,0 +1,18 @@
+package com.techcorp.authapp.service;
+
+/**
+ * El servicio descarta trabajo por sobrecarga; el cliente reintenta pasados los segundos indicados (HTTP 503 + Retry-After)
+ */
+public class ServiceOverloadedException extends StacklessException {
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
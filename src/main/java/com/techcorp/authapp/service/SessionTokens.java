@@ -0,0 +1,35 @@
+package com.techcorp.authapp.service;
+
+/**
+ * Par de tokens de una sesión: access token de vida corta y refresh token rotativo
+ */
+public final class SessionTokens {
+    
+    private final String username;
+    private final String accessToken;
+    private final String refreshToken;
+    private final long expiresInSeconds;
+    
+    public SessionTokens(String username, String accessToken, String refreshToken, long expiresInSeconds) {
+        this.username = username;
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresInSeconds = expiresInSeconds;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public String getAccessToken() {
+        return accessToken;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public long getExpiresInSeconds() {
+        return expiresInSeconds;
+    }
+}
@@ -0,0 +1,17 @@
+package com.techcorp.authapp.service;
+
+/**
+ * Base de las excepciones que señalizan rechazos esperados: sobrecarga, límites de intentos y fallos de autenticación
+ * No captura la traza ni admite supresiones, porque estos rechazos se lanzan en masa bajo sobrecarga o credential stuffing
+ * y deben costar lo mínimo; el tipo y el mensaje bastan para construir la respuesta HTTP
+ */
+public abstract class StacklessException extends RuntimeException {
+    
+    protected StacklessException(String message) {
+        this(message, null);
+    }
+    
+    protected StacklessException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
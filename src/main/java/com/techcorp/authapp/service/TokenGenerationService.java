@@ -1,12 +1,28 @@
 package com.techcorp.authapp.service;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service for JWT token generation and validation
@@ -14,21 +30,123 @@ import java.util.Date;
 @Service
 public class TokenGenerationService {
     
-    private final SecretKey secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    private final long tokenValidityTime = 3600000; // 1 hour
+    // Claim con la época de revocación del usuario al momento de emitir el token
+    static final String REVOCATION_EPOCH_CLAIM = "epc";
+    
+    @Value("${app.jwt.access-token-validity:900}")
+    private long accessTokenValiditySeconds = 900; // 15 minutes
+    
+    @Value("${app.jwt.signing-algorithm:HS256}")
+    private String configuredSigningAlgorithm = "HS256";
+    
+    private SignatureAlgorithm signingAlgorithm;
+    private Key signingKey;
+    private String keyId;
+    // JWK público (solo para algoritmos asimétricos); null con HS256
+    private Map<String, Object> publicJwk;
+    
+    // JwtParser es inmutable y thread-safe: se construye una sola vez por clave
+    private JwtParser jwtParser;
+    
+    public TokenGenerationService() {
+        this(SignatureAlgorithm.HS256);
+    }
+    
+    public TokenGenerationService(SignatureAlgorithm signingAlgorithm) {
+        configureSigningKeys(signingAlgorithm);
+    }
+    
+    /**
+     * Aplica el algoritmo de firma configurado en app.jwt.signing-algorithm
+     */
+    @PostConstruct
+    void applyConfiguredSigningAlgorithm() {
+        SignatureAlgorithm configured = SignatureAlgorithm.forName(configuredSigningAlgorithm.trim());
+        if (configured != signingAlgorithm) {
+            configureSigningKeys(configured);
+        }
+    }
+    
+    private void configureSigningKeys(SignatureAlgorithm algorithm) {
+        if (algorithm == SignatureAlgorithm.HS256) {
+            signingKey = Keys.secretKeyFor(algorithm);
+            jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+            keyId = null;
+            publicJwk = null;
+        } else if (algorithm == SignatureAlgorithm.ES256) {
+            KeyPair keyPair = Keys.keyPairFor(algorithm);
+            signingKey = keyPair.getPrivate();
+            jwtParser = Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build();
+            publicJwk = buildEcPublicJwk((ECPublicKey) keyPair.getPublic());
+            publicJwk.put("kid", keyId);
+        } else {
+            throw new IllegalStateException("Algoritmo de firma no soportado: " + algorithm.getValue());
+        }
+        signingAlgorithm = algorithm;
+    }
+    
+    /**
+     * Construye el JWK de una clave pública P-256; el kid es su thumbprint RFC 7638
+     */
+    private Map<String, Object> buildEcPublicJwk(ECPublicKey publicKey) {
+        String x = base64Url(toUnsignedBytes(publicKey.getW().getAffineX(), 32));
+        String y = base64Url(toUnsignedBytes(publicKey.getW().getAffineY(), 32));
+        // Miembros requeridos en orden lexicográfico, sin espacios (RFC 7638)
+        String canonicalJwk = "{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\"" + x + "\",\"y\":\"" + y + "\"}";
+        keyId = base64Url(sha256(canonicalJwk.getBytes(StandardCharsets.UTF_8)));
+        
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("x", x);
+        jwk.put("y", y);
+        jwk.put("use", "sig");
+        jwk.put("alg", SignatureAlgorithm.ES256.getValue());
+        return jwk;
+    }
+    
+    private static byte[] toUnsignedBytes(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        byte[] result = new byte[length];
+        int copied = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copied, result, length - copied, copied);
+        return result;
+    }
+    
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+    
+    private static String base64Url(byte[] value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
     
     /**
      * Generate JWT token for user
      */
     public String generateUserToken(String username) {
+        return generateUserToken(username, 0);
+    }
+    
+    /**
+     * Genera un access token ligado a la época de revocación actual del usuario
+     */
+    public String generateUserToken(String username, int revocationEpoch) {
         Date currentDate = new Date();
-        Date expirationDate = new Date(currentDate.getTime() + tokenValidityTime);
+        Date expirationDate = new Date(currentDate.getTime() + accessTokenValiditySeconds * 1000);
         
         return Jwts.builder()
+            .setHeaderParam("kid", keyId)
+            .setId(UUID.randomUUID().toString())
+            .claim(REVOCATION_EPOCH_CLAIM, revocationEpoch)
             .setSubject(username)
             .setIssuedAt(currentDate)
             .setExpiration(expirationDate)
-            .signWith(secretKey)
+            .signWith(signingKey, signingAlgorithm)
             .compact();
     }
     
@@ -36,56 +154,58 @@ public class TokenGenerationService {
      * Extract username from token
      */
     public String extractUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(secretKey)
-            .build()
+        return jwtParser
             .parseClaimsJws(token)
             .getBody()
             .getSubject();
     }
     
     /**
-     * Validate token expiration
+     * Verifica un access token de forma stateless con un único parseo
+     * (firma y expiración), sin consultar estado del servidor
+     * Un token vacío, mal formado, expirado o con otra firma lanza INVALID_TOKEN, sin traza
      */
-    public boolean isTokenValid(String token) {
+    public AccessTokenClaims verifyAccessToken(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            throw AuthenticationFailure.INVALID_TOKEN.toException();
+        }
+        
         try {
-            Date expiration = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-            return expiration.after(new Date());
-        } catch (Exception e) {
-            return false;
+            // parseClaimsJws ya rechaza tokens expirados con ExpiredJwtException
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Integer revocationEpoch = claims.get(REVOCATION_EPOCH_CLAIM, Integer.class);
+            return new AccessTokenClaims(
+                claims.getSubject(),
+                claims.getId(),
+                claims.getIssuedAt().getTime(),
+                claims.getExpiration().getTime(),
+                revocationEpoch == null ? 0 : revocationEpoch
+            );
+        } catch (RuntimeException e) {
+            throw AuthenticationFailure.INVALID_TOKEN.toException();
         }
     }
     
     /**
-     * Validate token and extract username - TC008
+     * Tiempo de vida de los access tokens en segundos
      */
-    public String validateTokenAndGetUsername(String token) {
-        try {
-            if (token == null || token.trim().isEmpty()) {
-                throw new RuntimeException("Token vacío");
-            }
-            
-            String username = Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-                
-            // Verificar que el token no haya expirado
-            if (!isTokenValid(token)) {
-                throw new RuntimeException("Token expirado");
-            }
-            
-            return username;
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Token inválido: " + e.getMessage());
-        }
+    public long getAccessTokenValiditySeconds() {
+        return accessTokenValiditySeconds;
+    }
+    
+    /**
+     * Algoritmo con el que se firman los access tokens
+     */
+    public String getSigningAlgorithm() {
+        return signingAlgorithm.getValue();
+    }
+    
+    /**
+     * Claves públicas de verificación en formato JWK; vacío con HS256 porque la clave es secreta
+     */
+    public List<Map<String, Object>> getPublicJwks() {
+        return publicJwk == null
+            ? Collections.emptyList()
+            : Collections.singletonList(Collections.unmodifiableMap(publicJwk));
     }
 }
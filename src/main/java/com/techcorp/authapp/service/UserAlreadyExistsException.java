@@ -3,13 +3,13 @@ package com.techcorp.authapp.service;
 /**
  * Excepción lanzada cuando se intenta registrar un usuario con un nombre de usuario ya existente
  */
-public class UserAlreadyExistsException extends RuntimeException {
+public class UserAlreadyExistsException extends AuthenticationFailureException {
     
     public UserAlreadyExistsException(String message) {
-        super(message);
+        super(AuthenticationFailure.USER_ALREADY_EXISTS, message, null);
     }
     
     public UserAlreadyExistsException(String message, Throwable cause) {
-        super(message, cause);
+        super(AuthenticationFailure.USER_ALREADY_EXISTS, message, cause);
     }
 }
\ No newline at end of file
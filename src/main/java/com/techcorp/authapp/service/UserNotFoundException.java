@@ -4,13 +4,13 @@ package com.techcorp.authapp.service;
  * Excepción personalizada para usuarios no encontrados
  * TC006: Se lanza cuando se intenta autenticar un usuario que no existe
  */
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends AuthenticationFailureException {
     
     public UserNotFoundException(String message) {
-        super(message);
+        super(AuthenticationFailure.USER_NOT_FOUND, message, null);
     }
     
     public UserNotFoundException(String message, Throwable cause) {
-        super(message, cause);
+        super(AuthenticationFailure.USER_NOT_FOUND, message, cause);
     }
 }
\ No newline at end of file
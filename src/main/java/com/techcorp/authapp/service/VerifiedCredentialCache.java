@@ -0,0 +1,108 @@
+package com.techcorp.authapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache opcional de credenciales verificadas recientemente
+ * Guarda un HMAC-SHA256 (CredentialDigester, clave por proceso) de la contraseña ya validada con BCrypt,
+ * de modo que los logins repetidos y correctos cuestan microsegundos; una contraseña distinta
+ * no coincide con el HMAC y sigue pasando por BCrypt
+ */
+@Service
+public class VerifiedCredentialCache {
+    
+    private final CredentialDigester credentialDigester;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxEntries;
+    
+    private final Map<String, VerifiedCredential> credentials = new ConcurrentHashMap<>();
+    
+    public VerifiedCredentialCache(
+            CredentialDigester credentialDigester,
+            @Value("${app.security.credential-cache.enabled:false}") boolean enabled,
+            @Value("${app.security.credential-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${app.security.credential-cache.max-entries:10000}") int maxEntries) {
+        this.credentialDigester = credentialDigester;
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * Indica si la contraseña coincide con una verificación reciente del mismo usuario
+     * contra el mismo hash almacenado; un cambio de contraseña invalida la entrada por sí solo
+     */
+    public boolean matches(String username, CharSequence rawPassword, String encodedPassword) {
+        if (!enabled || username == null || rawPassword == null) {
+            return false;
+        }
+        
+        VerifiedCredential credential = credentials.get(username);
+        if (credential == null) {
+            return false;
+        }
+        if (credential.expiresAtMillis <= System.currentTimeMillis()
+                || !credential.encodedPassword.equals(encodedPassword)) {
+            credentials.remove(username, credential);
+            return false;
+        }
+        return MessageDigest.isEqual(credential.passwordMac, mac(username, rawPassword));
+    }
+    
+    /**
+     * Registra una contraseña recién verificada con BCrypt
+     */
+    public void remember(String username, CharSequence rawPassword, String encodedPassword) {
+        if (!enabled || username == null || rawPassword == null || encodedPassword == null) {
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        if (credentials.size() >= maxEntries && !credentials.containsKey(username)) {
+            credentials.values().removeIf(credential -> credential.expiresAtMillis <= now);
+            if (credentials.size() >= maxEntries) {
+                // Cache llena: el login sigue funcionando, solo que sin atajo
+                return;
+            }
+        }
+        credentials.put(username, new VerifiedCredential(mac(username, rawPassword), encodedPassword, now + ttlMillis));
+    }
+    
+    /**
+     * Descarta la credencial cacheada de un usuario (cambio de contraseña, desactivación)
+     */
+    public void invalidate(String username) {
+        if (username != null) {
+            credentials.remove(username);
+        }
+    }
+    
+    /**
+     * Cuenta las credenciales cacheadas
+     */
+    public int countCachedCredentials() {
+        return credentials.size();
+    }
+    
+    private byte[] mac(String username, CharSequence rawPassword) {
+        return credentialDigester.digest(username, rawPassword);
+    }
+    
+    private static final class VerifiedCredential {
+        private final byte[] passwordMac;
+        private final String encodedPassword;
+        private final long expiresAtMillis;
+        
+        private VerifiedCredential(byte[] passwordMac, String encodedPassword, long expiresAtMillis) {
+            this.passwordMac = passwordMac;
+            this.encodedPassword = encodedPassword;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+// Configuración de Swagger UI sin springdoc (perfil prod): documentos OpenAPI generados en build.
+// Con springdoc activo este fichero queda oculto por el swagger-initializer.js que genera springdoc
+window.onload = function() {
+  window.ui = SwaggerUIBundle({
+    urls: [
+      { url: "/openapi/autenticacion.json", name: "Autenticación" },
+      { url: "/openapi/completa.json", name: "API Completa" },
+      { url: "/openapi/gestion-usuarios.json", name: "Gestión de Usuarios" },
+      { url: "/openapi/sistema.json", name: "Sistema" }
+    ],
+    dom_id: '#swagger-ui',
+    deepLinking: true,
+    presets: [
+      SwaggerUIBundle.presets.apis,
+      SwaggerUIStandalonePreset
+    ],
+    plugins: [
+      SwaggerUIBundle.plugins.DownloadUrl
+    ],
+    layout: "StandaloneLayout",
+    operationsSorter: "method",
+    tagsSorter: "alpha",
+    displayRequestDuration: true,
+    defaultModelsExpandDepth: 1,
+    defaultModelExpandDepth: 1,
+    validatorUrl: ""
+  });
+};
@@ -0,0 +1,208 @@
+package com.techcorp.authapp.reactive;
+
+import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.service.TokenGenerationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de la edición reactiva en contexto completo sobre Netty
+ * Cobertura: flujo registro/login/listado/logout, seguridad, validación y endpoints anotados sobre WebFlux
+ * Ejecutar con: mvn -Pwebflux test -Dtest=ReactiveApiTest
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            "spring.main.web-application-type=reactive",
+            "app.security.bcrypt.calibration-enabled=false",
+            "app.security.bcrypt.strength=4",
+            "app.security.admin.username=reactivo.admin",
+            "app.security.admin.password=AdminPassword123!"
+        })
+@DisplayName("Edición reactiva - API sobre WebFlux")
+class ReactiveApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TokenGenerationService tokenService;
+
+    @Test
+    @DisplayName("Registro, login, listado en streaming NDJSON y logout")
+    void testRegisterLoginListAndLogout() {
+        // Arrange
+        Map<String, String> registration = Map.of(
+                "username", "reactivo.usuario",
+                "password", "Password123!",
+                "emailAddress", "reactivo@techcorp.com");
+
+        // Act & Assert: registro
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(registration)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.data.username").isEqualTo("reactivo.usuario");
+
+        // Act & Assert: login
+        Map<?, ?> loginResponse = webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("username", "reactivo.usuario", "password", "Password123!"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+        String authToken = (String) ((Map<?, ?>) loginResponse.get("data")).get("authToken");
+        assertThat(authToken).isNotBlank();
+
+        // Act & Assert: listado en streaming con la cuenta de administración aprovisionada al arranque
+        List<SystemUser> users = webTestClient.get().uri("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + login("reactivo.admin", "AdminPassword123!"))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(SystemUser.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertThat(users).extracting(SystemUser::getUsername).contains("reactivo.usuario", "reactivo.admin");
+
+        // Act & Assert: logout revoca el token
+        webTestClient.get().uri("/api/users/reactivo.usuario")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.post().uri("/api/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/users/reactivo.usuario")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Registrar el nombre de la cuenta de administración retorna 409 y no concede el rol")
+    void testAdministratorNameCannotBeRegistered() {
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("username", "reactivo.admin", "password", "Password123!",
+                        "emailAddress", "intruso@techcorp.com"))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("El listado lleva un ETag por representación y responde 304 a listas de ETags y a *")
+    void testUserListRevalidationPerRepresentation() {
+        // Arrange
+        String adminToken = "Bearer " + login("reactivo.admin", "AdminPassword123!");
+        String jsonEtag = webTestClient.get().uri("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, adminToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        // Act & Assert: NDJSON es otra representación y no se revalida con el ETag de JSON
+        webTestClient.get().uri("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, adminToken)
+                .header(HttpHeaders.IF_NONE_MATCH, jsonEtag)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, adminToken)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"stale\", " + jsonEtag)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, jsonEtag)
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private");
+        webTestClient.get().uri("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, adminToken)
+                .header(HttpHeaders.IF_NONE_MATCH, "*")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("Sin token 401 y sin rol de administración 403, con ErrorResponseDto")
+    void testProtectedEndpointWithoutToken() {
+        webTestClient.get().uri("/api/users")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.statusCode").isEqualTo(401)
+                .jsonPath("$.path").isEqualTo("/api/users")
+                .jsonPath("$.errorId").isNotEmpty();
+        String userToken = tokenService.generateUserToken("otro.usuario", 0);
+        webTestClient.get().uri("/api/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("$.statusCode").isEqualTo(403);
+        webTestClient.get().uri("/api/users/otro.usuario")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.post().uri("/api/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("tokens", List.of("otro.jwt.token")))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Registro con datos inválidos retorna 400 con errores de campo")
+    void testRegisterWithInvalidData() {
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("username", "ab", "password", "123", "emailAddress", "no-es-email"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed")
+                .jsonPath("$.fieldErrors.length()").isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("GET /api/system/health se sirve con el controlador anotado sobre WebFlux")
+    void testSystemHealth() {
+        webTestClient.get().uri("/api/system/health")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.status").isEqualTo("UP");
+    }
+
+    private String login(String username, String password) {
+        Map<?, ?> loginResponse = webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("username", username, "password", password))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+        return (String) ((Map<?, ?>) loginResponse.get("data")).get("authToken");
+    }
+}
@@ -0,0 +1,32 @@
+package com.techcorp.authapp.reactive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests para TrustedProxyForwardedHeaderHandler
+ * Cobertura: X-Forwarded-For solo desde proxies de confianza y recorrido de derecha a izquierda
+ */
+@DisplayName("TrustedProxyForwardedHeaderHandler - Cliente detrás de proxies de confianza")
+class TrustedProxyForwardedHeaderHandlerTest {
+
+    private final TrustedProxyForwardedHeaderHandler handler =
+            new TrustedProxyForwardedHeaderHandler(Pattern.compile("127\\.0\\.0\\.1|10\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}"));
+
+    @Test
+    @DisplayName("Desde un proxy de confianza el cliente es la última dirección que no es proxy")
+    void testTrustedProxyResolvesClient() {
+        assertThat(handler.clientAddress("127.0.0.1", "203.0.113.7")).isEqualTo("203.0.113.7");
+        assertThat(handler.clientAddress("127.0.0.1", "198.51.100.1, 203.0.113.7, 10.0.0.5")).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("Desde un par que no es de confianza se ignora X-Forwarded-For")
+    void testUntrustedPeerKeepsItsAddress() {
+        assertThat(handler.clientAddress("198.51.100.9", "203.0.113.7")).isEqualTo("198.51.100.9");
+    }
+}
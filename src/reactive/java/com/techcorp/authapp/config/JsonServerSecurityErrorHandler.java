@@ -0,0 +1,54 @@
+package com.techcorp.authapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techcorp.authapp.dto.ErrorResponseDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authorization.ServerAccessDeniedHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Respuestas 401 y 403 de la cadena de seguridad reactiva con el mismo ErrorResponseDto que el stack servlet
+ */
+class JsonServerSecurityErrorHandler implements ServerAuthenticationEntryPoint, ServerAccessDeniedHandler {
+    
+    private final ObjectMapper objectMapper;
+    private final ErrorIdGenerator errorIdGenerator = new ErrorIdGenerator();
+    
+    JsonServerSecurityErrorHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException authException) {
+        exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        return writeError(exchange, HttpStatus.UNAUTHORIZED, JsonSecurityErrorHandler.AUTHENTICATION_REQUIRED_MESSAGE);
+    }
+    
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, AccessDeniedException accessDeniedException) {
+        return writeError(exchange, HttpStatus.FORBIDDEN, JsonSecurityErrorHandler.ACCESS_DENIED_MESSAGE);
+    }
+    
+    private Mono<Void> writeError(ServerWebExchange exchange, HttpStatus status, String message) {
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+            status.value(),
+            status.getReasonPhrase(),
+            message,
+            exchange.getRequest().getPath().pathWithinApplication().value(),
+            null,
+            errorIdGenerator.nextId()
+        );
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.fromCallable(
+            () -> response.bufferFactory().wrap(objectMapper.writeValueAsBytes(errorResponse))));
+    }
+}
@@ -0,0 +1,77 @@
+package com.techcorp.authapp.config;
+
+import com.techcorp.authapp.service.AccessTokenVerifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Filtro de autenticación JWT stateless para el stack reactivo
+ * La verificación (firma cacheada por token y revocación en vivo) es CPU pura en memoria y se hace en el event loop
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final List<GrantedAuthority> USER_AUTHORITIES =
+        List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+        List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+    
+    private final AccessTokenVerifier accessTokenVerifier;
+    private final Predicate<String> administrators;
+    private final List<PathPattern> publicPathPatterns;
+    
+    public JwtAuthenticationWebFilter(AccessTokenVerifier accessTokenVerifier, Predicate<String> administrators,
+                                      String... publicPaths) {
+        this.accessTokenVerifier = accessTokenVerifier;
+        this.administrators = administrators;
+        this.publicPathPatterns = Arrays.stream(publicPaths)
+            .map(PathPatternParser.defaultInstance::parse)
+            .collect(Collectors.toUnmodifiableList());
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (isPublicPath(exchange)) {
+            return chain.filter(exchange);
+        }
+        
+        String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+        
+        return accessTokenVerifier.verify(authorizationHeader.substring(BEARER_PREFIX.length()))
+            .map(claims -> {
+                Authentication authentication =
+                    UsernamePasswordAuthenticationToken.authenticated(claims.getUsername(), null,
+                        administrators.test(claims.getUsername()) ? ADMIN_AUTHORITIES : USER_AUTHORITIES);
+                return chain.filter(exchange)
+                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+            })
+            .orElseGet(() -> chain.filter(exchange));
+    }
+    
+    private boolean isPublicPath(ServerWebExchange exchange) {
+        for (PathPattern publicPathPattern : publicPathPatterns) {
+            if (publicPathPattern.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
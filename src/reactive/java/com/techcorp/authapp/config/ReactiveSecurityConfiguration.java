@@ -0,0 +1,74 @@
+package com.techcorp.authapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.AccessTokenVerifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Configuración de seguridad para el stack reactivo (WebFlux)
+ * Mismas reglas que el stack servlet: perfil propio o administración en /api/users, token en /api/auth/introspect
+ * y el resto de rutas público
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfiguration {
+    
+    /**
+     * Cadena de filtros de seguridad reactiva, stateless y sin formularios
+     */
+    @Bean
+    public SecurityWebFilterChain reactiveFilterChain(ServerHttpSecurity http, AccessTokenVerifier accessTokenVerifier,
+            ObjectMapper objectMapper, InMemoryUserRepository userRepository) {
+        JsonServerSecurityErrorHandler securityErrorHandler = new JsonServerSecurityErrorHandler(objectMapper);
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .cors(ServerHttpSecurity.CorsSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            
+            // Autenticación JWT stateless; sin token válido 401 y sin permisos 403, ambos con ErrorResponseDto
+            .addFilterAt(
+                new JwtAuthenticationWebFilter(accessTokenVerifier, userRepository::isAdministrator,
+                    SecurityConfiguration.PUBLIC_PATHS),
+                SecurityWebFiltersOrder.AUTHENTICATION)
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(securityErrorHandler)
+                .accessDeniedHandler(securityErrorHandler))
+            
+            .authorizeExchange(auth -> auth
+                .pathMatchers(HttpMethod.GET, SecurityConfiguration.USER_PROFILE_PATH)
+                    .access(ReactiveSecurityConfiguration::isOwnProfileOrAdmin)
+                .pathMatchers(SecurityConfiguration.USER_MANAGEMENT_PATHS).hasRole(SecurityConfiguration.ADMIN_ROLE)
+                .pathMatchers(SecurityConfiguration.AUTHENTICATED_PATHS).authenticated()
+                .anyExchange().permitAll()
+            )
+            .build();
+    }
+    
+    private static Mono<AuthorizationDecision> isOwnProfileOrAdmin(Mono<Authentication> authentication,
+                                                                   AuthorizationContext context) {
+        return authentication
+            .filter(UsernamePasswordAuthenticationToken.class::isInstance)
+            .map(current -> current.getName().equals(context.getVariables().get("username"))
+                || current.getAuthorities().stream()
+                    .anyMatch(authority -> ("ROLE_" + SecurityConfiguration.ADMIN_ROLE).equals(authority.getAuthority())))
+            .map(AuthorizationDecision::new)
+            .defaultIfEmpty(new AuthorizationDecision(false));
+    }
+}
@@ -0,0 +1,161 @@
+package com.techcorp.authapp.reactive;
+
+import com.techcorp.authapp.dto.ApiResponseDto;
+import com.techcorp.authapp.dto.LoginRequestDto;
+import com.techcorp.authapp.dto.RefreshTokenRequestDto;
+import com.techcorp.authapp.dto.RegisteredUserDto;
+import com.techcorp.authapp.dto.SessionTokensDto;
+import com.techcorp.authapp.dto.UserRegistrationDto;
+import com.techcorp.authapp.service.AuthenticationFailure;
+import com.techcorp.authapp.service.AuthenticationService;
+import com.techcorp.authapp.service.LoginAttemptThrottle;
+import com.techcorp.authapp.service.SessionTokens;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Handlers reactivos de /api/auth
+ * Registro y login llaman a BCrypt (bloqueante): se ejecutan en el scheduler acotado de autenticación
+ * y nunca en el event loop de Netty; el hash en sí sigue corriendo en el pool de hashing
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthenticationHandler {
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    
+    private final AuthenticationService authenticationService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+    private final Validator validator;
+    private final Scheduler authScheduler;
+    
+    public ReactiveAuthenticationHandler(AuthenticationService authenticationService,
+                                         LoginAttemptThrottle loginAttemptThrottle,
+                                         Validator validator,
+                                         @Qualifier("authScheduler") Scheduler authScheduler) {
+        this.authenticationService = authenticationService;
+        this.loginAttemptThrottle = loginAttemptThrottle;
+        this.validator = validator;
+        this.authScheduler = authScheduler;
+    }
+    
+    /**
+     * POST /api/auth/register
+     */
+    public Mono<ServerResponse> register(ServerRequest request) {
+        String idempotencyKey = idempotencyKey(request);
+        return ReactiveResponses.validatedBody(request, UserRegistrationDto.class, validator)
+            .flatMap(registrationDto -> Mono.fromCallable(() -> idempotencyKey == null
+                    ? authenticationService.registerNewUser(registrationDto)
+                    : authenticationService.registerNewUser(registrationDto, idempotencyKey))
+                .subscribeOn(authScheduler))
+            .flatMap(newUser -> ReactiveResponses.respond(HttpStatus.OK,
+                new ApiResponseDto<>(true, "Registro exitoso", RegisteredUserDto.from(newUser))))
+            .onErrorResume(error -> ReactiveResponses.errorResponse(error, request));
+    }
+    
+    /**
+     * POST /api/auth/login
+     */
+    public Mono<ServerResponse> login(ServerRequest request) {
+        return ReactiveResponses.validatedBody(request, LoginRequestDto.class, validator)
+            .flatMap(loginRequest -> {
+                // El límite por cliente se comprueba en el event loop: un rechazo no ocupa el scheduler;
+                // el límite por usuario lo aplica AuthenticationService
+                loginAttemptThrottle.checkAttempt(null, clientAddress(request));
+                String idempotencyKey = idempotencyKey(request);
+                if (idempotencyKey != null) {
+                    // Con Idempotency-Key un reintento recibe la sesión original (o su mismo fallo)
+                    return Mono.fromCallable(() -> authenticationService.loginUser(loginRequest, idempotencyKey))
+                        .subscribeOn(authScheduler)
+                        .flatMap(sessionTokens -> ReactiveResponses.respond(HttpStatus.OK,
+                            new ApiResponseDto<>(true, "Autenticación exitosa", tokenData(sessionTokens))));
+                }
+                return Mono.fromCallable(() -> authenticationService.attemptLogin(loginRequest))
+                    .subscribeOn(authScheduler)
+                    .flatMap(outcome -> outcome.isSuccess()
+                        ? ReactiveResponses.respond(HttpStatus.OK,
+                            new ApiResponseDto<>(true, "Autenticación exitosa", loginData(loginRequest, outcome.getAccessToken())))
+                        : ReactiveResponses.failure(outcome.getFailure()));
+            })
+            .onErrorResume(error -> ReactiveResponses.errorResponse(error, request));
+    }
+    
+    /**
+     * POST /api/auth/refresh
+     */
+    public Mono<ServerResponse> refresh(ServerRequest request) {
+        return ReactiveResponses.validatedBody(request, RefreshTokenRequestDto.class, validator)
+            .map(refreshRequest -> authenticationService.refreshSession(refreshRequest.getRefreshToken()))
+            .flatMap(sessionTokens -> ReactiveResponses.respond(HttpStatus.OK,
+                new ApiResponseDto<>(true, "Token renovado exitosamente", tokenData(sessionTokens))))
+            .onErrorResume(error -> ReactiveResponses.errorResponse(error, request));
+    }
+    
+    /**
+     * POST /api/auth/logout
+     */
+    public Mono<ServerResponse> logout(ServerRequest request) {
+        String authorizationHeader = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || authorizationHeader.trim().isEmpty()) {
+            return ReactiveResponses.respond(HttpStatus.BAD_REQUEST, new ApiResponseDto<Void>(false, "Token requerido"));
+        }
+        if (!authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return ReactiveResponses.respond(HttpStatus.UNAUTHORIZED, new ApiResponseDto<Void>(false, "Token inválido"));
+        }
+        
+        String token = authorizationHeader.substring(BEARER_PREFIX.length());
+        return Mono.fromCallable(() -> authenticationService.resolveTokenUsername(token))
+            .flatMap(Mono::justOrEmpty)
+            .flatMap(username -> {
+                authenticationService.revokeAccessToken(token);
+                authenticationService.logoutUser(username);
+                return ReactiveResponses.respond(HttpStatus.OK, new ApiResponseDto<Void>(true, "Logout exitoso"));
+            })
+            .switchIfEmpty(Mono.defer(() -> ReactiveResponses.failure(AuthenticationFailure.INVALID_TOKEN)))
+            .onErrorResume(RuntimeException.class, error ->
+                ReactiveResponses.respond(HttpStatus.UNAUTHORIZED, new ApiResponseDto<Void>(false, "Token inválido")));
+    }
+    
+    private SessionTokensDto loginData(LoginRequestDto loginRequest, String authToken) {
+        return SessionTokensDto.bearer(
+            loginRequest.getUsername(),
+            authToken,
+            authenticationService.issueRefreshToken(loginRequest.getUsername()),
+            authenticationService.getAccessTokenValiditySeconds()
+        );
+    }
+    
+    private static String idempotencyKey(ServerRequest request) {
+        return request.headers().firstHeader(IDEMPOTENCY_KEY_HEADER);
+    }
+    
+    private static SessionTokensDto tokenData(SessionTokens sessionTokens) {
+        return SessionTokensDto.bearer(
+            sessionTokens.getUsername(),
+            sessionTokens.getAccessToken(),
+            sessionTokens.getRefreshToken(),
+            sessionTokens.getExpiresInSeconds()
+        );
+    }
+    
+    /**
+     * Dirección del cliente ya resuelta desde X-Forwarded-For por TrustedProxyForwardedHeaderHandler
+     */
+    private static String clientAddress(ServerRequest request) {
+        return request.remoteAddress()
+            .map(InetSocketAddress::getHostString)
+            .orElse(null);
+    }
+}
@@ -0,0 +1,121 @@
+package com.techcorp.authapp.reactive;
+
+import com.techcorp.authapp.dto.ApiResponseDto;
+import com.techcorp.authapp.dto.ErrorResponseDto;
+import com.techcorp.authapp.service.AuthenticationFailure;
+import com.techcorp.authapp.service.AuthenticationFailureException;
+import com.techcorp.authapp.service.IdempotencyKeyReusedException;
+import com.techcorp.authapp.service.LoginAttemptsExceededException;
+import com.techcorp.authapp.service.ServiceOverloadedException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Utilidades comunes de los handlers reactivos: validación del cuerpo y traducción de errores a HTTP
+ * Mismos códigos y mensajes que los controladores servlet
+ */
+final class ReactiveResponses {
+    
+    private ReactiveResponses() {
+    }
+    
+    /**
+     * Lee y valida el cuerpo con Bean Validation; las violaciones se responden con 400 como en el stack servlet
+     */
+    static <T> Mono<T> validatedBody(ServerRequest request, Class<T> bodyType, Validator validator) {
+        return request.bodyToMono(bodyType)
+            .switchIfEmpty(Mono.error(() -> new InvalidRequestException(List.of())))
+            .handle((body, sink) -> {
+                Set<ConstraintViolation<T>> violations = validator.validate(body);
+                if (violations.isEmpty()) {
+                    sink.next(body);
+                } else {
+                    sink.error(new InvalidRequestException(violations.stream()
+                        .map(violation -> new ErrorResponseDto.FieldErrorDto(
+                            violation.getPropertyPath().toString(),
+                            violation.getInvalidValue(),
+                            violation.getMessage()))
+                        .collect(Collectors.toList())));
+                }
+            });
+    }
+    
+    static <T> Mono<ServerResponse> respond(HttpStatus status, ApiResponseDto<T> body) {
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+    
+    /**
+     * Traduce las excepciones del dominio al mismo código HTTP que usan los controladores servlet
+     */
+    static Mono<ServerResponse> errorResponse(Throwable error, ServerRequest request) {
+        if (error instanceof InvalidRequestException invalidRequest) {
+            ErrorResponseDto errorResponse = new ErrorResponseDto(
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation Failed",
+                "One or more fields have validation errors",
+                request.path(),
+                invalidRequest.fieldErrors,
+                null
+            );
+            return ServerResponse.badRequest().contentType(MediaType.APPLICATION_JSON).bodyValue(errorResponse);
+        }
+        if (error instanceof LoginAttemptsExceededException throttled) {
+            return retryLater(HttpStatus.TOO_MANY_REQUESTS, throttled.getMessage(), throttled.getRetryAfterSeconds());
+        }
+        if (error instanceof ServiceOverloadedException overloaded) {
+            return retryLater(HttpStatus.SERVICE_UNAVAILABLE, overloaded.getMessage(), overloaded.getRetryAfterSeconds());
+        }
+        if (error instanceof RejectedExecutionException) {
+            // Cola del scheduler de autenticación llena
+            return retryLater(HttpStatus.SERVICE_UNAVAILABLE, "Servicio saturado, reintente en unos segundos", 1);
+        }
+        
+        if (error instanceof AuthenticationFailureException failure) {
+            return respond(failure.getFailure().getHttpStatus(), new ApiResponseDto<>(false, failure.getMessage()));
+        }
+        if (error instanceof IdempotencyKeyReusedException reused) {
+            return respond(HttpStatus.UNPROCESSABLE_ENTITY, new ApiResponseDto<>(false, reused.getMessage()));
+        }
+        if (error instanceof RuntimeException) {
+            return respond(HttpStatus.BAD_REQUEST, new ApiResponseDto<>(false, error.getMessage()));
+        }
+        return Mono.error(error);
+    }
+    
+    /**
+     * Respuesta de un fallo esperado señalizado como resultado, sin excepción
+     */
+    static Mono<ServerResponse> failure(AuthenticationFailure failure) {
+        return respond(failure.getHttpStatus(), new ApiResponseDto<>(false, failure.getMessage()));
+    }
+    
+    private static Mono<ServerResponse> retryLater(HttpStatus status, String message, long retryAfterSeconds) {
+        return ServerResponse.status(status)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new ApiResponseDto<>(false, message));
+    }
+    
+    /**
+     * Cuerpo ausente o con violaciones de validación
+     */
+    static final class InvalidRequestException extends RuntimeException {
+        private final List<ErrorResponseDto.FieldErrorDto> fieldErrors;
+        
+        InvalidRequestException(List<ErrorResponseDto.FieldErrorDto> fieldErrors) {
+            super("Validation Failed", null, false, false);
+            this.fieldErrors = fieldErrors;
+        }
+    }
+}
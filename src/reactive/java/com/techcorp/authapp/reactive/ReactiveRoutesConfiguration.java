@@ -0,0 +1,60 @@
+package com.techcorp.authapp.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.regex.Pattern;
+
+/**
+ * Rutas funcionales de la edición reactiva (perfil reactive)
+ * Tienen prioridad sobre los controladores anotados; /api/system y el resto de endpoints
+ * se sirven con los mismos controladores anotados sobre WebFlux
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRoutesConfiguration {
+    
+    /**
+     * Scheduler acotado para las llamadas bloqueantes de registro y login; con la cola llena responde 503
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler authScheduler(
+            @Value("${app.reactive.auth-scheduler.threads:64}") int threads,
+            @Value("${app.reactive.auth-scheduler.queued-tasks:256}") int queuedTasks) {
+        return Schedulers.newBoundedElastic(threads, queuedTasks, "reactive-auth");
+    }
+    
+    /**
+     * Netty con forward-headers-strategy=native aceptaría X-Forwarded-For de cualquiera:
+     * solo se atiende si la conexión llega de un proxy de app.security.trusted-proxies
+     */
+    @Bean
+    public NettyServerCustomizer trustedProxyForwardedHeaders(@Value("${app.security.trusted-proxies}") String trustedProxies) {
+        TrustedProxyForwardedHeaderHandler handler = new TrustedProxyForwardedHeaderHandler(Pattern.compile(trustedProxies));
+        return httpServer -> httpServer.forwarded(handler);
+    }
+    
+    @Bean
+    public RouterFunction<ServerResponse> reactiveApiRoutes(ReactiveAuthenticationHandler authenticationHandler,
+                                                            ReactiveUserHandler userHandler) {
+        return RouterFunctions.route()
+            .path("/api/auth", auth -> auth
+                .POST("/register", authenticationHandler::register)
+                .POST("/login", authenticationHandler::login)
+                .POST("/refresh", authenticationHandler::refresh)
+                .POST("/logout", authenticationHandler::logout))
+            .path("/api/users", users -> users
+                .GET("", userHandler::listUsers)
+                .GET("/{username}", userHandler::getUser)
+                .PUT("/{username}/deactivate", userHandler::deactivateUser))
+            .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.techcorp.authapp.reactive;
+
+import com.techcorp.authapp.dto.ApiResponseDto;
+import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.VerifiedCredentialCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handlers reactivos de /api/users
+ * El listado se emite en streaming (NDJSON, un usuario por línea) cuando el cliente lo acepta,
+ * sin materializar la respuesta completa; con application/json se mantiene el envoltorio ApiResponseDto.
+ * Listado y detalle llevan el mismo ETag por representación y Cache-Control que el stack servlet y responden 304 a If-None-Match
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserHandler {
+    
+    private static final CacheControl USER_DATA_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+    
+    private final InMemoryUserRepository userRepository;
+    private final VerifiedCredentialCache verifiedCredentialCache;
+    
+    public ReactiveUserHandler(InMemoryUserRepository userRepository, VerifiedCredentialCache verifiedCredentialCache) {
+        this.userRepository = userRepository;
+        this.verifiedCredentialCache = verifiedCredentialCache;
+    }
+    
+    /**
+     * GET /api/users
+     */
+    public Mono<ServerResponse> listUsers(ServerRequest request) {
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+            ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        String etag = representationTag(versionTag(userRepository.getDirectoryVersion()), mediaType);
+        return notModified(request, etag)
+            .switchIfEmpty(Mono.defer(() -> {
+                Flux<SystemUser> users = Flux.defer(() -> Flux.fromIterable(userRepository.findAllUsers()));
+                if (MediaType.APPLICATION_NDJSON.equals(mediaType)) {
+                    return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).eTag(etag).cacheControl(USER_DATA_CACHE_CONTROL)
+                        .body(users, SystemUser.class);
+                }
+                return users.collectList()
+                    .flatMap(userList -> ServerResponse.ok().eTag(etag).cacheControl(USER_DATA_CACHE_CONTROL).contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new ApiResponseDto<>(true, "Users retrieved successfully", userList)));
+            }));
+    }
+    
+    /**
+     * GET /api/users/{username}
+     */
+    public Mono<ServerResponse> getUser(ServerRequest request) {
+        String username = request.pathVariable("username");
+        long version = userRepository.getUserVersion(username);
+        String etag = representationTag(versionTag(version), MediaType.APPLICATION_JSON);
+        Mono<ServerResponse> current = Mono.defer(() -> Mono.justOrEmpty(userRepository.findByUsername(username)))
+            .flatMap(user -> ServerResponse.ok().eTag(etag).cacheControl(USER_DATA_CACHE_CONTROL).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ApiResponseDto<>(true, "User found successfully", user)))
+            .switchIfEmpty(Mono.defer(() -> ReactiveResponses.respond(HttpStatus.NOT_FOUND,
+                new ApiResponseDto<SystemUser>(false, "User not found"))));
+        // Versión 0: el usuario no existe y no hay representación que revalidar
+        return version != 0 ? notModified(request, etag).switchIfEmpty(current) : current;
+    }
+    
+    /**
+     * PUT /api/users/{username}/deactivate
+     */
+    public Mono<ServerResponse> deactivateUser(ServerRequest request) {
+        String username = request.pathVariable("username");
+        return Mono.justOrEmpty(userRepository.findByUsername(username))
+            .flatMap(user -> {
+                user.setAccountActive(false);
+                userRepository.updateUser(user);
+                // Revocación masiva en O(1): invalida todos los access tokens emitidos al usuario
+                userRepository.revokeAllTokens(username);
+                verifiedCredentialCache.invalidate(username);
+                return ReactiveResponses.respond(HttpStatus.OK,
+                    new ApiResponseDto<Void>(true, "User account deactivated successfully"));
+            })
+            .switchIfEmpty(Mono.defer(() -> ReactiveResponses.respond(HttpStatus.NOT_FOUND,
+                new ApiResponseDto<Void>(false, "User not found"))));
+    }
+    
+    private static String versionTag(long version) {
+        return "W/\"" + Long.toString(version, 36) + "\"";
+    }
+    
+    private static String representationTag(String versionTag, MediaType mediaType) {
+        return versionTag.substring(0, versionTag.length() - 1) + ";" + mediaType.getSubtype() + "\"";
+    }
+    
+    /**
+     * 304 si If-None-Match incluye el ETag (listas y comparación débil) o es *, como el stack servlet; vacío en otro caso
+     */
+    private static Mono<ServerResponse> notModified(ServerRequest request, String etag) {
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && "*".equals(ifNoneMatch.trim())) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(USER_DATA_CACHE_CONTROL).build();
+        }
+        return request.checkNotModified(etag)
+            .flatMap(response -> ServerResponse.from(response).cacheControl(USER_DATA_CACHE_CONTROL).build());
+    }
+}
@@ -0,0 +1,51 @@
+package com.techcorp.authapp.reactive;
+
+import io.netty.handler.codec.http.HttpRequest;
+import reactor.netty.http.server.ConnectionInfo;
+
+import java.net.InetSocketAddress;
+import java.util.function.BiFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Resuelve la dirección del cliente desde X-Forwarded-For solo si la conexión llega de un proxy de confianza
+ * Mismo criterio que el RemoteIpValve de Tomcat: se recorre la cabecera de derecha a izquierda saltando proxies
+ */
+public class TrustedProxyForwardedHeaderHandler implements BiFunction<ConnectionInfo, HttpRequest, ConnectionInfo> {
+    
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    
+    private final Pattern trustedProxies;
+    
+    public TrustedProxyForwardedHeaderHandler(Pattern trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+    
+    @Override
+    public ConnectionInfo apply(ConnectionInfo connectionInfo, HttpRequest request) {
+        InetSocketAddress peer = connectionInfo.getRemoteAddress();
+        String forwardedFor = request.headers().get(X_FORWARDED_FOR);
+        if (peer == null || forwardedFor == null) {
+            return connectionInfo;
+        }
+        String client = clientAddress(peer.getHostString(), forwardedFor);
+        return client.equals(peer.getHostString())
+            ? connectionInfo
+            : connectionInfo.withRemoteAddress(InetSocketAddress.createUnresolved(client, peer.getPort()));
+    }
+    
+    /**
+     * Primera dirección, desde la derecha, que no es un proxy de confianza; la del par TCP si este no es de confianza
+     */
+    String clientAddress(String peerAddress, String forwardedFor) {
+        String client = peerAddress;
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0 && trustedProxies.matcher(client).matches(); i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty()) {
+                client = hop;
+            }
+        }
+        return client;
+    }
+}
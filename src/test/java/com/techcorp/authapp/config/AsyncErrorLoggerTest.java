@@ -0,0 +1,48 @@
+package com.techcorp.authapp.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests para AsyncErrorLogger
+ * Cobertura: límite de trazas por segundo, descarte con la cola llena
+ */
+@DisplayName("AsyncErrorLogger - Registro asíncrono de errores")
+class AsyncErrorLoggerTest {
+
+    @Test
+    @DisplayName("write - Limita las trazas completas por segundo y las reanuda en la siguiente ventana")
+    void testWriteRateLimitsStackTraces() {
+        // Arrange: dos trazas por segundo, sin hilo de escritura
+        AtomicLong now = new AtomicLong(10_000);
+        AsyncErrorLogger logger = new AsyncErrorLogger(16, 2, now::get, false);
+        AsyncErrorLogger.ErrorEvent event =
+                new AsyncErrorLogger.ErrorEvent("ERR-20240115-00000001", "/api/users", new IllegalStateException("fallo"));
+
+        // Act & Assert
+        assertThat(logger.write(event)).isTrue();
+        assertThat(logger.write(event)).isTrue();
+        assertThat(logger.write(event)).isFalse();
+        assertThat(logger.getSuppressedStackTraces()).isEqualTo(1);
+
+        now.addAndGet(1000);
+        assertThat(logger.write(event)).isTrue();
+    }
+
+    @Test
+    @DisplayName("publish - Con la cola llena descarta sin bloquear y contabiliza el descarte")
+    void testPublishDropsWhenQueueIsFull() {
+        // Arrange: cola de un elemento sin hilo que la vacíe
+        AsyncErrorLogger logger = new AsyncErrorLogger(1, 5, System::currentTimeMillis, false);
+        RuntimeException error = new RuntimeException("fallo");
+
+        // Act & Assert
+        assertThat(logger.publish("ERR-1", "/api/users", error)).isTrue();
+        assertThat(logger.publish("ERR-2", "/api/users", error)).isFalse();
+        assertThat(logger.getDroppedEvents()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,175 @@
+package com.techcorp.authapp.config;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.techcorp.authapp.controller.TestSecurityConfig;
+import com.techcorp.authapp.controller.UserAuthenticationController;
+import com.techcorp.authapp.controller.UserManagementController;
+import com.techcorp.authapp.dto.LoginRequestDto;
+import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.AuthenticationService;
+import com.techcorp.authapp.service.LoginOutcome;
+import com.techcorp.authapp.service.VerifiedCredentialCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de negociación de formatos binarios
+ * Cobertura: CBOR, Smile y Protobuf por Accept/Content-Type, JSON por defecto
+ */
+@WebMvcTest({UserManagementController.class, UserAuthenticationController.class})
+@Import(TestSecurityConfig.class)
+@DisplayName("Negociación de contenido - Formatos binarios")
+class BinaryContentNegotiationTest {
+
+    private static final String USERNAME = "juan.perez";
+    private static final String USER_ENDPOINT = "/api/users/" + USERNAME;
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private InMemoryUserRepository userRepository;
+
+    @MockBean
+    private VerifiedCredentialCache verifiedCredentialCache;
+
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    private final ProtobufMapper protobufMapper = new ProtobufMapper();
+    private NativeProtobufSchema protobufSchema;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SystemUser user = new SystemUser("USR-12345", USERNAME, "$2a$12$hash", "juan.perez@techcorp.com");
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+        when(userRepository.findAllUsers()).thenReturn(List.of(user));
+        protobufSchema = ProtobufSchemaLoader.std.loadNative(getClass().getResource("/proto/authapp.proto"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Sin Accept explícito la respuesta sigue siendo JSON")
+    void testJsonRemainsDefault() throws Exception {
+        mockMvc.perform(get(USER_ENDPOINT))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.username").value(USERNAME));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Accept application/cbor y application/x-jackson-smile devuelven el mismo contenido en binario")
+    void testCborAndSmileResponses() throws Exception {
+        byte[] cbor = mockMvc.perform(get(USER_ENDPOINT).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/api/users").accept(APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Map<?, ?> cborBody = new CBORMapper().readValue(cbor, Map.class);
+        Map<?, ?> smileBody = new SmileMapper().readValue(smile, Map.class);
+        assertThat(((Map<?, ?>) cborBody.get("data")).get("username")).isEqualTo(USERNAME);
+        assertThat((List<?>) smileBody.get("data")).hasSize(1);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Accept application/x-protobuf devuelve el mensaje UserResponse del esquema")
+    void testProtobufUserResponse() throws Exception {
+        byte[] body = mockMvc.perform(get(USER_ENDPOINT).accept(APPLICATION_PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Map<?, ?> response = protobufMapper.readerFor(Map.class)
+                .with(protobufSchema.forType("UserResponse"))
+                .readValue(body);
+        assertThat(response.get("success")).isEqualTo(true);
+        assertThat(((Map<?, ?>) response.get("data")).get("emailAddress")).isEqualTo("juan.perez@techcorp.com");
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Cada formato lleva su propio ETag y el de JSON no revalida una petición CBOR")
+    void testEtagDependsOnNegotiatedFormat() throws Exception {
+        // Act
+        String jsonEtag = mockMvc.perform(get("/api/users"))
+                .andReturn().getResponse().getHeader("ETag");
+        String cborEtag = mockMvc.perform(get("/api/users").accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader("ETag");
+        String smileEtag = mockMvc.perform(get("/api/users").accept(APPLICATION_SMILE))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Assert
+        assertThat(List.of(jsonEtag, cborEtag, smileEtag)).doesNotHaveDuplicates();
+        mockMvc.perform(get("/api/users").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/api/users").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", cborEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Login con cuerpo y respuesta Protobuf")
+    void testProtobufLogin() throws Exception {
+        // Arrange
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class))).thenReturn(LoginOutcome.success("access.token"));
+        LoginRequestDto loginRequest = new LoginRequestDto();
+        loginRequest.setUsername(USERNAME);
+        loginRequest.setPassword("Password123!");
+        byte[] requestBody = protobufMapper.writer(protobufSchema.forType("LoginRequest")).writeValueAsBytes(loginRequest);
+
+        // Act
+        byte[] body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(APPLICATION_PROTOBUF)
+                        .accept(APPLICATION_PROTOBUF)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        Map<?, ?> response = protobufMapper.readerFor(Map.class)
+                .with(protobufSchema.forType("LoginResponse"))
+                .readValue(body);
+        assertThat(((Map<?, ?>) response.get("data")).get("authToken")).isEqualTo("access.token");
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Tipos sin mensaje Protobuf no se ofrecen en ese formato")
+    void testProtobufNotOfferedForUnmappedTypes() throws Exception {
+        mockMvc.perform(put(USER_ENDPOINT + "/deactivate").accept(APPLICATION_PROTOBUF))
+                .andExpect(status().isNotAcceptable());
+    }
+}
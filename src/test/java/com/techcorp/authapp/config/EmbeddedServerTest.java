@@ -0,0 +1,88 @@
+package com.techcorp.authapp.config;
+
+import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.TokenGenerationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests sobre Tomcat embebido de lo que MockMvc no ejecuta
+ * Cobertura: dirección del cliente desde X-Forwarded-For de un proxy de confianza
+ * y compresión gzip de respuestas con ETag
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            "app.security.bcrypt.calibration-enabled=false",
+            "app.security.bcrypt.strength=4",
+            "app.security.login-throttle.client-burst=2",
+            "app.security.login-throttle.client-attempts-per-minute=1",
+            "app.security.admin.username=gzip.admin"
+        })
+@DisplayName("Servidor embebido - Cabeceras de proxy")
+class EmbeddedServerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private InMemoryUserRepository userRepository;
+
+    @Autowired
+    private TokenGenerationService tokenService;
+
+    @Test
+    @DisplayName("El límite de intentos por cliente usa X-Forwarded-For cuando llega del proxy local")
+    void testLoginThrottleKeysOnForwardedClient() {
+        // Arrange: el cliente reenviado agota su ráfaga de 2 intentos
+        assertThat(login("203.0.113.10").getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(login("203.0.113.10").getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        // Act & Assert: ese cliente queda limitado, otro detrás del mismo proxy no
+        assertThat(login("203.0.113.10").getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(login("203.0.113.11").getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    @DisplayName("GET /api/users se sirve comprimido con gzip y conserva su ETag débil")
+    void testUserListIsGzipped() {
+        // Arrange: un listado por encima del mínimo de compresión (2 KB)
+        for (int i = 0; i < 40; i++) {
+            userRepository.saveUser(new SystemUser("USR-GZ-" + i, "gzip.usuario" + i, "hash", "gzip" + i + "@techcorp.com"));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(tokenService.generateUserToken("gzip.admin", 0));
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // Act
+        ResponseEntity<byte[]> response = restTemplate.exchange("/api/users", HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getETag()).startsWith("W/\"");
+    }
+
+    private ResponseEntity<String> login(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", forwardedFor);
+        Map<String, String> credentials = Map.of("username", "proxy.usuario", "password", "Password123!");
+        return restTemplate.postForEntity("/api/auth/login", new HttpEntity<>(credentials, headers), String.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.techcorp.authapp.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests para ErrorIdGenerator
+ * Cobertura: formato, unicidad, relleno del sufijo y cambio de día
+ */
+@DisplayName("ErrorIdGenerator - Identificadores de error sin bloqueo")
+class ErrorIdGeneratorTest {
+
+    @Test
+    @DisplayName("nextId - Mantiene el formato ERR-yyyyMMdd-XXXXXXXX con la fecha del reloj")
+    void testNextIdFormat() {
+        // Arrange
+        Clock clock = Clock.fixed(Instant.parse("2024-01-15T10:30:00Z"), ZoneOffset.UTC);
+        ErrorIdGenerator generator = new ErrorIdGenerator(clock, 0x1A2B3C4D);
+
+        // Act & Assert: sufijo hexadecimal en mayúsculas y con ceros a la izquierda
+        assertThat(generator.nextId()).isEqualTo("ERR-20240115-1A2B3C4D");
+        assertThat(generator.nextId()).isEqualTo("ERR-20240115-1A2B3C4E");
+        assertThat(new ErrorIdGenerator(clock, 0xF).nextId()).isEqualTo("ERR-20240115-0000000F");
+    }
+
+    @Test
+    @DisplayName("nextId - Identificadores únicos en ráfaga")
+    void testNextIdIsUnique() {
+        ErrorIdGenerator generator = new ErrorIdGenerator();
+        Set<String> ids = new HashSet<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).hasSize(10_000).allMatch(id -> id.matches("ERR-\\d{8}-[0-9A-F]{8}"));
+    }
+
+    @Test
+    @DisplayName("nextId - Recalcula el prefijo al cambiar de día en la zona del reloj")
+    void testNextIdRollsOverDay() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-15T23:59:59Z"), ZoneOffset.UTC);
+        ErrorIdGenerator generator = new ErrorIdGenerator(clock, 0);
+
+        // Act
+        String beforeMidnight = generator.nextId();
+        clock.instant = Instant.parse("2024-01-16T00:00:01Z");
+        String afterMidnight = generator.nextId();
+
+        // Assert
+        assertThat(beforeMidnight).startsWith("ERR-20240115-");
+        assertThat(afterMidnight).isEqualTo("ERR-20240116-00000001");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+        private final ZoneId zone;
+
+        private MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
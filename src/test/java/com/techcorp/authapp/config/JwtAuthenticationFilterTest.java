@@ -0,0 +1,163 @@
+package com.techcorp.authapp.config;
+
+import com.techcorp.authapp.service.AccessTokenClaims;
+import com.techcorp.authapp.service.AccessTokenVerifier;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para JwtAuthenticationFilter
+ * Cobertura: rutas públicas, resolución del principal, cache por token y revocación
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter - Autenticación JWT stateless")
+class JwtAuthenticationFilterTest {
+
+    private static final String TEST_USERNAME = "test.user";
+    private static final String TEST_TOKEN = "header.payload.signature";
+    private static final String USERS_ENDPOINT = "/api/users";
+
+    @Mock
+    private AccessTokenVerifier accessTokenVerifier;
+
+    private JwtAuthenticationFilter filter;
+    private AccessTokenClaims claims;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(accessTokenVerifier, "/api/auth/**", "/api/system/**");
+        long now = System.currentTimeMillis();
+        claims = new AccessTokenClaims(TEST_USERNAME, "jti-1", now, now + 900_000, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Token válido establece el principal y sus authorities")
+    void testValidTokenAuthenticatesRequest() throws Exception {
+        // Arrange
+        when(accessTokenVerifier.verify(TEST_TOKEN)).thenReturn(Optional.of(claims));
+
+        // Act
+        Authentication authentication = filterAndCaptureAuthentication(bearerRequest(USERS_ENDPOINT, TEST_TOKEN));
+
+        // Assert
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getName()).isEqualTo(TEST_USERNAME);
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("Un usuario con el rol de administración guardado recibe además ROLE_ADMIN")
+    void testAdministratorGetsAdminRole() throws Exception {
+        // Arrange
+        filter = new JwtAuthenticationFilter(accessTokenVerifier, TEST_USERNAME::equals, "/api/auth/**");
+        when(accessTokenVerifier.verify(TEST_TOKEN)).thenReturn(Optional.of(claims));
+
+        // Act
+        Authentication authentication = filterAndCaptureAuthentication(bearerRequest(USERS_ENDPOINT, TEST_TOKEN));
+
+        // Assert
+        assertThat(authentication.getAuthorities()).extracting("authority")
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Peticiones repetidas reutilizan el Authentication cacheado y solo comprueban revocación")
+    void testCachedAuthenticationIsReused() throws Exception {
+        // Arrange
+        when(accessTokenVerifier.verify(TEST_TOKEN)).thenReturn(Optional.of(claims));
+
+        // Act
+        Authentication first = filterAndCaptureAuthentication(bearerRequest(USERS_ENDPOINT, TEST_TOKEN));
+        Authentication second = filterAndCaptureAuthentication(bearerRequest(USERS_ENDPOINT, TEST_TOKEN));
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        verify(accessTokenVerifier, times(1)).verify(TEST_TOKEN);
+        verify(accessTokenVerifier, times(1)).isRevoked(claims);
+        assertThat(filter.countCachedAuthentications()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Un token cacheado y luego revocado deja de autenticar")
+    void testRevokedCachedTokenIsRejected() throws Exception {
+        // Arrange
+        when(accessTokenVerifier.verify(TEST_TOKEN)).thenReturn(Optional.of(claims));
+        filterAndCaptureAuthentication(bearerRequest(USERS_ENDPOINT, TEST_TOKEN));
+        when(accessTokenVerifier.isRevoked(claims)).thenReturn(true);
+
+        // Act
+        Authentication authentication = filterAndCaptureAuthentication(bearerRequest(USERS_ENDPOINT, TEST_TOKEN));
+
+        // Assert
+        assertThat(authentication).isNull();
+    }
+
+    @Test
+    @DisplayName("Token inválido o sin esquema Bearer no autentica la petición")
+    void testInvalidTokenLeavesRequestAnonymous() throws Exception {
+        // Arrange
+        when(accessTokenVerifier.verify(TEST_TOKEN)).thenReturn(Optional.empty());
+        MockHttpServletRequest basicRequest = new MockHttpServletRequest("GET", USERS_ENDPOINT);
+        basicRequest.addHeader("Authorization", "Basic dXNlcjpwYXNz");
+
+        // Act & Assert
+        assertThat(filterAndCaptureAuthentication(bearerRequest(USERS_ENDPOINT, TEST_TOKEN))).isNull();
+        assertThat(filterAndCaptureAuthentication(basicRequest)).isNull();
+        assertThat(filter.countCachedAuthentications()).isZero();
+    }
+
+    @Test
+    @DisplayName("Rutas públicas se omiten sin verificar el token")
+    void testPublicPathsSkipTokenVerification() throws Exception {
+        // Act
+        Authentication authentication = filterAndCaptureAuthentication(bearerRequest("/api/auth/logout", TEST_TOKEN));
+
+        // Assert
+        assertThat(authentication).isNull();
+        verify(accessTokenVerifier, never()).verify(anyString());
+    }
+
+    private MockHttpServletRequest bearerRequest(String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private Authentication filterAndCaptureAuthentication(MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.clearContext();
+        AtomicReference<Authentication> captured = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                captured.set(SecurityContextHolder.getContext().getAuthentication());
+            }
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return captured.get();
+    }
+}
@@ -0,0 +1,126 @@
+package com.techcorp.authapp.config;
+
+import com.techcorp.authapp.service.TokenGenerationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la cadena de seguridad en contexto completo
+ * Cobertura: endpoints protegidos con y sin token, rol de administración y perfil propio,
+ * cuerpo JSON de 401/403, introspección autenticada, endpoints públicos, cuenta de administración aprovisionada
+ */
+@SpringBootTest(properties = "app.security.admin.username=security.admin")
+@AutoConfigureMockMvc
+@DisplayName("SecurityConfiguration - Autenticación JWT en contexto completo")
+class SecurityConfigurationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenGenerationService tokenService;
+
+    @Test
+    @DisplayName("GET /api/users sin token retorna 401 con ErrorResponseDto")
+    void testProtectedEndpointWithoutToken() throws Exception {
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.statusCode").value(401))
+                .andExpect(jsonPath("$.error").value("Unauthorized"))
+                .andExpect(jsonPath("$.message").value("Token de autenticación requerido"))
+                .andExpect(jsonPath("$.path").value("/api/users"))
+                .andExpect(jsonPath("$.errorId").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /api/users con token inválido retorna 401")
+    void testProtectedEndpointWithInvalidToken() throws Exception {
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer invalid.token.value"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("GET /api/users con token de administración retorna 200 con caché privada en lugar del no-store por defecto")
+    void testProtectedEndpointWithValidToken() throws Exception {
+        String token = tokenService.generateUserToken("security.admin", 0);
+
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(header().doesNotExist("Pragma"));
+    }
+
+    @Test
+    @DisplayName("Sin rol de administración: listar, consultar a otro usuario y desactivar retornan 403 con ErrorResponseDto")
+    void testUserManagementRequiresAdminRole() throws Exception {
+        String token = "Bearer " + tokenService.generateUserToken("security.user", 0);
+
+        mockMvc.perform(get("/api/users").header("Authorization", token))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.statusCode").value(403))
+                .andExpect(jsonPath("$.message").value("Permisos insuficientes para este recurso"));
+        mockMvc.perform(get("/api/users/otro.usuario").header("Authorization", token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/users/security.user/deactivate").header("Authorization", token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Registrar el nombre de la cuenta de administración retorna 409 y no concede el rol")
+    void testAdministratorNameCannotBeRegistered() throws Exception {
+        String registration = "{\"username\":\"security.admin\",\"password\":\"Password123!\","
+                + "\"emailAddress\":\"intruso@techcorp.com\"}";
+
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(registration))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/users")
+                        .header("Authorization", "Bearer " + tokenService.generateUserToken("admin", 0)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Un usuario puede consultar su propio perfil")
+    void testUserCanReadOwnProfile() throws Exception {
+        String token = tokenService.generateUserToken("security.user", 0);
+
+        // No existe en el repositorio: la autorización pasa y el controlador responde 404
+        mockMvc.perform(get("/api/users/security.user").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/introspect sin token retorna 401 y con token del servicio responde")
+    void testIntrospectionRequiresAuthenticatedCaller() throws Exception {
+        String body = "{\"tokens\":[\"otro.jwt.token\"]}";
+
+        mockMvc.perform(post("/api/auth/introspect").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isUnauthorized());
+
+        String token = tokenService.generateUserToken("downstream.service", 0);
+        mockMvc.perform(post("/api/auth/introspect").header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/system/health es público")
+    void testPublicEndpointWithoutToken() throws Exception {
+        mockMvc.perform(get("/api/system/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,96 @@
+package com.techcorp.authapp.config;
+
+import com.techcorp.authapp.controller.IndexController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de los recursos estáticos de Swagger UI
+ * Cobertura: URLs con hash de contenido, caché inmutable, variantes precomprimidas en build
+ * y redirecciones al OpenAPI estático cuando springdoc no está cargado
+ */
+@WebMvcTest(IndexController.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("Recursos estáticos - Precompresión y caché inmutable")
+class StaticResourceCompressionTest {
+
+    private static final Pattern BUNDLE_URL =
+            Pattern.compile("src=\"(/webjars/swagger-ui/[^/]+/swagger-ui-bundle-[0-9a-f]{32}\\.js)\"");
+    private static final String IMMUTABLE = "max-age=31536000, public, immutable";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("index.html enlaza los assets del webjar con hash y mantiene relativo el initializer de springdoc")
+    void testIndexLinksToHashedWebjarAssets() throws Exception {
+        String html = mockMvc.perform(get("/swagger-ui/index.html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(html)
+                .containsPattern(BUNDLE_URL)
+                .containsPattern("href=\"/webjars/swagger-ui/[^/]+/swagger-ui-[0-9a-f]{32}\\.css\"")
+                .contains("src=\"./swagger-initializer.js\"")
+                .doesNotContain("src=\"./swagger-ui-bundle.js\"");
+    }
+
+    @Test
+    @DisplayName("El bundle con hash se sirve precomprimido según Accept-Encoding y con caché inmutable")
+    void testHashedAssetServedPrecompressed() throws Exception {
+        String bundleUrl = bundleUrl();
+
+        mockMvc.perform(get(bundleUrl).header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE));
+
+        mockMvc.perform(get(bundleUrl).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    @DisplayName("Sin Accept-Encoding el asset se sirve sin comprimir")
+    void testIdentityWithoutAcceptEncoding() throws Exception {
+        mockMvc.perform(get(bundleUrl()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE));
+    }
+
+    @Test
+    @DisplayName("Sin springdoc (como en prod) /api-docs y /swagger-ui.html llevan a los recursos generados en build")
+    void testRedirectsWithoutSpringdoc() throws Exception {
+        mockMvc.perform(get("/api-docs"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl("/openapi/api-docs.json"));
+
+        mockMvc.perform(get("/swagger-ui.html"))
+                .andExpect(status().isFound())
+                .andExpect(redirectedUrl("/swagger-ui/index.html"));
+    }
+
+    private String bundleUrl() throws Exception {
+        String html = mockMvc.perform(get("/swagger-ui/index.html"))
+                .andReturn().getResponse().getContentAsString();
+        Matcher matcher = BUNDLE_URL.matcher(html);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+}
@@ -3,7 +3,9 @@ package com.techcorp.authapp.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techcorp.authapp.dto.LoginRequestDto;
 import com.techcorp.authapp.dto.UserRegistrationDto;
+import com.techcorp.authapp.service.AuthenticationFailure;
 import com.techcorp.authapp.service.AuthenticationService;
+import com.techcorp.authapp.service.LoginOutcome;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -18,15 +20,15 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
- * Tests ultraespecíficos para cubrir las branches faltantes (operadores || y &&)
- * Objetivo: Lograr 100% de cobertura de branches en UserAuthenticationController
+ * Tests ultraespecíficos para cubrir las branches faltantes de UserAuthenticationController
+ * El status de los fallos esperados sale de AuthenticationFailure/LoginOutcome, nunca del texto del mensaje
  */
 @WebMvcTest(UserAuthenticationController.class)
 @Import(TestSecurityConfig.class)
 class BranchCoverageCompletionTest {
 
-    private static final String REGISTER_ENDPOINT = "/api/v1/auth/register";
-    private static final String LOGIN_ENDPOINT = "/api/v1/auth/login";
+    private static final String REGISTER_ENDPOINT = "/api/auth/register";
+    private static final String LOGIN_ENDPOINT = "/api/auth/login";
     private static final String SUCCESS_PATH = "$.success";
     private static final String MESSAGE_PATH = "$.message";
     private static final String TEST_PASSWORD = "password123";
@@ -41,19 +43,18 @@ class BranchCoverageCompletionTest {
     private ObjectMapper objectMapper;
 
     /**
-     * Test para cubrir la branch faltante en registerUser línea 130:
-     * Condición: e.getMessage().contains("already exists") || e.getMessage().contains("ya registrado")
-     * Caso específico: RuntimeException con mensaje que contiene "ya registrado" pero NO "already exists"
+     * Test para cubrir la branch de AuthenticationFailureException en registerUser:
+     * USER_ALREADY_EXISTS se traduce a 409 con el mensaje del enum
      */
     @Test
-    void registerUserWithYaRegistradoMessageShouldReturnConflict() throws Exception {
-        // Arrange: RuntimeException con mensaje que contiene solo "ya registrado"
+    void registerUserWithUserAlreadyExistsFailureShouldReturnConflict() throws Exception {
+        // Arrange: el servicio señaliza el duplicado con la excepción sin traza del enum
         UserRegistrationDto registrationDto = new UserRegistrationDto(
-                "testuser", "test@example.com", TEST_PASSWORD
+                "testuser", TEST_PASSWORD, "test@example.com"
         );
-        
+
         when(authenticationService.registerNewUser(any(UserRegistrationDto.class)))
-                .thenThrow(new RuntimeException("Email ya registrado en el sistema"));
+                .thenThrow(AuthenticationFailure.USER_ALREADY_EXISTS.toException());
 
         // Act & Assert: debe retornar HTTP 409 CONFLICT
         mockMvc.perform(post(REGISTER_ENDPOINT)
@@ -61,43 +62,43 @@ class BranchCoverageCompletionTest {
                         .content(objectMapper.writeValueAsString(registrationDto)))
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath(SUCCESS_PATH).value(false))
-                .andExpect(jsonPath(MESSAGE_PATH).value("Email ya registrado en el sistema"));
+                .andExpect(jsonPath(MESSAGE_PATH).value("Nombre de usuario ya registrado"));
     }
 
     /**
-     * Test para cubrir la branch faltante en registerUser línea 130:
-     * Caso específico: RuntimeException con mensaje que contiene "already exists" pero NO "ya registrado"
+     * Test para cubrir la branch de RuntimeException en registerUser:
+     * un mensaje que menciona un duplicado ya no decide el status
      */
     @Test
-    void registerUserWithAlreadyExistsMessageShouldReturnConflict() throws Exception {
-        // Arrange: RuntimeException con mensaje que contiene solo "already exists"
+    void registerUserWithAlreadyExistsMessageShouldReturnBadRequest() throws Exception {
+        // Arrange: RuntimeException genérica cuyo texto contiene "already exists"
         UserRegistrationDto registrationDto = new UserRegistrationDto(
-                "duplicateuser", "duplicate@example.com", TEST_PASSWORD
+                "duplicateuser", TEST_PASSWORD, "duplicate@example.com"
         );
-        
+
         when(authenticationService.registerNewUser(any(UserRegistrationDto.class)))
                 .thenThrow(new RuntimeException("Username already exists in database"));
 
-        // Act & Assert: debe retornar HTTP 409 CONFLICT
+        // Act & Assert: debe ir por el path BAD_REQUEST por defecto, no por CONFLICT
         mockMvc.perform(post(REGISTER_ENDPOINT)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registrationDto)))
-                .andExpect(status().isConflict())
+                .andExpect(status().isBadRequest())
                 .andExpect(jsonPath(SUCCESS_PATH).value(false))
                 .andExpect(jsonPath(MESSAGE_PATH).value("Username already exists in database"));
     }
 
     /**
-     * Test para cubrir branch faltante con RuntimeException que NO contiene ni "already exists" ni "ya registrado"
+     * Test para cubrir la branch de RuntimeException en registerUser sin ninguna palabra clave
      * Debe ir por el path del return BAD_REQUEST por defecto
      */
     @Test
     void registerUserWithoutKeywordsShouldReturnBadRequest() throws Exception {
         // Arrange: RuntimeException sin palabras clave específicas
         UserRegistrationDto registrationDto = new UserRegistrationDto(
-                "erroruser", "error@example.com", TEST_PASSWORD
+                "erroruser", TEST_PASSWORD, "error@example.com"
         );
-        
+
         when(authenticationService.registerNewUser(any(UserRegistrationDto.class)))
                 .thenThrow(new RuntimeException("Error de conexión a base de datos"));
 
@@ -111,15 +112,15 @@ class BranchCoverageCompletionTest {
     }
 
     /**
-     * Test para investigar y cubrir la branch faltante en loginUser
-     * Probando RuntimeException sin palabras clave específicas para activar path alternativo
+     * Test para cubrir la branch de RuntimeException en loginUser
+     * Un error no esperado del servicio va por el path alternativo
      */
     @Test
     void loginUserWithUnknownMessageShouldReturnBadRequest() throws Exception {
         // Arrange: RuntimeException con mensaje que no coincide con ningún if
         LoginRequestDto loginRequest = new LoginRequestDto("unknownuser", "password");
-        
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
+
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
                 .thenThrow(new RuntimeException("Error inesperado del sistema"));
 
         // Act & Assert: debe ir por el path BAD_REQUEST por defecto
@@ -132,22 +133,22 @@ class BranchCoverageCompletionTest {
     }
 
     /**
-     * Test para verificar RuntimeException con mensaje parcial que puede afectar branches
+     * Test para cubrir la branch de LoginOutcome fallido en loginUser
      */
     @Test
-    void loginUserWithPartialMatchShouldReturnUnauthorized() throws Exception {
-        // Arrange: RuntimeException con mensaje que podría afectar la evaluación de conditions
+    void loginUserWithInvalidCredentialsOutcomeShouldReturnUnauthorized() throws Exception {
+        // Arrange: el servicio devuelve el fallo esperado como LoginOutcome, sin excepción
         LoginRequestDto loginRequest = new LoginRequestDto("partialuser", "password");
-        
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-                .thenThrow(new RuntimeException("Credenciales inválidas parcialmente"));
 
-        // Act & Assert: debe activar el if de "Credenciales inválidas" y retornar UNAUTHORIZED
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+                .thenReturn(LoginOutcome.failure(AuthenticationFailure.INVALID_CREDENTIALS));
+
+        // Act & Assert: el status y el mensaje salen de AuthenticationFailure.INVALID_CREDENTIALS
         mockMvc.perform(post(LOGIN_ENDPOINT)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath(SUCCESS_PATH).value(false))
-                .andExpect(jsonPath(MESSAGE_PATH).value("Credenciales inválidas parcialmente"));
+                .andExpect(jsonPath(MESSAGE_PATH).value("Credenciales inválidas"));
     }
-}
\ No newline at end of file
+}
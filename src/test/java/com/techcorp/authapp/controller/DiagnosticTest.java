@@ -3,7 +3,9 @@ package com.techcorp.authapp.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techcorp.authapp.config.TestSecurityConfig;
 import com.techcorp.authapp.dto.LoginRequestDto;
+import com.techcorp.authapp.service.AuthenticationFailure;
 import com.techcorp.authapp.service.AuthenticationService;
+import com.techcorp.authapp.service.LoginOutcome;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -56,8 +58,8 @@ class DiagnosticTest {
         loginRequest.setPassword("password123");
 
         // Mock: Usuario no encontrado - RuntimeException con mensaje específico
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-                .thenThrow(new RuntimeException("Usuario no encontrado"));
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+                .thenReturn(LoginOutcome.failure(AuthenticationFailure.USER_NOT_FOUND));
 
         // Act: Intentar login
         mockMvc.perform(post("/api/auth/login")
@@ -71,6 +73,6 @@ class DiagnosticTest {
                 });
         
         // Verificar que el mock fue llamado
-        verify(authenticationService, times(1)).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService, times(1)).attemptLogin(any(LoginRequestDto.class));
     }
 }
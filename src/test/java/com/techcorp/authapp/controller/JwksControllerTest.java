@@ -0,0 +1,64 @@
+package com.techcorp.authapp.controller;
+
+import com.techcorp.authapp.config.TestSecurityConfig;
+import com.techcorp.authapp.service.TokenGenerationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests para JwksController
+ * Cobertura: documento JWKS serializado una vez, ETag y revalidación con 304
+ * El documento queda cacheado en el controlador, por eso el escenario se cubre en un único test
+ */
+@WebMvcTest(JwksController.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("JwksController - Publicación de claves públicas")
+class JwksControllerTest {
+
+    private static final String JWKS_ENDPOINT = "/.well-known/jwks.json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TokenGenerationService tokenService;
+
+    @Test
+    @DisplayName("GET /.well-known/jwks.json - Retorna las claves con ETag y 304 al revalidar")
+    void testGetJwksWithEtagRevalidation() throws Exception {
+        // Arrange
+        Map<String, Object> jwk = Map.of("kty", "EC", "crv", "P-256", "alg", "ES256", "kid", "key-1");
+        when(tokenService.getPublicJwks()).thenReturn(List.of(jwk));
+
+        // Act & Assert: primera petición retorna el documento completo
+        String etag = mockMvc.perform(get(JWKS_ENDPOINT))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/jwk-set+json"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+                .andExpect(jsonPath("$.keys[0].kid").value("key-1"))
+                .andExpect(jsonPath("$.keys[0].kty").value("EC"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Revalidación con el mismo ETag
+        mockMvc.perform(get(JWKS_ENDPOINT).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        // El documento se serializa una sola vez
+        verify(tokenService, times(1)).getPublicJwks();
+    }
+}
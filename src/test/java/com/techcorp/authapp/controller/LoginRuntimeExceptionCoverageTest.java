@@ -2,7 +2,9 @@ package com.techcorp.authapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techcorp.authapp.dto.LoginRequestDto;
+import com.techcorp.authapp.service.AuthenticationFailure;
 import com.techcorp.authapp.service.AuthenticationService;
+import com.techcorp.authapp.service.LoginOutcome;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -55,7 +57,7 @@ class LoginRuntimeExceptionCoverageTest {
     void testLoginRuntimeExceptionGenericMessage() throws Exception {
         // Arrange: mock para lanzar RuntimeException sin palabras clave específicas
         // Esto cubrirá la línea 240 (return BAD_REQUEST por defecto)
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
             .thenThrow(new RuntimeException("Database connection timeout"));
 
         // Act & Assert: validar que se devuelve BAD_REQUEST para errores genéricos
@@ -67,36 +69,34 @@ class LoginRuntimeExceptionCoverageTest {
                 .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Database connection timeout"));
 
         // Verificar que el servicio fue llamado
-        verify(authenticationService).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService).attemptLogin(any(LoginRequestDto.class));
     }
 
     @Test
-    @DisplayName("Login should return UNAUTHORIZED for RuntimeException with Credenciales inválidas - branch coverage")
+    @DisplayName("Login should return NOT_FOUND for a USER_NOT_FOUND outcome")
     void testLoginRuntimeExceptionCredencialesInvalidasBranch() throws Exception {
-        // Arrange: mock para lanzar RuntimeException que NO entra en la condición "Credenciales inválidas"
-        // Esto cubrirá el branch faltante en la línea 235
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-            .thenThrow(new RuntimeException("Usuario no encontrado en la base de datos"));
+        // Arrange: fallo esperado señalizado con LoginOutcome, sin excepción
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+            .thenReturn(LoginOutcome.failure(AuthenticationFailure.USER_NOT_FOUND));
 
-        // Act & Assert: validar que se procesa correctamente el mensaje "Usuario no encontrado"
+        // Act & Assert: el status y el mensaje salen de AuthenticationFailure
         mockMvc.perform(post(LOGIN_ENDPOINT)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequestDto)))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false))
-                .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Usuario no encontrado en la base de datos"));
+                .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Usuario no encontrado"));
 
         // Verificar que el servicio fue llamado
-        verify(authenticationService).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService).attemptLogin(any(LoginRequestDto.class));
     }
 
     @Test
-    @DisplayName("Login should cover the else branch for Credenciales inválidas condition")
+    @DisplayName("Login should return UNAUTHORIZED for an INVALID_CREDENTIALS outcome")
     void testLoginRuntimeExceptionCredencialesInvalidasElseBranch() throws Exception {
-        // Arrange: mock para lanzar RuntimeException que SÍ contiene "Credenciales inválidas"
-        // Esto cubrirá el branch que entra en la condición de la línea 235
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-            .thenThrow(new RuntimeException("Credenciales inválidas para el usuario"));
+        // Arrange: fallo esperado señalizado con LoginOutcome, sin excepción
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+            .thenReturn(LoginOutcome.failure(AuthenticationFailure.INVALID_CREDENTIALS));
 
         // Act & Assert: validar que se devuelve UNAUTHORIZED para credenciales inválidas
         mockMvc.perform(post(LOGIN_ENDPOINT)
@@ -104,9 +104,9 @@ class LoginRuntimeExceptionCoverageTest {
                 .content(objectMapper.writeValueAsString(loginRequestDto)))
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false))
-                .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Credenciales inválidas para el usuario"));
+                .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Credenciales inválidas"));
 
         // Verificar que el servicio fue llamado
-        verify(authenticationService).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService).attemptLogin(any(LoginRequestDto.class));
     }
-}
\ No newline at end of file
+}
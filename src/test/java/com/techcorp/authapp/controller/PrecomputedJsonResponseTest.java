@@ -0,0 +1,63 @@
+package com.techcorp.authapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests para PrecomputedJsonResponse
+ * Cobertura: sustitución de valores en orden de centinelas, ETag estable, centinela ausente
+ */
+@DisplayName("PrecomputedJsonResponse - Respuestas serializadas una sola vez")
+class PrecomputedJsonResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("render - Sustituye cada centinela por su valor aunque aparezcan en otro orden")
+    void testRenderReplacesSentinelsInAnyOrder() {
+        // Arrange
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("total", Long.MIN_VALUE);
+        body.put("name", "servicio");
+        body.put("timestamp", "{{timestamp}}");
+        PrecomputedJsonResponse response = new PrecomputedJsonResponse(objectMapper, body, "{{timestamp}}", Long.MIN_VALUE);
+
+        // Act
+        byte[] rendered = response.render(bytes("\"2024-01-15T12:00:00Z\""), bytes("42"));
+
+        // Assert
+        assertThat(new String(rendered, StandardCharsets.UTF_8))
+                .isEqualTo("{\"total\":42,\"name\":\"servicio\",\"timestamp\":\"2024-01-15T12:00:00Z\"}");
+    }
+
+    @Test
+    @DisplayName("getEtag - Débil, independiente de los valores variables y combinable con una versión")
+    void testEtagIsWeakAndVersionable() {
+        // Arrange
+        PrecomputedJsonResponse response = new PrecomputedJsonResponse(
+                objectMapper, Map.of("timestamp", "{{timestamp}}"), "{{timestamp}}");
+
+        // Act & Assert
+        assertThat(response.getEtag()).startsWith("W/\"").endsWith("\"");
+        assertThat(response.getEtag(35)).isEqualTo(response.getEtag().replaceAll("\"$", "-z\""));
+    }
+
+    @Test
+    @DisplayName("Constructor - Falla si un centinela no aparece en la respuesta")
+    void testMissingSentinelFails() {
+        assertThatThrownBy(() -> new PrecomputedJsonResponse(objectMapper, Map.of("name", "servicio"), "{{timestamp}}"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -2,6 +2,10 @@ package com.techcorp.authapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.AdaptiveConcurrencyLimiter;
+import com.techcorp.authapp.service.LoginAttemptThrottle;
+import com.techcorp.authapp.service.PasswordHashingCalibrator;
+import com.techcorp.authapp.service.PasswordHashingExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +17,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -62,6 +70,18 @@ class SystemControllerTest {
     @MockBean
     private InMemoryUserRepository userRepository;
 
+    @MockBean
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @MockBean
+    private PasswordHashingCalibrator passwordHashingCalibrator;
+
+    @MockBean
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @MockBean
+    private LoginAttemptThrottle loginAttemptThrottle;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -107,6 +127,7 @@ class SystemControllerTest {
                 .andExpect(jsonPath(JSON_DATA_PATH + ".totalUsers").value(TOTAL_USERS_COUNT))
                 .andExpect(jsonPath(JSON_DATA_PATH + ".activeUsers").value(ACTIVE_USERS_COUNT))
                 .andExpect(jsonPath(JSON_DATA_PATH + ".environment").value("development"))
+                .andExpect(jsonPath(JSON_DATA_PATH + ".requestThreads").value("platform"))
                 .andExpect(jsonPath(JSON_TIMESTAMP_PATH).exists());
 
         // Verificar que se llamaron los métodos del repositorio
@@ -223,4 +244,72 @@ class SystemControllerTest {
                     .andExpect(jsonPath(JSON_TIMESTAMP_PATH).exists());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /api/system/version - Cacheable con ETag y 304 ante If-None-Match")
+    void testGetVersionIsCacheableAndRevalidates() throws Exception {
+        // Act
+        String etag = mockMvc.perform(get(API_SYSTEM_ENDPOINT + VERSION_ENDPOINT))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Assert
+        mockMvc.perform(get(API_SYSTEM_ENDPOINT + VERSION_ENDPOINT).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/system/version - 304 ante una lista de ETags, comparación débil y *")
+    void testGetVersionRevalidatesEtagListsAndWildcard() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get(API_SYSTEM_ENDPOINT + VERSION_ENDPOINT))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get(API_SYSTEM_ENDPOINT + VERSION_ENDPOINT).header("If-None-Match", "\"stale\", " + etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(API_SYSTEM_ENDPOINT + VERSION_ENDPOINT).header("If-None-Match", etag.substring(2)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(API_SYSTEM_ENDPOINT + VERSION_ENDPOINT).header("If-None-Match", "*"))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(API_SYSTEM_ENDPOINT + VERSION_ENDPOINT).header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/system/info - 304 con la versión del directorio sin recontar usuarios")
+    void testSystemInfoRevalidatesWithoutCountingUsers() throws Exception {
+        // Arrange
+        when(userRepository.getDirectoryVersion()).thenReturn(5L);
+        String etag = mockMvc.perform(get(API_SYSTEM_ENDPOINT + INFO_ENDPOINT))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get(API_SYSTEM_ENDPOINT + INFO_ENDPOINT).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(userRepository, times(1)).countUsers();
+
+        // Act & Assert: un cambio en el directorio invalida el ETag
+        when(userRepository.getDirectoryVersion()).thenReturn(6L);
+        mockMvc.perform(get(API_SYSTEM_ENDPOINT + INFO_ENDPOINT).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(JSON_DATA_PATH + ".totalUsers").value(TOTAL_USERS_COUNT));
+    }
+
+    @Test
+    @DisplayName("GET /api/system/health - No cacheable y con marcas de tiempo vigentes")
+    void testHealthCheckIsNotCacheableAndHasCurrentTimestamps() throws Exception {
+        String today = LocalDate.now().toString();
+
+        mockMvc.perform(get(API_SYSTEM_ENDPOINT + HEALTH_ENDPOINT))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath(JSON_DATA_PATH + ".timestamp").value(startsWith(today)))
+                .andExpect(jsonPath(JSON_TIMESTAMP_PATH).value(endsWith("Z")));
+    }
+}
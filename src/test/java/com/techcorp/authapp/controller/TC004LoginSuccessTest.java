@@ -3,6 +3,7 @@ package com.techcorp.authapp.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techcorp.authapp.dto.LoginRequestDto;
 import com.techcorp.authapp.service.AuthenticationService;
+import com.techcorp.authapp.service.LoginOutcome;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -58,8 +59,8 @@ class TC004LoginSuccessTest {
         validLogin.setUsername(VALID_USERNAME);
         validLogin.setPassword(VALID_PASSWORD);
 
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-                .thenReturn(MOCK_TOKEN);
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+                .thenReturn(LoginOutcome.success(MOCK_TOKEN));
 
         // Act & Assert
         mockMvc.perform(post(API_LOGIN_ENDPOINT)
@@ -83,8 +84,8 @@ class TC004LoginSuccessTest {
         validLogin.setUsername("maria.rodriguez");
         validLogin.setPassword("securePassword456");
 
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-                .thenReturn(MOCK_TOKEN);
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+                .thenReturn(LoginOutcome.success(MOCK_TOKEN));
 
         // Act & Assert
         mockMvc.perform(post(API_LOGIN_ENDPOINT)
@@ -107,8 +108,8 @@ class TC004LoginSuccessTest {
         validLogin.setUsername("juan.perez");
         validLogin.setPassword("myStrongPassword");
 
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-                .thenReturn(MOCK_TOKEN);
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+                .thenReturn(LoginOutcome.success(MOCK_TOKEN));
 
         // Act & Assert
         mockMvc.perform(post(API_LOGIN_ENDPOINT)
@@ -3,8 +3,10 @@ package com.techcorp.authapp.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techcorp.authapp.config.TestSecurityConfig;
 import com.techcorp.authapp.dto.LoginRequestDto;
+import com.techcorp.authapp.service.AuthenticationFailure;
 import com.techcorp.authapp.service.AuthenticationService;
 import com.techcorp.authapp.service.InvalidCredentialsException;
+import com.techcorp.authapp.service.LoginOutcome;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -51,8 +53,8 @@ class TC005InvalidPasswordTest {
             reset(authenticationService);
             
             // Configure mock to throw InvalidCredentialsException for ANY authentication call
-            when(authenticationService.authenticateUser(any()))
-                .thenThrow(new InvalidCredentialsException("Credenciales inválidas"));
+            when(authenticationService.attemptLogin(any()))
+                .thenReturn(LoginOutcome.failure(AuthenticationFailure.INVALID_CREDENTIALS));
             
             // Also configure register to work normally (mock it to avoid side effects)
             when(authenticationService.registerNewUser(any()))
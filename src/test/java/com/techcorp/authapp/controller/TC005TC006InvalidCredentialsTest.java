@@ -2,8 +2,10 @@ package com.techcorp.authapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techcorp.authapp.dto.LoginRequestDto;
+import com.techcorp.authapp.service.AuthenticationFailure;
 import com.techcorp.authapp.service.AuthenticationService;
 import com.techcorp.authapp.service.InvalidCredentialsException;
+import com.techcorp.authapp.service.LoginOutcome;
 import com.techcorp.authapp.service.UserNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -54,8 +56,8 @@ class TC005TC006InvalidCredentialsTest {
         loginRequest.setUsername("user.existente");
         loginRequest.setPassword("passwordIncorrecto");
 
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-                .thenThrow(new InvalidCredentialsException(INVALID_CREDENTIALS_MESSAGE));
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+                .thenReturn(LoginOutcome.failure(AuthenticationFailure.INVALID_CREDENTIALS));
 
         // Act & Assert
         mockMvc.perform(post(API_LOGIN_ENDPOINT)
@@ -76,8 +78,8 @@ class TC005TC006InvalidCredentialsTest {
         loginRequest.setUsername("usuario.inexistente");
         loginRequest.setPassword("cualquierPassword");
 
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-                .thenThrow(new UserNotFoundException(USER_NOT_FOUND_MESSAGE));
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+                .thenReturn(LoginOutcome.failure(AuthenticationFailure.USER_NOT_FOUND));
 
         // Act & Assert
         mockMvc.perform(post(API_LOGIN_ENDPOINT)
@@ -107,8 +109,8 @@ class TC005TC006InvalidCredentialsTest {
             loginRequest.setUsername("usuario.test");
             loginRequest.setPassword(password);
 
-            when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-                    .thenThrow(new InvalidCredentialsException(INVALID_CREDENTIALS_MESSAGE));
+            when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+                    .thenReturn(LoginOutcome.failure(AuthenticationFailure.INVALID_CREDENTIALS));
 
             // Act & Assert
             mockMvc.perform(post(API_LOGIN_ENDPOINT)
@@ -138,8 +140,8 @@ class TC005TC006InvalidCredentialsTest {
             loginRequest.setUsername(username);
             loginRequest.setPassword("cualquierPassword");
 
-            when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-                    .thenThrow(new UserNotFoundException(USER_NOT_FOUND_MESSAGE));
+            when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+                    .thenReturn(LoginOutcome.failure(AuthenticationFailure.USER_NOT_FOUND));
 
             // Act & Assert
             mockMvc.perform(post(API_LOGIN_ENDPOINT)
@@ -0,0 +1,102 @@
+package com.techcorp.authapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techcorp.authapp.config.TestSecurityConfig;
+import com.techcorp.authapp.dto.TokenIntrospectionRequestDto;
+import com.techcorp.authapp.service.AccessTokenClaims;
+import com.techcorp.authapp.service.TokenIntrospectionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests para TokenIntrospectionController
+ * Cobertura: resultados compactos por token, orden del lote y validación de tamaño
+ */
+@WebMvcTest(TokenIntrospectionController.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("TokenIntrospectionController - Introspección por lotes")
+class TokenIntrospectionControllerTest {
+
+    private static final String INTROSPECT_ENDPOINT = "/api/auth/introspect";
+    private static final String VALID_TOKEN = "valid.jwt.token";
+    private static final String REVOKED_TOKEN = "revoked.jwt.token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @Test
+    @DisplayName("POST /introspect - Retorna un resultado por token en el mismo orden")
+    void testIntrospectReturnsResultsInOrder() throws Exception {
+        // Arrange
+        AccessTokenClaims claims = new AccessTokenClaims("juan.perez", "jti-1", 1_705_312_800_000L, 1_705_313_700_000L, 0);
+        when(tokenIntrospectionService.introspect(List.of(VALID_TOKEN, REVOKED_TOKEN)))
+                .thenReturn(List.of(Optional.of(claims), Optional.empty()));
+
+        // Act & Assert
+        mockMvc.perform(post(INTROSPECT_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TokenIntrospectionRequestDto(List.of(VALID_TOKEN, REVOKED_TOKEN)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].active").value(true))
+                .andExpect(jsonPath("$.data[0].sub").value("juan.perez"))
+                .andExpect(jsonPath("$.data[0].jti").value("jti-1"))
+                .andExpect(jsonPath("$.data[0].iat").value(1_705_312_800L))
+                .andExpect(jsonPath("$.data[0].exp").value(1_705_313_700L))
+                .andExpect(jsonPath("$.data[1].active").value(false))
+                .andExpect(jsonPath("$.data[1].sub").doesNotExist())
+                .andExpect(jsonPath("$.data[1].exp").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /introspect - Lote vacío retorna 400 sin verificar tokens")
+    void testIntrospectRejectsEmptyBatch() throws Exception {
+        mockMvc.perform(post(INTROSPECT_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TokenIntrospectionRequestDto(Collections.emptyList()))))
+                .andExpect(status().isBadRequest());
+
+        verify(tokenIntrospectionService, never()).introspect(anyList());
+    }
+
+    @Test
+    @DisplayName("POST /introspect - Lote de más de 100 tokens retorna 400")
+    void testIntrospectRejectsOversizedBatch() throws Exception {
+        List<String> tokens = IntStream.range(0, 101)
+                .mapToObj(i -> VALID_TOKEN + i)
+                .collect(Collectors.toList());
+
+        mockMvc.perform(post(INTROSPECT_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenIntrospectionRequestDto(tokens))))
+                .andExpect(status().isBadRequest());
+
+        verify(tokenIntrospectionService, never()).introspect(anyList());
+    }
+}
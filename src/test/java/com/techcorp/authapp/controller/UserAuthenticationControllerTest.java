@@ -2,10 +2,17 @@ package com.techcorp.authapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techcorp.authapp.dto.LoginRequestDto;
+import com.techcorp.authapp.dto.RefreshTokenRequestDto;
 import com.techcorp.authapp.dto.UserRegistrationDto;
 import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.service.AuthenticationFailure;
 import com.techcorp.authapp.service.AuthenticationService;
+import com.techcorp.authapp.service.IdempotencyKeyReusedException;
 import com.techcorp.authapp.service.InvalidCredentialsException;
+import com.techcorp.authapp.service.LoginAttemptsExceededException;
+import com.techcorp.authapp.service.LoginOutcome;
+import com.techcorp.authapp.service.PasswordHashingRejectedException;
+import com.techcorp.authapp.service.SessionTokens;
 import com.techcorp.authapp.service.UserAlreadyExistsException;
 import com.techcorp.authapp.service.UserNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +28,7 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -46,6 +54,9 @@ class UserAuthenticationControllerTest {
     private static final String REGISTER_ENDPOINT = "/api/auth/register";
     private static final String LOGIN_ENDPOINT = "/api/auth/login";
     private static final String LOGOUT_ENDPOINT = "/api/auth/logout";
+    private static final String REFRESH_ENDPOINT = "/api/auth/refresh";
+    private static final String REFRESH_TOKEN = "familyId.secret";
+    private static final String ROTATED_REFRESH_TOKEN = "familyId.rotatedSecret";
     private static final String USER_EXISTS_MESSAGE = "Username already exists";
     private static final String INVALID_CREDENTIALS_MESSAGE = "Credenciales inválidas";
     private static final String USER_NOT_FOUND_MESSAGE = "Usuario no encontrado";
@@ -54,6 +65,7 @@ class UserAuthenticationControllerTest {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String JSON_PATH_SUCCESS = "$.success";
     private static final String JSON_PATH_MESSAGE = "$.message";
+    private static final String IDEMPOTENCY_KEY = "5f1c2a9e-retry";
 
     @Autowired
     private MockMvc mockMvc;
@@ -131,11 +143,11 @@ class UserAuthenticationControllerTest {
     }
 
     @Test
-    @DisplayName("Register user should return 409 for duplicate user runtime exception")
+    @DisplayName("Register user should return 409 for duplicate user failure with a custom message")
     void testRegisterUserReturns409ForDuplicateUserRuntimeException() throws Exception {
         // Arrange: mock del servicio para excepción de usuario duplicado
         when(authenticationService.registerNewUser(any(UserRegistrationDto.class)))
-            .thenThrow(new RuntimeException("User already exists"));
+            .thenThrow(new UserAlreadyExistsException("User already exists"));
 
         // Act & Assert: enviar solicitud de registro y validar error 409
         mockMvc.perform(post(REGISTER_ENDPOINT)
@@ -154,7 +166,7 @@ class UserAuthenticationControllerTest {
     void testRegisterUserReturns409ForSpanishDuplicateMessage() throws Exception {
         // Arrange: mock del servicio para mensaje en español
         when(authenticationService.registerNewUser(any(UserRegistrationDto.class)))
-            .thenThrow(new RuntimeException("Usuario ya registrado"));
+            .thenThrow(new UserAlreadyExistsException("Usuario ya registrado"));
 
         // Act & Assert: enviar solicitud de registro y validar error 409
         mockMvc.perform(post(REGISTER_ENDPOINT)
@@ -191,8 +203,8 @@ class UserAuthenticationControllerTest {
     @DisplayName("Login user should return 200 when authentication is successful")
     void testLoginUserReturns200WhenSuccessful() throws Exception {
         // Arrange: mock del servicio para autenticación exitosa
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-            .thenReturn(VALID_TOKEN);
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+            .thenReturn(LoginOutcome.success(VALID_TOKEN));
 
         // Act & Assert: enviar solicitud de login y validar respuesta
         mockMvc.perform(post(LOGIN_ENDPOINT)
@@ -206,15 +218,15 @@ class UserAuthenticationControllerTest {
             .andExpect(jsonPath("$.data.authToken").value(VALID_TOKEN))
             .andExpect(jsonPath("$.data.tokenType").value("Bearer"));
 
-        verify(authenticationService).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService).attemptLogin(any(LoginRequestDto.class));
     }
 
     @Test
     @DisplayName("Login user should return 404 when user not found")
     void testLoginUserReturns404WhenUserNotFound() throws Exception {
         // Arrange: mock del servicio para usuario no encontrado
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-            .thenThrow(new UserNotFoundException(USER_NOT_FOUND_MESSAGE));
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+            .thenReturn(LoginOutcome.failure(AuthenticationFailure.USER_NOT_FOUND));
 
         // Act & Assert: enviar solicitud de login y validar error 404
         mockMvc.perform(post(LOGIN_ENDPOINT)
@@ -225,15 +237,15 @@ class UserAuthenticationControllerTest {
             .andExpect(jsonPath("$.success").value(false))
             .andExpect(jsonPath("$.message").value(USER_NOT_FOUND_MESSAGE));
 
-        verify(authenticationService).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService).attemptLogin(any(LoginRequestDto.class));
     }
 
     @Test
     @DisplayName("Login user should return 401 when credentials are invalid")
     void testLoginUserReturns401WhenCredentialsInvalid() throws Exception {
         // Arrange: mock del servicio para credenciales inválidas
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-            .thenThrow(new InvalidCredentialsException("Credenciales inválidas parcialmente"));
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+            .thenReturn(LoginOutcome.failure(AuthenticationFailure.INVALID_CREDENTIALS));
 
         // Act & Assert: enviar solicitud de login y validar error 401
         mockMvc.perform(post(LOGIN_ENDPOINT)
@@ -242,17 +254,17 @@ class UserAuthenticationControllerTest {
             .andExpect(status().isUnauthorized())
             
             .andExpect(jsonPath("$.success").value(false))
-            .andExpect(jsonPath("$.message").value("Credenciales inválidas parcialmente"));
+            .andExpect(jsonPath("$.message").value(INVALID_CREDENTIALS_MESSAGE));
 
-        verify(authenticationService).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService).attemptLogin(any(LoginRequestDto.class));
     }
 
     @Test
     @DisplayName("Login user should return 404 for Spanish user not found message")
     void testLoginUserReturns404ForSpanishUserNotFoundMessage() throws Exception {
         // Arrange: mock del servicio para mensaje en español
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-            .thenThrow(new RuntimeException(USER_NOT_FOUND_MESSAGE));
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+            .thenReturn(LoginOutcome.failure(AuthenticationFailure.USER_NOT_FOUND));
 
         // Act & Assert: enviar solicitud de login y validar error 404
         mockMvc.perform(post(LOGIN_ENDPOINT)
@@ -263,15 +275,15 @@ class UserAuthenticationControllerTest {
             .andExpect(jsonPath("$.success").value(false))
             .andExpect(jsonPath("$.message").value(USER_NOT_FOUND_MESSAGE));
 
-        verify(authenticationService).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService).attemptLogin(any(LoginRequestDto.class));
     }
 
     @Test
     @DisplayName("Login user should return 401 for Spanish invalid credentials message")
     void testLoginUserReturns401ForSpanishInvalidCredentialsMessage() throws Exception {
         // Arrange: mock del servicio para mensaje de credenciales inválidas en español
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
-            .thenThrow(new RuntimeException("Credenciales inválidas parcialmente"));
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+            .thenReturn(LoginOutcome.failure(AuthenticationFailure.INVALID_CREDENTIALS));
 
         // Act & Assert: enviar solicitud de login y validar error 401
         mockMvc.perform(post(LOGIN_ENDPOINT)
@@ -280,16 +292,16 @@ class UserAuthenticationControllerTest {
             .andExpect(status().isUnauthorized())
             
             .andExpect(jsonPath("$.success").value(false))
-            .andExpect(jsonPath("$.message").value("Credenciales inválidas parcialmente"));
+            .andExpect(jsonPath("$.message").value(INVALID_CREDENTIALS_MESSAGE));
 
-        verify(authenticationService).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService).attemptLogin(any(LoginRequestDto.class));
     }
 
     @Test
     @DisplayName("Login user should return 400 for general runtime exception")
     void testLoginUserReturns400ForGeneralRuntimeException() throws Exception {
         // Arrange: mock del servicio para excepción general
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
             .thenThrow(new RuntimeException("General login error"));
 
         // Act & Assert: enviar solicitud de login y validar error 400
@@ -301,15 +313,15 @@ class UserAuthenticationControllerTest {
             .andExpect(jsonPath("$.success").value(false))
             .andExpect(jsonPath("$.message").value("General login error"));
 
-        verify(authenticationService).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService).attemptLogin(any(LoginRequestDto.class));
     }
 
     @Test
     @DisplayName("Logout user should return 200 when logout is successful")
     void testLogoutUserReturns200WhenSuccessful() throws Exception {
         // Arrange: mock del servicio para logout exitoso
-        when(authenticationService.validateTokenAndGetUsername(VALID_TOKEN))
-            .thenReturn(USERNAME);
+        when(authenticationService.resolveTokenUsername(VALID_TOKEN))
+            .thenReturn(Optional.of(USERNAME));
         doNothing().when(authenticationService).logoutUser(USERNAME);
 
         // Act & Assert: enviar solicitud de logout y validar respuesta
@@ -320,7 +332,7 @@ class UserAuthenticationControllerTest {
             .andExpect(jsonPath("$.success").value(true))
             .andExpect(jsonPath("$.message").value("Logout exitoso"));
 
-        verify(authenticationService).validateTokenAndGetUsername(VALID_TOKEN);
+        verify(authenticationService).resolveTokenUsername(VALID_TOKEN);
         verify(authenticationService).logoutUser(USERNAME);
     }
 
@@ -383,8 +395,8 @@ class UserAuthenticationControllerTest {
     @DisplayName("Logout user should return 401 when token validation fails")
     void testLogoutUserReturns401WhenTokenValidationFails() throws Exception {
         // Arrange: mock del servicio para token inválido
-        when(authenticationService.validateTokenAndGetUsername(INVALID_TOKEN))
-            .thenThrow(new RuntimeException(TOKEN_INVALID_MESSAGE));
+        when(authenticationService.resolveTokenUsername(INVALID_TOKEN))
+            .thenReturn(Optional.empty());
 
         // Act & Assert: enviar solicitud de logout con token inválido
         mockMvc.perform(post(LOGOUT_ENDPOINT)
@@ -394,7 +406,7 @@ class UserAuthenticationControllerTest {
             .andExpect(jsonPath("$.success").value(false))
             .andExpect(jsonPath("$.message").value(TOKEN_INVALID_MESSAGE));
 
-        verify(authenticationService).validateTokenAndGetUsername(INVALID_TOKEN);
+        verify(authenticationService).resolveTokenUsername(INVALID_TOKEN);
         verify(authenticationService, never()).logoutUser(anyString());
     }
 
@@ -402,8 +414,8 @@ class UserAuthenticationControllerTest {
     @DisplayName("Logout user should return 401 for token containing Invalid keyword")
     void testLogoutUserReturns401ForTokenContainingInvalidKeyword() throws Exception {
         // Arrange: mock del servicio para token con palabra Invalid
-        when(authenticationService.validateTokenAndGetUsername(anyString()))
-            .thenThrow(new RuntimeException("Invalid token signature"));
+        when(authenticationService.resolveTokenUsername(anyString()))
+            .thenReturn(Optional.empty());
 
         // Act & Assert: enviar solicitud de logout con token que contiene "Invalid"
         mockMvc.perform(post(LOGOUT_ENDPOINT)
@@ -413,7 +425,7 @@ class UserAuthenticationControllerTest {
             .andExpect(jsonPath("$.success").value(false))
             .andExpect(jsonPath("$.message").value(TOKEN_INVALID_MESSAGE));
 
-        verify(authenticationService).validateTokenAndGetUsername(VALID_TOKEN);
+        verify(authenticationService).resolveTokenUsername(VALID_TOKEN);
         verify(authenticationService, never()).logoutUser(anyString());
     }
 
@@ -421,7 +433,7 @@ class UserAuthenticationControllerTest {
     @DisplayName("Logout user should return 400 for non-token general exception")
     void testLogoutUserReturns400ForNonTokenGeneralException() throws Exception {
         // Arrange: mock del servicio para excepción general sin "Token"
-        when(authenticationService.validateTokenAndGetUsername(anyString()))
+        when(authenticationService.resolveTokenUsername(anyString()))
             .thenThrow(new RuntimeException("Database connection failed"));
 
         // Act & Assert: enviar solicitud de logout con error general
@@ -432,7 +444,7 @@ class UserAuthenticationControllerTest {
             .andExpect(jsonPath("$.success").value(false))
             .andExpect(jsonPath("$.message").value("Logout failed"));
 
-        verify(authenticationService).validateTokenAndGetUsername(VALID_TOKEN);
+        verify(authenticationService).resolveTokenUsername(VALID_TOKEN);
         verify(authenticationService, never()).logoutUser(anyString());
     }
 
@@ -441,17 +453,15 @@ class UserAuthenticationControllerTest {
     // =============================================================================
 
     /**
-     * Test para cubrir la branch faltante en registerUser línea 130:
-     * Condición: e.getMessage().contains("already exists") || e.getMessage().contains("ya registrado")
-     * Caso específico: RuntimeException con mensaje que contiene "ya registrado" pero NO "already exists"
+     * El status sale de AuthenticationFailure: un duplicado con mensaje propio sigue siendo 409
      */
     @Test
-    @DisplayName("Registro con RuntimeException 'ya registrado' debe retornar CONFLICT")
+    @DisplayName("Registro con UserAlreadyExistsException y mensaje propio debe retornar CONFLICT")
     void testRegisterUserRuntimeExceptionWithYaRegistradoShouldReturnConflict() throws Exception {
-        // Arrange: RuntimeException con mensaje que contiene solo "ya registrado"
-        UserRegistrationDto testRegistrationDto = new UserRegistrationDto(USERNAME, EMAIL, PASSWORD);
+        // Arrange
+        UserRegistrationDto testRegistrationDto = new UserRegistrationDto(USERNAME, PASSWORD, EMAIL);
         when(authenticationService.registerNewUser(any(UserRegistrationDto.class)))
-                .thenThrow(new RuntimeException("Email ya registrado en el sistema"));
+                .thenThrow(new UserAlreadyExistsException("Email ya registrado en el sistema"));
 
         // Act & Assert: debe retornar HTTP 409 CONFLICT
         mockMvc.perform(post(REGISTER_ENDPOINT)
@@ -465,22 +475,21 @@ class UserAuthenticationControllerTest {
     }
 
     /**
-     * Test para cubrir la branch faltante en registerUser línea 130:
-     * Caso específico: RuntimeException con mensaje que contiene "already exists" pero NO "ya registrado"
+     * El texto del mensaje ya no decide el status: una RuntimeException que dice "already exists" es un 400
      */
     @Test
-    @DisplayName("Registro con RuntimeException 'already exists' debe retornar CONFLICT")
-    void testRegisterUserRuntimeExceptionWithAlreadyExistsShouldReturnConflict() throws Exception {
-        // Arrange: RuntimeException con mensaje que contiene solo "already exists"
-        UserRegistrationDto duplicateDto = new UserRegistrationDto("duplicate", "duplicate@techcorp.com", PASSWORD);
+    @DisplayName("Registro con RuntimeException 'already exists' debe retornar BAD_REQUEST")
+    void testRegisterUserRuntimeExceptionWithAlreadyExistsShouldReturnBadRequest() throws Exception {
+        // Arrange
+        UserRegistrationDto duplicateDto = new UserRegistrationDto("duplicate", PASSWORD, "duplicate@techcorp.com");
         when(authenticationService.registerNewUser(any(UserRegistrationDto.class)))
                 .thenThrow(new RuntimeException("Username already exists in database"));
 
-        // Act & Assert: debe retornar HTTP 409 CONFLICT
+        // Act & Assert
         mockMvc.perform(post(REGISTER_ENDPOINT)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(duplicateDto)))
-                .andExpect(status().isConflict())
+                .andExpect(status().isBadRequest())
                 .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false))
                 .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Username already exists in database"));
 
@@ -488,14 +497,13 @@ class UserAuthenticationControllerTest {
     }
 
     /**
-     * Test para cubrir branch faltante con RuntimeException que NO contiene ni "already exists" ni "ya registrado"
-     * Debe ir por el path del return BAD_REQUEST por defecto
+     * Errores inesperados del registro: HTTP 400 con el envoltorio ApiResponseDto
      */
     @Test
     @DisplayName("Registro con RuntimeException sin keywords debe retornar BAD_REQUEST")
     void testRegisterUserRuntimeExceptionWithoutKeywordsShouldReturnBadRequest() throws Exception {
-        // Arrange: RuntimeException sin palabras clave específicas
-        UserRegistrationDto errorDto = new UserRegistrationDto("erroruser", "error@techcorp.com", PASSWORD);
+        // Arrange
+        UserRegistrationDto errorDto = new UserRegistrationDto("erroruser", PASSWORD, "error@techcorp.com");
         when(authenticationService.registerNewUser(any(UserRegistrationDto.class)))
                 .thenThrow(new RuntimeException("Error de conexión a base de datos"));
 
@@ -511,15 +519,14 @@ class UserAuthenticationControllerTest {
     }
 
     /**
-     * Test para cubrir la branch faltante en loginUser
-     * Probando RuntimeException sin palabras clave específicas para activar path alternativo
+     * Errores inesperados del login: HTTP 400 por defecto
      */
     @Test
     @DisplayName("Login con RuntimeException sin keywords debe retornar BAD_REQUEST")
     void testLoginUserRuntimeExceptionWithoutKeywordsShouldReturnBadRequest() throws Exception {
-        // Arrange: RuntimeException con mensaje que no coincide con ningún if
+        // Arrange
         LoginRequestDto unknownLoginRequest = new LoginRequestDto("unknownuser", "password");
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
                 .thenThrow(new RuntimeException("Error inesperado del sistema"));
 
         // Act & Assert: debe ir por el path BAD_REQUEST por defecto
@@ -530,74 +537,68 @@ class UserAuthenticationControllerTest {
                 .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false))
                 .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Error inesperado del sistema"));
 
-        verify(authenticationService).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService).attemptLogin(any(LoginRequestDto.class));
     }
 
     /**
-     * Test para verificar RuntimeException con mensaje parcial que puede afectar branches
+     * El texto del mensaje ya no decide el status: solo LoginOutcome/AuthenticationFailure producen un 401
      */
     @Test
-    @DisplayName("Login con RuntimeException 'Credenciales inválidas' debe retornar UNAUTHORIZED")
-    void testLoginUserRuntimeExceptionWithCredencialesInvalidasShouldReturnUnauthorized() throws Exception {
-        // Arrange: RuntimeException con mensaje que podría afectar la evaluación de conditions
+    @DisplayName("Login con RuntimeException 'Credenciales inválidas' debe retornar BAD_REQUEST")
+    void testLoginUserRuntimeExceptionWithCredencialesInvalidasShouldReturnBadRequest() throws Exception {
+        // Arrange
         LoginRequestDto partialLoginRequest = new LoginRequestDto("partialuser", "password");
-        when(authenticationService.authenticateUser(any(LoginRequestDto.class)))
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
                 .thenThrow(new RuntimeException("Credenciales inválidas parcialmente"));
 
-        // Act & Assert: debe activar el if de "Credenciales inválidas" y retornar UNAUTHORIZED
+        // Act & Assert
         mockMvc.perform(post(LOGIN_ENDPOINT)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(partialLoginRequest)))
-                .andExpect(status().isUnauthorized())
+                .andExpect(status().isBadRequest())
                 .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false))
                 .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Credenciales inválidas parcialmente"));
 
-        verify(authenticationService).authenticateUser(any(LoginRequestDto.class));
+        verify(authenticationService).attemptLogin(any(LoginRequestDto.class));
     }
 
     /**
-     * Test específico para cubrir la branch faltante en logout línea 326:
-     * Condición: e.getMessage().contains("Token") || e.getMessage().contains("Invalid") || e.getMessage().contains("inválido")
-     * Caso específico: RuntimeException con mensaje que contiene "Invalid" pero NO "Token" ni "inválido"
+     * Un error inesperado al resolver el token es un 400 "Logout failed", sin inspeccionar su mensaje
      */
     @Test
-    @DisplayName("Logout con RuntimeException 'Invalid' (en inglés) debe retornar UNAUTHORIZED")
-    void testLogoutUserRuntimeExceptionWithInvalidEnglishShouldReturnUnauthorized() throws Exception {
-        // Arrange: RuntimeException con mensaje que contiene "Invalid" pero no "Token" ni "inválido"
-        when(authenticationService.validateTokenAndGetUsername(anyString()))
+    @DisplayName("Logout con RuntimeException 'Invalid' (en inglés) debe retornar BAD_REQUEST")
+    void testLogoutUserRuntimeExceptionWithInvalidEnglishShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(authenticationService.resolveTokenUsername(anyString()))
                 .thenThrow(new RuntimeException("Invalid session state"));
 
-        // Act & Assert: debe activar el if con "Invalid" y retornar UNAUTHORIZED
-        // El mensaje será "Logout failed" porque NO contiene "Token", pero el status será 401 porque contiene "Invalid"
+        // Act & Assert
         mockMvc.perform(post(LOGOUT_ENDPOINT)
                         .header(AUTHORIZATION_HEADER, BEARER_TOKEN))
-                .andExpect(status().isUnauthorized())
+                .andExpect(status().isBadRequest())
                 .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false))
                 .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Logout failed"));
 
-        verify(authenticationService).validateTokenAndGetUsername(VALID_TOKEN);
+        verify(authenticationService).resolveTokenUsername(VALID_TOKEN);
         verify(authenticationService, never()).logoutUser(anyString());
     }
 
     /**
-     * Test específico para cubrir la missed branch en línea 326
-     * Condición: e.getMessage().contains("Invalid") && !contains("Token") && !contains("inválido")
-     * Este test cubre el caso donde el mensaje contiene "Invalid" únicamente
+     * Token que no se resuelve a un usuario: 401 por AuthenticationFailure.INVALID_TOKEN, sin excepción
      */
     @Test
-    void testLogoutUserRuntimeExceptionWithOnlyInvalidWordShouldReturnUnauthorized() throws Exception {
-        // Arrange: Mock que lance excepción con mensaje que solo contenga "Invalid"
-        when(authenticationService.validateTokenAndGetUsername(VALID_TOKEN))
-                .thenThrow(new RuntimeException("Invalid session detected"));
+    void testLogoutUserUnresolvedTokenShouldReturnUnauthorized() throws Exception {
+        // Arrange: el mock devuelve Optional.empty() por defecto
 
         // Act & Assert: Verificar que devuelve 401 (UNAUTHORIZED)
         mockMvc.perform(post(LOGOUT_ENDPOINT)
                         .header(AUTHORIZATION_HEADER, BEARER_TOKEN))
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false))
-                .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Logout failed"));
+                .andExpect(jsonPath(JSON_PATH_MESSAGE).value(TOKEN_INVALID_MESSAGE));
 
-        verify(authenticationService).validateTokenAndGetUsername(VALID_TOKEN);
+        verify(authenticationService).resolveTokenUsername(VALID_TOKEN);
+        verify(authenticationService, never()).revokeAccessToken(anyString());
         verify(authenticationService, never()).logoutUser(anyString());
     }
 
@@ -607,8 +608,8 @@ class UserAuthenticationControllerTest {
     @Test
     void testLogoutUserSuccessfulPath() throws Exception {
         // Arrange: Mock exitoso
-        when(authenticationService.validateTokenAndGetUsername(VALID_TOKEN))
-                .thenReturn("testuser");
+        when(authenticationService.resolveTokenUsername(VALID_TOKEN))
+                .thenReturn(Optional.of("testuser"));
 
         // Act & Assert: Verificar que devuelve 200 (OK)
         mockMvc.perform(post(LOGOUT_ENDPOINT)
@@ -617,7 +618,173 @@ class UserAuthenticationControllerTest {
                 .andExpect(jsonPath(JSON_PATH_SUCCESS).value(true))
                 .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Logout exitoso"));
 
-        verify(authenticationService).validateTokenAndGetUsername(VALID_TOKEN);
+        verify(authenticationService).resolveTokenUsername(VALID_TOKEN);
+        verify(authenticationService).revokeAccessToken(VALID_TOKEN);
         verify(authenticationService).logoutUser("testuser");
     }
+
+    @Test
+    @DisplayName("Login user should include refresh token and access token lifetime")
+    void testLoginUserIncludesRefreshToken() throws Exception {
+        // Arrange
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class))).thenReturn(LoginOutcome.success(VALID_TOKEN));
+        when(authenticationService.issueRefreshToken(USERNAME)).thenReturn(REFRESH_TOKEN);
+        when(authenticationService.getAccessTokenValiditySeconds()).thenReturn(900L);
+
+        // Act & Assert
+        mockMvc.perform(post(LOGIN_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequestDto)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.authToken").value(VALID_TOKEN))
+            .andExpect(jsonPath("$.data.refreshToken").value(REFRESH_TOKEN))
+            .andExpect(jsonPath("$.data.expiresIn").value(900));
+    }
+
+    @Test
+    @DisplayName("Refresh token should return 200 with rotated token pair")
+    void testRefreshTokenReturns200WhenSuccessful() throws Exception {
+        // Arrange
+        when(authenticationService.refreshSession(REFRESH_TOKEN))
+            .thenReturn(new SessionTokens(USERNAME, VALID_TOKEN, ROTATED_REFRESH_TOKEN, 900L));
+
+        // Act & Assert
+        mockMvc.perform(post(REFRESH_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto(REFRESH_TOKEN))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(JSON_PATH_SUCCESS).value(true))
+            .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Token renovado exitosamente"))
+            .andExpect(jsonPath("$.data.username").value(USERNAME))
+            .andExpect(jsonPath("$.data.authToken").value(VALID_TOKEN))
+            .andExpect(jsonPath("$.data.refreshToken").value(ROTATED_REFRESH_TOKEN))
+            .andExpect(jsonPath("$.data.tokenType").value("Bearer"));
+    }
+
+    @Test
+    @DisplayName("Refresh token should return 401 for invalid or reused refresh token")
+    void testRefreshTokenReturns401WhenInvalid() throws Exception {
+        // Arrange
+        when(authenticationService.refreshSession(REFRESH_TOKEN))
+            .thenThrow(new InvalidCredentialsException("Refresh token inválido"));
+
+        // Act & Assert
+        mockMvc.perform(post(REFRESH_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto(REFRESH_TOKEN))))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false))
+            .andExpect(jsonPath(JSON_PATH_MESSAGE).value("Refresh token inválido"));
+    }
+
+    @Test
+    @DisplayName("Login should return 503 with Retry-After when the hashing pool is saturated")
+    void testLoginReturns503WhenHashingPoolIsSaturated() throws Exception {
+        // Arrange
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+            .thenThrow(new PasswordHashingRejectedException("Servicio saturado, reintente en unos segundos", 1));
+
+        // Act & Assert
+        mockMvc.perform(post(LOGIN_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequestDto)))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"))
+            .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false));
+    }
+
+    @Test
+    @DisplayName("Login should return 429 with Retry-After when login attempts are exhausted")
+    void testLoginReturns429WhenAttemptsExceeded() throws Exception {
+        // Arrange
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+            .thenThrow(new LoginAttemptsExceededException("Demasiados intentos de inicio de sesión, reintente más tarde", 6));
+
+        // Act & Assert
+        mockMvc.perform(post(LOGIN_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequestDto)))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "6"))
+            .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false));
+    }
+
+    @Test
+    @DisplayName("Login should map an inactive account failure to its status without parsing the message")
+    void testLoginMapsAuthenticationFailureByEnum() throws Exception {
+        // Arrange
+        when(authenticationService.attemptLogin(any(LoginRequestDto.class)))
+            .thenReturn(LoginOutcome.failure(AuthenticationFailure.ACCOUNT_INACTIVE));
+
+        // Act & Assert
+        mockMvc.perform(post(LOGIN_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequestDto)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false))
+            .andExpect(jsonPath("$.message").value("Account is inactive"));
+    }
+
+    @Test
+    @DisplayName("Register should return 503 with Retry-After when the hashing pool is saturated")
+    void testRegisterReturns503WhenHashingPoolIsSaturated() throws Exception {
+        // Arrange
+        when(authenticationService.registerNewUser(any(UserRegistrationDto.class)))
+            .thenThrow(new PasswordHashingRejectedException("Servicio saturado, reintente en unos segundos", 2));
+
+        // Act & Assert
+        mockMvc.perform(post(REGISTER_ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registrationDto)))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "2"))
+            .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false));
+    }
+
+    @Test
+    @DisplayName("Register with Idempotency-Key should delegate to the idempotent registration")
+    void testRegisterWithIdempotencyKeyUsesIdempotentRegistration() throws Exception {
+        // Arrange
+        when(authenticationService.registerNewUser(any(UserRegistrationDto.class), eq(IDEMPOTENCY_KEY)))
+            .thenReturn(systemUser);
+
+        // Act & Assert
+        mockMvc.perform(post(REGISTER_ENDPOINT)
+                .header("Idempotency-Key", IDEMPOTENCY_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registrationDto)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(JSON_PATH_SUCCESS).value(true))
+            .andExpect(jsonPath("$.data.username").value(USERNAME));
+
+        verify(authenticationService, never()).registerNewUser(any(UserRegistrationDto.class));
+    }
+
+    @Test
+    @DisplayName("Login with Idempotency-Key should return the stored session and 422 when the key is reused")
+    void testLoginWithIdempotencyKey() throws Exception {
+        // Arrange
+        when(authenticationService.loginUser(any(LoginRequestDto.class), eq(IDEMPOTENCY_KEY)))
+            .thenReturn(new SessionTokens(USERNAME, VALID_TOKEN, REFRESH_TOKEN, 900L))
+            .thenThrow(new IdempotencyKeyReusedException("Idempotency-Key ya utilizada con otra petición"));
+
+        // Act & Assert
+        mockMvc.perform(post(LOGIN_ENDPOINT)
+                .header("Idempotency-Key", IDEMPOTENCY_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequestDto)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.authToken").value(VALID_TOKEN))
+            .andExpect(jsonPath("$.data.refreshToken").value(REFRESH_TOKEN))
+            .andExpect(jsonPath("$.data.expiresIn").value(900));
+
+        mockMvc.perform(post(LOGIN_ENDPOINT)
+                .header("Idempotency-Key", IDEMPOTENCY_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequestDto)))
+            .andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath(JSON_PATH_SUCCESS).value(false));
+
+        verify(authenticationService, never()).attemptLogin(any(LoginRequestDto.class));
+    }
 }
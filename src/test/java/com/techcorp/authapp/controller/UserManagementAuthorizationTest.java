@@ -0,0 +1,121 @@
+package com.techcorp.authapp.controller;
+
+import com.techcorp.authapp.config.SecurityConfiguration;
+import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.AccessTokenClaims;
+import com.techcorp.authapp.service.AccessTokenVerifier;
+import com.techcorp.authapp.service.VerifiedCredentialCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de autorización de UserManagementController con la cadena de seguridad real
+ * Cobertura: propietario, otro usuario y administración en /api/users/{username} y en la desactivación
+ */
+@WebMvcTest(UserManagementController.class)
+@Import(SecurityConfiguration.class)
+@DisplayName("UserManagementController - Autorización por propietario y rol de administración")
+class UserManagementAuthorizationTest {
+
+    private static final String OWNER_USERNAME = "test.user";
+    private static final String OTHER_USERNAME = "maria.gonzalez";
+    private static final String ADMIN_USERNAME = "admin";
+    private static final String PROFILE_ENDPOINT = "/api/users/" + OWNER_USERNAME;
+    private static final String DEACTIVATE_ENDPOINT = PROFILE_ENDPOINT + "/deactivate";
+    private static final String FORBIDDEN_MESSAGE = "Permisos insuficientes para este recurso";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private InMemoryUserRepository userRepository;
+
+    @MockBean
+    private VerifiedCredentialCache verifiedCredentialCache;
+
+    @MockBean
+    private AccessTokenVerifier accessTokenVerifier;
+
+    @BeforeEach
+    void setUp() {
+        // Arrange: un token por usuario; solo la cuenta aprovisionada tiene el rol guardado
+        for (String username : new String[] {OWNER_USERNAME, OTHER_USERNAME, ADMIN_USERNAME}) {
+            long now = System.currentTimeMillis();
+            when(accessTokenVerifier.verify(username + ".token"))
+                    .thenReturn(Optional.of(new AccessTokenClaims(username, "jti-" + username, now, now + 900_000, 0)));
+        }
+        when(userRepository.isAdministrator(ADMIN_USERNAME)).thenReturn(true);
+        when(userRepository.findByUsername(OWNER_USERNAME)).thenReturn(Optional.of(
+                new SystemUser("USR-12345", OWNER_USERNAME, "hash", "test.user@techcorp.com")));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{username} - El propietario consulta su propio perfil")
+    void testOwnerCanReadOwnProfile() throws Exception {
+        mockMvc.perform(get(PROFILE_ENDPOINT).header("Authorization", bearer(OWNER_USERNAME)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.username").value(OWNER_USERNAME));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{username} - Otro usuario recibe 403 con ErrorResponseDto")
+    void testNonOwnerCannotReadProfile() throws Exception {
+        mockMvc.perform(get(PROFILE_ENDPOINT).header("Authorization", bearer(OTHER_USERNAME)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.statusCode").value(403))
+                .andExpect(jsonPath("$.message").value(FORBIDDEN_MESSAGE))
+                .andExpect(jsonPath("$.path").value(PROFILE_ENDPOINT));
+
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{username} - Administración consulta cualquier perfil")
+    void testAdministratorCanReadAnyProfile() throws Exception {
+        mockMvc.perform(get(PROFILE_ENDPOINT).header("Authorization", bearer(ADMIN_USERNAME)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.username").value(OWNER_USERNAME));
+    }
+
+    @Test
+    @DisplayName("PUT /api/users/{username}/deactivate - Ni el propietario ni otro usuario pueden desactivar")
+    void testOwnerAndNonOwnerCannotDeactivate() throws Exception {
+        mockMvc.perform(put(DEACTIVATE_ENDPOINT).header("Authorization", bearer(OWNER_USERNAME)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value(FORBIDDEN_MESSAGE));
+        mockMvc.perform(put(DEACTIVATE_ENDPOINT).header("Authorization", bearer(OTHER_USERNAME)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value(FORBIDDEN_MESSAGE));
+
+        verify(userRepository, never()).updateUser(any());
+    }
+
+    @Test
+    @DisplayName("PUT /api/users/{username}/deactivate - Administración desactiva la cuenta")
+    void testAdministratorCanDeactivate() throws Exception {
+        mockMvc.perform(put(DEACTIVATE_ENDPOINT).header("Authorization", bearer(ADMIN_USERNAME)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(userRepository, times(1)).updateUser(any());
+        verify(userRepository, times(1)).revokeAllTokens(OWNER_USERNAME);
+    }
+
+    private static String bearer(String username) {
+        return "Bearer " + username + ".token";
+    }
+}
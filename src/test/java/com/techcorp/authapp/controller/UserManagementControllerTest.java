@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techcorp.authapp.config.TestSecurityConfig;
 import com.techcorp.authapp.model.SystemUser;
 import com.techcorp.authapp.repository.InMemoryUserRepository;
+import com.techcorp.authapp.service.VerifiedCredentialCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -64,6 +65,9 @@ class UserManagementControllerTest {
     @MockBean
     private InMemoryUserRepository userRepository;
 
+    @MockBean
+    private VerifiedCredentialCache verifiedCredentialCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -219,6 +223,8 @@ class UserManagementControllerTest {
 
         verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
         verify(userRepository, times(1)).updateUser(any(SystemUser.class));
+        verify(userRepository, times(1)).revokeAllTokens(TEST_USERNAME);
+        verify(verifiedCredentialCache, times(1)).invalidate(TEST_USERNAME);
     }
 
     @Test
@@ -372,4 +378,106 @@ class UserManagementControllerTest {
         verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
         verify(userRepository, times(1)).updateUser(argThat(user -> !user.isAccountActive()));
     }
+
+    @Test
+    @DisplayName("GET /api/users - Emite ETag por versión y responde 304 sin leer la lista si no cambió")
+    @WithMockUser(roles = "USER")
+    void testGetAllUsersWithMatchingETagReturnsNotModified() throws Exception {
+        // Arrange
+        when(userRepository.getDirectoryVersion()).thenReturn(42L);
+        when(userRepository.findAllUsers()).thenReturn(testUsersList);
+        String etag = mockMvc.perform(get(API_USERS_ENDPOINT))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get(API_USERS_ENDPOINT).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(content().string(""));
+        verify(userRepository, times(1)).findAllUsers();
+
+        // Act & Assert: con una versión nueva se devuelve la lista completa
+        when(userRepository.getDirectoryVersion()).thenReturn(43L);
+        mockMvc.perform(get(API_USERS_ENDPOINT).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(JSON_DATA_PATH).isArray());
+    }
+
+    @Test
+    @DisplayName("GET /api/users - Responde 304 a una lista de ETags que incluye el vigente y a *")
+    @WithMockUser(roles = "USER")
+    void testGetAllUsersWithEtagListOrWildcardReturnsNotModified() throws Exception {
+        // Arrange
+        when(userRepository.getDirectoryVersion()).thenReturn(42L);
+        when(userRepository.findAllUsers()).thenReturn(testUsersList);
+        String etag = mockMvc.perform(get(API_USERS_ENDPOINT))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get(API_USERS_ENDPOINT).header("If-None-Match", "W/\"stale\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        mockMvc.perform(get(API_USERS_ENDPOINT).header("If-None-Match", "*"))
+                .andExpect(status().isNotModified());
+        verify(userRepository, times(1)).findAllUsers();
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{username} - Responde 304 con el ETag vigente del usuario")
+    @WithMockUser(roles = "USER")
+    void testGetUserByUsernameWithMatchingETagReturnsNotModified() throws Exception {
+        // Arrange
+        when(userRepository.getUserVersion(TEST_USERNAME)).thenReturn(7L);
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
+        String etag = mockMvc.perform(get(API_USERS_ENDPOINT + "/" + TEST_USERNAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get(API_USERS_ENDPOINT + "/" + TEST_USERNAME).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
+    }
+
+    @Test
+    @DisplayName("GET /api/users?fields= - Escribe solo las propiedades pedidas de cada usuario")
+    @WithMockUser(roles = "USER")
+    void testGetAllUsersWithFieldsProjection() throws Exception {
+        // Arrange
+        when(userRepository.findAllUsers()).thenReturn(testUsersList);
+
+        // Act & Assert
+        mockMvc.perform(get(API_USERS_ENDPOINT).param("fields", "accountActive, username"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(JSON_SUCCESS_PATH).value(true))
+                .andExpect(jsonPath("$.data[0].username").value(TEST_USERNAME))
+                .andExpect(jsonPath("$.data[0].accountActive").value(true))
+                .andExpect(jsonPath("$.data[0].emailAddress").doesNotExist())
+                .andExpect(jsonPath("$.data[0].registrationDate").doesNotExist())
+                .andExpect(jsonPath("$.data[1].username").value("maria.gonzalez"))
+                .andExpect(header().string("ETag", "W/\"0;username,accountActive;json\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{username}?fields= - Proyecta el usuario y rechaza campos desconocidos con 400")
+    @WithMockUser(roles = "USER")
+    void testGetUserByUsernameWithFieldsProjection() throws Exception {
+        // Arrange
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
+
+        // Act & Assert
+        mockMvc.perform(get(API_USERS_ENDPOINT + "/" + TEST_USERNAME).param("fields", "registrationDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.registrationDate").exists())
+                .andExpect(jsonPath("$.data.username").doesNotExist());
+
+        mockMvc.perform(get(API_USERS_ENDPOINT + "/" + TEST_USERNAME).param("fields", "encodedPassword"))
+                .andExpect(status().isBadRequest());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.techcorp.authapp.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.techcorp.authapp.model.SystemUser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests para UserProjection
+ * Cobertura: caché por conjunto normalizado, formato de propiedades, validación de campos
+ */
+@DisplayName("UserProjection - Proyección de campos de usuario")
+class UserProjectionTest {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() { };
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("compile - Mismo conjunto en otro orden o con duplicados reutiliza la proyección compilada")
+    void testCompileReusesProjectionPerDistinctFieldSet() {
+        UserProjection projection = UserProjection.compile("username,accountActive");
+
+        assertThat(UserProjection.compile(" accountActive,username,username ")).isSameAs(projection);
+        assertThat(projection.getFields()).isEqualTo("username,accountActive");
+    }
+
+    @Test
+    @DisplayName("project - Escribe solo los campos pedidos con el mismo formato que la serialización completa")
+    void testProjectionMatchesFullSerialization() throws Exception {
+        // Arrange
+        SystemUser user = new SystemUser("USR-12345", "juan.perez", "$2a$12$hash", "juan.perez@techcorp.com");
+        user.setRegistrationDate(LocalDateTime.of(2024, 1, 15, 10, 30));
+        Map<String, Object> full = objectMapper.readValue(objectMapper.writeValueAsBytes(user), MAP_TYPE);
+
+        // Act
+        Map<String, Object> projected = objectMapper.readValue(
+                objectMapper.writeValueAsBytes(UserProjection.compile("registrationDate,userId").project(user)), MAP_TYPE);
+        List<Map<String, Object>> projectedList = objectMapper.readValue(
+                objectMapper.writeValueAsBytes(UserProjection.compile("username").project(List.of(user, user))),
+                new TypeReference<>() { });
+
+        // Assert
+        assertThat(projected).containsOnlyKeys("userId", "registrationDate");
+        assertThat(projected.get("registrationDate")).isEqualTo(full.get("registrationDate"));
+        assertThat(projectedList).hasSize(2).allSatisfy(item -> assertThat(item).containsOnlyKeys("username"));
+    }
+
+    @Test
+    @DisplayName("compile - Rechaza campos desconocidos, ocultos o una lista vacía")
+    void testCompileRejectsInvalidFields() {
+        assertThatThrownBy(() -> UserProjection.compile("username,encodedPassword"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("encodedPassword");
+        assertThatThrownBy(() -> UserProjection.compile(" , "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
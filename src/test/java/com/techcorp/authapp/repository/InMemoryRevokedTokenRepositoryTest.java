@@ -0,0 +1,77 @@
+package com.techcorp.authapp.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests para InMemoryRevokedTokenRepository
+ * Cobertura: revocación individual de jti, filtro de Bloom y purga de expirados
+ */
+@DisplayName("InMemoryRevokedTokenRepository - Filtro de jti revocados")
+class InMemoryRevokedTokenRepositoryTest {
+
+    private static final String TOKEN_ID = "9f1c2d3e-0000-4000-8000-000000000001";
+    private static final String OTHER_TOKEN_ID = "9f1c2d3e-0000-4000-8000-000000000002";
+
+    private InMemoryRevokedTokenRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryRevokedTokenRepository();
+    }
+
+    @Test
+    @DisplayName("isRevoked - Retorna false cuando no hay revocaciones")
+    void testIsRevokedReturnsFalseWhenEmpty() {
+        assertThat(repository.isRevoked(TOKEN_ID)).isFalse();
+        assertThat(repository.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("revokeTokenId - Solo el jti revocado queda invalidado")
+    void testRevokeTokenIdOnlyAffectsThatToken() {
+        // Act
+        repository.revokeTokenId(TOKEN_ID, System.currentTimeMillis() + 60_000);
+
+        // Assert
+        assertThat(repository.isRevoked(TOKEN_ID)).isTrue();
+        assertThat(repository.isRevoked(OTHER_TOKEN_ID)).isFalse();
+        assertThat(repository.countRevoked()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("purgeExpired - Elimina revocaciones de tokens ya expirados")
+    void testPurgeExpiredRemovesExpiredEntries() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        repository.revokeTokenId(TOKEN_ID, now - 1);
+        repository.revokeTokenId(OTHER_TOKEN_ID, now + 60_000);
+
+        // Act
+        int removed = repository.purgeExpired(now);
+
+        // Assert
+        assertThat(removed).isEqualTo(1);
+        assertThat(repository.isRevoked(TOKEN_ID)).isFalse();
+        assertThat(repository.isRevoked(OTHER_TOKEN_ID)).isTrue();
+    }
+
+    @Test
+    @DisplayName("isRevoked - Sin falsos negativos con muchas revocaciones")
+    void testNoFalseNegativesWithManyRevocations() {
+        // Arrange
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 10_000; i++) {
+            repository.revokeTokenId("jti-" + i, expiresAt);
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(repository.isRevoked("jti-" + i)).isTrue();
+        }
+        assertThat(repository.isRevoked("jti-no-revocado")).isFalse();
+    }
+}
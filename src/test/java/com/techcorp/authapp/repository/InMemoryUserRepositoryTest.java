@@ -1,6 +1,7 @@
 package com.techcorp.authapp.repository;
 
 import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.service.UserAlreadyExistsException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,7 +29,6 @@ class InMemoryUserRepositoryTest {
     private static final String TEST_USER_ID_2 = "USR-67890";
     private static final String NONEXISTENT_USERNAME = "nonexistent.user";
     private static final String NONEXISTENT_USER_ID = "USR-99999";
-    private static final String TEST_TOKEN = "test-token-12345";
     private static final String UPDATED_EMAIL = "updated.email@techcorp.com";
 
     private InMemoryUserRepository repository;
@@ -38,7 +38,7 @@ class InMemoryUserRepositoryTest {
     @BeforeEach
     void setUp() {
         repository = new InMemoryUserRepository();
-        
+
         // Configurar usuarios de prueba
         testUser1 = new SystemUser();
         testUser1.setUserId(TEST_USER_ID_1);
@@ -69,6 +69,21 @@ class InMemoryUserRepositoryTest {
         assertThat(savedUser.getEmailAddress()).isEqualTo(TEST_EMAIL_1);
     }
 
+    @Test
+    @DisplayName("saveUser - Un nombre ya ocupado lanza USER_ALREADY_EXISTS y conserva el usuario original")
+    void testSaveUserRejectsDuplicateUsername() {
+        // Arrange
+        repository.saveUser(testUser1);
+        SystemUser duplicate = new SystemUser("USR-DUP", TEST_USERNAME_1, "otroHash", "otro@techcorp.com");
+
+        // Act & Assert
+        assertThatThrownBy(() -> repository.saveUser(duplicate))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .hasMessage("Nombre de usuario ya registrado");
+        assertThat(repository.findByUsername(TEST_USERNAME_1)).containsSame(testUser1);
+        assertThat(repository.countUsers()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("findByUsername - Debe encontrar usuario existente")
     void testFindByUsernameReturnsExistingUser() {
@@ -157,7 +172,7 @@ class InMemoryUserRepositoryTest {
 
         // Assert
         assertThat(updatedUser.getEmailAddress()).isEqualTo(UPDATED_EMAIL);
-        
+
         Optional<SystemUser> retrievedUser = repository.findByUsername(TEST_USERNAME_1);
         assertThat(retrievedUser).isPresent();
         assertThat(retrievedUser.get().getEmailAddress()).isEqualTo(UPDATED_EMAIL);
@@ -231,54 +246,11 @@ class InMemoryUserRepositoryTest {
     }
 
     @Test
-    @DisplayName("storeUserToken - Debe almacenar token de usuario")
-    void testStoreUserTokenStoresTokenCorrectly() {
-        // Arrange
-        repository.saveUser(testUser1);
-
-        // Act
-        repository.storeUserToken(TEST_USERNAME_1, TEST_TOKEN);
-
-        // Assert
-        Optional<String> storedToken = repository.getUserToken(TEST_USERNAME_1);
-        assertThat(storedToken).isPresent();
-        assertThat(storedToken.get()).isEqualTo(TEST_TOKEN);
-    }
-
-    @Test
-    @DisplayName("getUserToken - Debe retornar Optional.empty para usuario sin token")
-    void testGetUserTokenReturnsEmptyForUserWithoutToken() {
-        // Arrange
-        repository.saveUser(testUser1);
-
-        // Act
-        Optional<String> token = repository.getUserToken(TEST_USERNAME_1);
-
-        // Assert
-        assertThat(token).isEmpty();
-    }
-
-    @Test
-    @DisplayName("removeUserToken - Debe eliminar token de usuario")
-    void testRemoveUserTokenRemovesTokenCorrectly() {
-        // Arrange
-        repository.saveUser(testUser1);
-        repository.storeUserToken(TEST_USERNAME_1, TEST_TOKEN);
-
-        // Act
-        repository.removeUserToken(TEST_USERNAME_1);
-
-        // Assert
-        Optional<String> token = repository.getUserToken(TEST_USERNAME_1);
-        assertThat(token).isEmpty();
-    }
-
-    @Test
-    @DisplayName("deleteUser con token - Debe eliminar usuario y su token")
-    void testDeleteUserWithTokenRemovesBothUserAndToken() {
+    @DisplayName("deleteUser con tokens emitidos - Debe eliminar usuario y revocar sus tokens")
+    void testDeleteUserRemovesUserAndRevokesTokens() {
         // Arrange
         repository.saveUser(testUser1);
-        repository.storeUserToken(TEST_USERNAME_1, TEST_TOKEN);
+        int epochBeforeDelete = repository.getTokenEpoch(TEST_USERNAME_1);
 
         // Act
         boolean deleted = repository.deleteUser(TEST_USERNAME_1);
@@ -286,21 +258,7 @@ class InMemoryUserRepositoryTest {
         // Assert
         assertThat(deleted).isTrue();
         assertThat(repository.findByUsername(TEST_USERNAME_1)).isEmpty();
-        assertThat(repository.getUserToken(TEST_USERNAME_1)).isEmpty();
-    }
-
-    @Test
-    @DisplayName("hasActiveToken - Debe verificar existencia de token activo")
-    void testHasActiveTokenVerifiesTokenExistence() {
-        // Arrange
-        repository.saveUser(testUser1);
-        
-        // Sin token
-        assertThat(repository.hasActiveToken(TEST_USERNAME_1)).isFalse();
-
-        // Con token
-        repository.storeUserToken(TEST_USERNAME_1, TEST_TOKEN);
-        assertThat(repository.hasActiveToken(TEST_USERNAME_1)).isTrue();
+        assertThat(repository.getTokenEpoch(TEST_USERNAME_1)).isGreaterThan(epochBeforeDelete);
     }
 
     @Test
@@ -309,16 +267,14 @@ class InMemoryUserRepositoryTest {
         // Arrange & Act - Múltiples operaciones
         repository.saveUser(testUser1);
         repository.saveUser(testUser2);
-        repository.storeUserToken(TEST_USERNAME_1, TEST_TOKEN);
-        
+
         testUser1.setEmailAddress(UPDATED_EMAIL);
         repository.updateUser(testUser1);
 
         // Assert - Verificar estado final
         assertThat(repository.countUsers()).isEqualTo(2L);
         assertThat(repository.countActiveUsers()).isOne();
-        assertThat(repository.getUserToken(TEST_USERNAME_1)).isPresent();
-        
+
         Optional<SystemUser> updatedUser = repository.findByUsername(TEST_USERNAME_1);
         assertThat(updatedUser).isPresent();
         assertThat(updatedUser.get().getEmailAddress()).isEqualTo(UPDATED_EMAIL);
@@ -347,65 +303,66 @@ class InMemoryUserRepositoryTest {
     }
 
     @Test
-    @DisplayName("clearAllTokens - Debe limpiar todos los tokens")
-    void testClearAllTokensRemovesAllTokens() {
-        // Arrange
-        repository.saveUser(testUser1);
-        repository.saveUser(testUser2);
-        repository.storeUserToken(TEST_USERNAME_1, TEST_TOKEN);
-        repository.storeUserToken(TEST_USERNAME_2, "another-token");
-
-        // Verificar que los tokens existen
-        assertThat(repository.hasActiveToken(TEST_USERNAME_1)).isTrue();
-        assertThat(repository.hasActiveToken(TEST_USERNAME_2)).isTrue();
+    @DisplayName("getTokenEpoch - Usuario sin revocaciones tiene época 0")
+    void testGetTokenEpochDefaultsToZero() {
+        // Act & Assert
+        assertThat(repository.getTokenEpoch(TEST_USERNAME_1)).isZero();
+    }
 
+    @Test
+    @DisplayName("revokeAllTokens - Avanza la época de revocación del usuario")
+    void testRevokeAllTokensAdvancesEpoch() {
         // Act
-        repository.clearAllTokens();
+        int firstEpoch = repository.revokeAllTokens(TEST_USERNAME_1);
+        int secondEpoch = repository.revokeAllTokens(TEST_USERNAME_1);
 
         // Assert
-        assertThat(repository.hasActiveToken(TEST_USERNAME_1)).isFalse();
-        assertThat(repository.hasActiveToken(TEST_USERNAME_2)).isFalse();
-        assertThat(repository.getUserToken(TEST_USERNAME_1)).isEmpty();
-        assertThat(repository.getUserToken(TEST_USERNAME_2)).isEmpty();
+        assertThat(firstEpoch).isEqualTo(1);
+        assertThat(secondEpoch).isEqualTo(2);
+        assertThat(repository.getTokenEpoch(TEST_USERNAME_1)).isEqualTo(2);
+        assertThat(repository.getTokenEpoch(TEST_USERNAME_2)).isZero();
     }
 
     @Test
-    @DisplayName("isTokenValid - Debe validar token correcto")
-    void testIsTokenValidReturnsTrueForValidToken() {
+    @DisplayName("deleteUser - Revoca los tokens emitidos al usuario eliminado")
+    void testDeleteUserRevokesTokens() {
         // Arrange
         repository.saveUser(testUser1);
-        repository.storeUserToken(TEST_USERNAME_1, TEST_TOKEN);
 
-        // Act & Assert
-        assertThat(repository.isTokenValid(TEST_USERNAME_1, TEST_TOKEN)).isTrue();
-    }
-
-    @Test
-    @DisplayName("isTokenValid - Debe rechazar token incorrecto")
-    void testIsTokenValidReturnsFalseForInvalidToken() {
-        // Arrange
-        repository.saveUser(testUser1);
-        repository.storeUserToken(TEST_USERNAME_1, TEST_TOKEN);
+        // Act
+        repository.deleteUser(TEST_USERNAME_1);
 
-        // Act & Assert
-        assertThat(repository.isTokenValid(TEST_USERNAME_1, "wrong-token")).isFalse();
+        // Assert: un usuario recreado con el mismo nombre no hereda tokens anteriores
+        assertThat(repository.getTokenEpoch(TEST_USERNAME_1)).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("isTokenValid - Debe rechazar usuario sin token")
-    void testIsTokenValidReturnsFalseForUserWithoutToken() {
+    @DisplayName("Versiones - Avanzan con alta, modificación y baja; la del usuario cambia solo con sus cambios")
+    void testVersionsAdvanceOnEveryChange() {
         // Arrange
+        long initialDirectoryVersion = repository.getDirectoryVersion();
+
+        // Act & Assert: alta
         repository.saveUser(testUser1);
-        // No almacenar token
+        long afterSave = repository.getDirectoryVersion();
+        long user1Version = repository.getUserVersion(TEST_USERNAME_1);
+        assertThat(afterSave).isGreaterThan(initialDirectoryVersion);
+        assertThat(user1Version).isEqualTo(afterSave);
 
-        // Act & Assert
-        assertThat(repository.isTokenValid(TEST_USERNAME_1, TEST_TOKEN)).isFalse();
-    }
+        // Act & Assert: un cambio en otro usuario no altera la versión del primero
+        repository.saveUser(testUser2);
+        assertThat(repository.getDirectoryVersion()).isGreaterThan(afterSave);
+        assertThat(repository.getUserVersion(TEST_USERNAME_1)).isEqualTo(user1Version);
 
-    @Test
-    @DisplayName("isTokenValid - Debe rechazar usuario inexistente")
-    void testIsTokenValidReturnsFalseForNonexistentUser() {
-        // Act & Assert
-        assertThat(repository.isTokenValid(NONEXISTENT_USERNAME, TEST_TOKEN)).isFalse();
+        // Act & Assert: modificación
+        testUser1.setEmailAddress(UPDATED_EMAIL);
+        repository.updateUser(testUser1);
+        assertThat(repository.getUserVersion(TEST_USERNAME_1)).isGreaterThan(user1Version);
+
+        // Act & Assert: baja
+        long beforeDelete = repository.getDirectoryVersion();
+        repository.deleteUser(TEST_USERNAME_1);
+        assertThat(repository.getDirectoryVersion()).isGreaterThan(beforeDelete);
+        assertThat(repository.getUserVersion(TEST_USERNAME_1)).isZero();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.techcorp.authapp.service;
+
+import com.techcorp.authapp.repository.InMemoryRevokedTokenRepository;
+import com.techcorp.authapp.repository.InMemoryUserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests para AccessTokenVerifier
+ * Cobertura: verificación de firma cacheada y revocación comprobada en cada llamada
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccessTokenVerifier - Verificación compartida de access tokens")
+class AccessTokenVerifierTest {
+
+    private static final String TEST_USERNAME = "test.user";
+
+    @Spy
+    private TokenGenerationService tokenService = new TokenGenerationService();
+
+    @Spy
+    private InMemoryUserRepository userRepository = new InMemoryUserRepository();
+
+    @Spy
+    private InMemoryRevokedTokenRepository revokedTokenRepository = new InMemoryRevokedTokenRepository();
+
+    @InjectMocks
+    private AccessTokenVerifier accessTokenVerifier;
+
+    @Test
+    @DisplayName("verify - Token válido retorna sus claims")
+    void testVerifyValidToken() {
+        // Arrange
+        String token = tokenService.generateUserToken(TEST_USERNAME, 0);
+
+        // Act
+        Optional<AccessTokenClaims> claims = accessTokenVerifier.verify(token);
+
+        // Assert
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getUsername()).isEqualTo(TEST_USERNAME);
+    }
+
+    @Test
+    @DisplayName("verify - La firma se verifica una sola vez por token mientras no expire")
+    void testVerifyCachesSignatureVerification() {
+        // Arrange
+        String token = tokenService.generateUserToken(TEST_USERNAME, 0);
+
+        // Act
+        accessTokenVerifier.verify(token);
+        accessTokenVerifier.verify(token);
+        accessTokenVerifier.verify(token);
+
+        // Assert
+        verify(tokenService, times(1)).verifyAccessToken(token);
+        assertThat(accessTokenVerifier.countCachedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("verify - Un token cacheado deja de ser válido al revocar la época del usuario")
+    void testVerifyRejectsCachedTokenAfterEpochRevocation() {
+        // Arrange
+        String token = tokenService.generateUserToken(TEST_USERNAME, 0);
+        assertThat(accessTokenVerifier.verify(token)).isPresent();
+
+        // Act
+        userRepository.revokeAllTokens(TEST_USERNAME);
+
+        // Assert
+        assertThat(accessTokenVerifier.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("verify - Un token cacheado deja de ser válido al revocar su jti")
+    void testVerifyRejectsCachedTokenAfterTokenIdRevocation() {
+        // Arrange
+        String token = tokenService.generateUserToken(TEST_USERNAME, 0);
+        AccessTokenClaims claims = accessTokenVerifier.verify(token).orElseThrow();
+
+        // Act
+        revokedTokenRepository.revokeTokenId(claims.getTokenId(), claims.getExpiresAtMillis());
+
+        // Assert
+        assertThat(accessTokenVerifier.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("verify - Tokens nulos, vacíos o manipulados retornan vacío sin lanzar excepción")
+    void testVerifyRejectsInvalidTokens() {
+        // Arrange
+        String token = tokenService.generateUserToken(TEST_USERNAME, 0);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThat(accessTokenVerifier.verify(null)).isEmpty();
+        assertThat(accessTokenVerifier.verify("   ")).isEmpty();
+        assertThat(accessTokenVerifier.verify("not-a-jwt")).isEmpty();
+        assertThat(accessTokenVerifier.verify(tampered)).isEmpty();
+        assertThat(accessTokenVerifier.countCachedTokens()).isZero();
+    }
+}
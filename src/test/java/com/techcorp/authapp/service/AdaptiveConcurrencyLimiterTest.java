@@ -0,0 +1,116 @@
+package com.techcorp.authapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests para AdaptiveConcurrencyLimiter
+ * Cobertura: descarte inmediato sobre el límite, ajuste del límite por latencia y métricas
+ */
+@DisplayName("AdaptiveConcurrencyLimiter - Límite adaptativo de concurrencia")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("execute - Por encima del límite descarta de inmediato con Retry-After")
+    void testExecuteDropsWhenLimitReached() throws Exception {
+        // Arrange: límite fijo de 1 con una petición en curso
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 1, 1, 1, 0.2, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> limiter.execute(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }), callers);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act & Assert
+        assertThatThrownBy(() -> limiter.execute(() -> true))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .satisfies(e -> assertThat(((ServiceOverloadedException) e).getRetryAfterSeconds()).isEqualTo(2));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.getMetrics())
+                .containsEntry("limit", 1)
+                .containsEntry("inFlight", 0)
+                .containsEntry("acceptedRequests", 1L)
+                .containsEntry("droppedRequests", 1L)
+                .containsEntry("dropRate", 0.5);
+    }
+
+    @Test
+    @DisplayName("onSample - La latencia estable amplía el límite y la creciente lo reduce")
+    void testLimitFollowsLatency() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 20, 4, 200, 0.2, 1);
+
+        // Act: con demanda en el límite y latencia estable, el límite crece
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(250 * MILLIS, limiter.getLimit());
+        }
+        int grownLimit = limiter.getLimit();
+
+        // Act: la latencia se multiplica por contención de CPU, el límite baja
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(1000 * MILLIS, limiter.getLimit());
+        }
+
+        // Assert
+        assertThat(grownLimit).isGreaterThan(20);
+        assertThat(limiter.getLimit()).isLessThan(grownLimit).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("onSample - Sin demanda suficiente no modifica el límite")
+    void testLimitUnchangedWhenAppLimited() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 20, 4, 200, 0.2, 1);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(250 * MILLIS, 1);
+        }
+
+        // Assert
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("execute - Deshabilitado ejecuta sin contabilizar")
+    void testExecuteWhenDisabled() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(false, 1, 1, 1, 0.2, 1);
+
+        // Act
+        String result = limiter.execute(() -> "ok");
+
+        // Assert
+        assertThat(result).isEqualTo("ok");
+        assertThat(limiter.getMetrics())
+                .containsEntry("enabled", false)
+                .containsEntry("acceptedRequests", 0L);
+    }
+}
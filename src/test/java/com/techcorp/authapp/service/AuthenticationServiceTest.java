@@ -3,6 +3,7 @@ package com.techcorp.authapp.service;
 import com.techcorp.authapp.dto.LoginRequestDto;
 import com.techcorp.authapp.dto.UserRegistrationDto;
 import com.techcorp.authapp.model.SystemUser;
+import com.techcorp.authapp.repository.InMemoryRevokedTokenRepository;
 import com.techcorp.authapp.repository.InMemoryUserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,15 +11,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -35,15 +40,18 @@ class AuthenticationServiceTest {
     private static final String TEST_PASSWORD = "password123";
     private static final String ENCODED_PASSWORD = "encodedPassword123";
     private static final String TEST_TOKEN = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.test";
+    private static final String TEST_REFRESH_TOKEN = "familyId.secret";
+    private static final String ROTATED_REFRESH_TOKEN = "familyId.rotatedSecret";
     private static final String USER_ID = "USR-12345";
-    
+
     // Error messages
     private static final String USER_ALREADY_EXISTS_MESSAGE = "Nombre de usuario ya registrado";
     private static final String USER_NOT_FOUND_MESSAGE = "Usuario no encontrado";
     private static final String INVALID_CREDENTIALS_MESSAGE = "Credenciales inválidas";
     private static final String ACCOUNT_INACTIVE_MESSAGE = "Account is inactive";
     private static final String INVALID_TOKEN_MESSAGE = "Token inválido";
-    private static final String INVALID_OR_EXPIRED_TOKEN_MESSAGE = "Token inválido o expirado";
+    private static final String INVALID_REFRESH_TOKEN_MESSAGE = "Refresh token inválido";
+    private static final String TEST_TOKEN_ID = "jti-1";
 
     @Mock
     private InMemoryUserRepository userRepository;
@@ -51,9 +59,33 @@ class AuthenticationServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor(1, 4, 1);
+
     @Mock
     private TokenGenerationService tokenService;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private InMemoryRevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private AccessTokenVerifier accessTokenVerifier;
+
+    @Mock
+    private VerifiedCredentialCache verifiedCredentialCache;
+
+    @Spy
+    private LoginVerificationCoalescer loginVerificationCoalescer = new LoginVerificationCoalescer(new CredentialDigester());
+
+    @Spy
+    private AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(true, 20, 4, 200, 0.2, 1);
+
+    @Spy
+    private LoginAttemptThrottle loginAttemptThrottle = new LoginAttemptThrottle(true, 10, 10, 50, 120, 1000);
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -118,13 +150,44 @@ class AuthenticationServiceTest {
         verify(userRepository, never()).saveUser(any(SystemUser.class));
     }
 
+    @Test
+    @DisplayName("authenticateUser - Intentos agotados se rechazan antes de buscar al usuario o verificar la contraseña")
+    void testAuthenticateUserWhenAttemptsExceeded() {
+        // Arrange: el usuario agota su ráfaga de intentos
+        for (int i = 0; i < 10; i++) {
+            loginAttemptThrottle.checkAttempt(TEST_USERNAME, null);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> authenticationService.authenticateUser(loginRequest))
+                .isInstanceOf(LoginAttemptsExceededException.class);
+
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("authenticateUser - Sobre el límite de concurrencia descarta sin verificar la contraseña")
+    void testAuthenticateUserWhenConcurrencyLimitReached() {
+        // Arrange: el limitador descarta la petición
+        doThrow(new ServiceOverloadedException("Servicio saturado, reintente en unos segundos", 1))
+                .when(concurrencyLimiter).execute(any());
+
+        // Act & Assert
+        assertThatThrownBy(() -> authenticationService.authenticateUser(loginRequest))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
     @Test
     @DisplayName("authenticateUser - Autenticación exitosa retorna token")
     void testAuthenticateUserSuccessfully() {
         // Arrange: se configura el mock para autenticación exitosa
         when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(TEST_PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
-        when(tokenService.generateUserToken(TEST_USERNAME)).thenReturn(TEST_TOKEN);
+        when(tokenService.generateUserToken(TEST_USERNAME, 0)).thenReturn(TEST_TOKEN);
 
         // Act: se autentica el usuario
         String result = authenticationService.authenticateUser(loginRequest);
@@ -134,8 +197,72 @@ class AuthenticationServiceTest {
 
         verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
         verify(passwordEncoder, times(1)).matches(TEST_PASSWORD, ENCODED_PASSWORD);
-        verify(tokenService, times(1)).generateUserToken(TEST_USERNAME);
-        verify(userRepository, times(1)).storeUserToken(TEST_USERNAME, TEST_TOKEN);
+        verify(tokenService, times(1)).generateUserToken(TEST_USERNAME, 0);
+        // Hash vigente: no se regenera
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).updateUser(any(SystemUser.class));
+        verify(verifiedCredentialCache, times(1)).remember(TEST_USERNAME, TEST_PASSWORD, ENCODED_PASSWORD);
+    }
+
+    @Test
+    @DisplayName("authenticateUser - Credencial verificada recientemente evita BCrypt")
+    void testAuthenticateUserWithCachedCredentialSkipsBcrypt() {
+        // Arrange
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
+        when(verifiedCredentialCache.matches(TEST_USERNAME, TEST_PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+        when(tokenService.generateUserToken(TEST_USERNAME, 0)).thenReturn(TEST_TOKEN);
+
+        // Act
+        String result = authenticationService.authenticateUser(loginRequest);
+
+        // Assert
+        assertThat(result).isEqualTo(TEST_TOKEN);
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("authenticateUser - Hash con coste inferior al calibrado se regenera tras un login exitoso")
+    void testAuthenticateUserUpgradesOutdatedHash() {
+        // Arrange: el hash almacenado usa un coste menor al actual
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(TEST_PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(ENCODED_PASSWORD)).thenReturn(true);
+        when(passwordEncoder.encode(TEST_PASSWORD)).thenReturn("upgradedEncodedPassword");
+        when(userRepository.existsByUsername(TEST_USERNAME)).thenReturn(true);
+        when(tokenService.generateUserToken(TEST_USERNAME, 0)).thenReturn(TEST_TOKEN);
+
+        // Act
+        String result = authenticationService.authenticateUser(loginRequest);
+
+        // Assert: el usuario queda guardado con el nuevo hash, calculado después como trabajo masivo
+        assertThat(result).isEqualTo(TEST_TOKEN);
+        verify(passwordHashingExecutor).submit(eq(HashingPriority.BULK), any());
+        verify(userRepository, timeout(5000)).updateUser(testUser);
+        assertThat(testUser.getEncodedPassword()).isEqualTo("upgradedEncodedPassword");
+    }
+
+    @Test
+    @DisplayName("authenticateUser - Con el pool saturado el login se completa, conserva el hash y reintenta en el siguiente")
+    void testAuthenticateUserKeepsOutdatedHashWhenRehashIsRejected() {
+        // Arrange: el pool rechaza el rehash masivo
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(TEST_PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(ENCODED_PASSWORD)).thenReturn(true);
+        when(tokenService.generateUserToken(TEST_USERNAME, 0)).thenReturn(TEST_TOKEN);
+        doThrow(new PasswordHashingRejectedException("Servicio saturado, reintente en unos segundos", 1))
+                .when(passwordHashingExecutor).submit(eq(HashingPriority.BULK), any());
+
+        // Act
+        String first = authenticationService.authenticateUser(loginRequest);
+        String second = authenticationService.authenticateUser(loginRequest);
+
+        // Assert: ambos logins tienen éxito, el hash no cambia y cada login vuelve a intentar el rehash
+        assertThat(first).isEqualTo(TEST_TOKEN);
+        assertThat(second).isEqualTo(TEST_TOKEN);
+        assertThat(testUser.getEncodedPassword()).isEqualTo(ENCODED_PASSWORD);
+        verify(passwordHashingExecutor, times(2)).submit(eq(HashingPriority.BULK), any());
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).updateUser(any());
     }
 
     @Test
@@ -151,7 +278,66 @@ class AuthenticationServiceTest {
 
         verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
         verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(tokenService, never()).generateUserToken(anyString());
+        verify(tokenService, never()).generateUserToken(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("authenticateUser - Con coste igualado, un usuario inexistente verifica contra el hash señuelo")
+    void testAuthenticateUserWhenUserNotFoundWithEqualizedCost() {
+        // Arrange
+        ReflectionTestUtils.setField(authenticationService, "equalizeUnknownUserCost", true);
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("dummyEncodedPassword");
+        when(passwordEncoder.matches(TEST_PASSWORD, "dummyEncodedPassword")).thenReturn(false);
+
+        // Act & Assert: misma respuesta, pero tras pagar una verificación BCrypt
+        assertThatThrownBy(() -> authenticationService.authenticateUser(loginRequest))
+                .isInstanceOf(UserNotFoundException.class)
+                .hasMessage(USER_NOT_FOUND_MESSAGE);
+        assertThatThrownBy(() -> authenticationService.authenticateUser(loginRequest))
+                .isInstanceOf(UserNotFoundException.class);
+
+        // El señuelo se genera una sola vez; cada intento pasa por el coalescer y por BCrypt
+        verify(passwordEncoder, times(1)).encode(anyString());
+        verify(passwordEncoder, times(2)).matches(TEST_PASSWORD, "dummyEncodedPassword");
+        verify(loginVerificationCoalescer, times(2)).verify(eq(TEST_USERNAME), eq(TEST_PASSWORD), any());
+        verify(tokenService, never()).generateUserToken(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("attemptLogin - Los fallos esperados se devuelven como resultado, sin excepción")
+    void testAttemptLoginReturnsFailureOutcomes() {
+        // Arrange: usuario inexistente y contraseña incorrecta
+        LoginRequestDto unknownUser = new LoginRequestDto("desconocido", TEST_PASSWORD);
+        when(userRepository.findByUsername("desconocido")).thenReturn(Optional.empty());
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(TEST_PASSWORD, ENCODED_PASSWORD)).thenReturn(false);
+
+        // Act
+        LoginOutcome notFound = authenticationService.attemptLogin(unknownUser);
+        LoginOutcome wrongPassword = authenticationService.attemptLogin(loginRequest);
+
+        // Assert: instancias compartidas por tipo de fallo
+        assertThat(notFound.isSuccess()).isFalse();
+        assertThat(notFound.getFailure()).isEqualTo(AuthenticationFailure.USER_NOT_FOUND);
+        assertThat(wrongPassword.getFailure()).isEqualTo(AuthenticationFailure.INVALID_CREDENTIALS);
+        assertThat(wrongPassword).isSameAs(LoginOutcome.failure(AuthenticationFailure.INVALID_CREDENTIALS));
+        assertThatThrownBy(wrongPassword::orElseThrow)
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessage(INVALID_CREDENTIALS_MESSAGE)
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+        verify(tokenService, never()).generateUserToken(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("resolveTokenUsername - Un token inválido devuelve vacío sin lanzar")
+    void testResolveTokenUsernameWithInvalidToken() {
+        // Arrange
+        when(accessTokenVerifier.verify(TEST_TOKEN)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThat(authenticationService.resolveTokenUsername(TEST_TOKEN)).isEmpty();
+        assertThat(authenticationService.resolveTokenUsername(" ")).isEmpty();
     }
 
     @Test
@@ -168,7 +354,8 @@ class AuthenticationServiceTest {
 
         verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
         verify(passwordEncoder, times(1)).matches(TEST_PASSWORD, ENCODED_PASSWORD);
-        verify(tokenService, never()).generateUserToken(anyString());
+        verify(tokenService, never()).generateUserToken(anyString(), anyInt());
+        verify(verifiedCredentialCache, never()).remember(anyString(), any(), anyString());
     }
 
     @Test
@@ -186,27 +373,78 @@ class AuthenticationServiceTest {
 
         verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
         verify(passwordEncoder, times(1)).matches(TEST_PASSWORD, ENCODED_PASSWORD);
-        verify(tokenService, never()).generateUserToken(anyString());
+        verify(tokenService, never()).generateUserToken(anyString(), anyInt());
     }
 
     @Test
-    @DisplayName("logoutUser - Logout exitoso remueve token del repositorio")
+    @DisplayName("logoutUser - Logout exitoso revoca las sesiones de refresh del usuario")
     void testLogoutUserSuccessfully() {
         // Arrange: no hay configuración especial necesaria
 
         // Act: se hace logout del usuario
         authenticationService.logoutUser(TEST_USERNAME);
 
-        // Assert: se verifica que se removió el token
-        verify(userRepository, times(1)).removeUserToken(TEST_USERNAME);
+        // Assert: se verifica que se revocaron las sesiones
+        verify(refreshTokenService, times(1)).revokeUserSessions(TEST_USERNAME);
+    }
+
+    @Test
+    @DisplayName("issueRefreshToken - Delega la emisión al servicio de refresh tokens")
+    void testIssueRefreshTokenDelegatesToRefreshTokenService() {
+        // Arrange
+        when(refreshTokenService.issueRefreshToken(TEST_USERNAME)).thenReturn(TEST_REFRESH_TOKEN);
+
+        // Act
+        String result = authenticationService.issueRefreshToken(TEST_USERNAME);
+
+        // Assert
+        assertThat(result).isEqualTo(TEST_REFRESH_TOKEN);
     }
 
     @Test
-    @DisplayName("validateTokenAndGetUsername - Token válido retorna username")
+    @DisplayName("refreshSession - Refresh token vigente retorna nuevo par de tokens")
+    void testRefreshSessionSuccessfully() {
+        // Arrange
+        when(refreshTokenService.rotateRefreshToken(TEST_REFRESH_TOKEN))
+                .thenReturn(new RotatedRefreshToken(TEST_USERNAME, ROTATED_REFRESH_TOKEN));
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
+        when(tokenService.generateUserToken(TEST_USERNAME, 0)).thenReturn(TEST_TOKEN);
+        when(tokenService.getAccessTokenValiditySeconds()).thenReturn(900L);
+
+        // Act
+        SessionTokens result = authenticationService.refreshSession(TEST_REFRESH_TOKEN);
+
+        // Assert
+        assertThat(result.getUsername()).isEqualTo(TEST_USERNAME);
+        assertThat(result.getAccessToken()).isEqualTo(TEST_TOKEN);
+        assertThat(result.getRefreshToken()).isEqualTo(ROTATED_REFRESH_TOKEN);
+        assertThat(result.getExpiresInSeconds()).isEqualTo(900L);
+        verify(refreshTokenService, never()).revokeUserSessions(anyString());
+    }
+
+    @Test
+    @DisplayName("refreshSession - Cuenta inactiva revoca sesiones y lanza InvalidCredentialsException")
+    void testRefreshSessionWithInactiveAccount() {
+        // Arrange
+        testUser.setAccountActive(false);
+        when(refreshTokenService.rotateRefreshToken(TEST_REFRESH_TOKEN))
+                .thenReturn(new RotatedRefreshToken(TEST_USERNAME, ROTATED_REFRESH_TOKEN));
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
+
+        // Act & Assert
+        assertThatThrownBy(() -> authenticationService.refreshSession(TEST_REFRESH_TOKEN))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessage(INVALID_REFRESH_TOKEN_MESSAGE);
+
+        verify(refreshTokenService, times(1)).revokeUserSessions(TEST_USERNAME);
+        verify(tokenService, never()).generateUserToken(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("validateTokenAndGetUsername - Token válido retorna username del verificador compartido")
     void testValidateTokenAndGetUsernameSuccessfully() {
-        // Arrange: se configura token válido
-        when(tokenService.validateTokenAndGetUsername(TEST_TOKEN)).thenReturn(TEST_USERNAME);
-        when(userRepository.isTokenValid(TEST_USERNAME, TEST_TOKEN)).thenReturn(true);
+        // Arrange: el verificador acepta el token
+        when(accessTokenVerifier.verify(TEST_TOKEN)).thenReturn(Optional.of(accessTokenClaims(0)));
 
         // Act: se valida el token
         String result = authenticationService.validateTokenAndGetUsername(TEST_TOKEN);
@@ -214,67 +452,63 @@ class AuthenticationServiceTest {
         // Assert: se verifica el username
         assertThat(result).isEqualTo(TEST_USERNAME);
 
-        verify(tokenService, times(1)).validateTokenAndGetUsername(TEST_TOKEN);
-        verify(userRepository, times(1)).isTokenValid(TEST_USERNAME, TEST_TOKEN);
+        verify(accessTokenVerifier, times(1)).verify(TEST_TOKEN);
     }
 
     @Test
-    @DisplayName("validateTokenAndGetUsername - Token nulo lanza RuntimeException")
-    void testValidateTokenAndGetUsernameWithNullToken() {
-        // Arrange: token nulo
+    @DisplayName("validateTokenAndGetUsername - Token rechazado por el verificador lanza RuntimeException")
+    void testValidateTokenAndGetUsernameWithRejectedToken() {
+        // Arrange: token revocado, expirado o con firma inválida
+        when(accessTokenVerifier.verify(TEST_TOKEN)).thenReturn(Optional.empty());
 
-        // Act & Assert: se verifica que se lanza la excepción correcta
-        assertThatThrownBy(() -> authenticationService.validateTokenAndGetUsername(null))
+        // Act & Assert
+        assertThatThrownBy(() -> authenticationService.validateTokenAndGetUsername(TEST_TOKEN))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage(INVALID_TOKEN_MESSAGE);
-
-        verify(tokenService, never()).validateTokenAndGetUsername(anyString());
-        verify(userRepository, never()).isTokenValid(anyString(), anyString());
     }
 
     @Test
-    @DisplayName("validateTokenAndGetUsername - Token vacío lanza RuntimeException")
-    void testValidateTokenAndGetUsernameWithEmptyToken() {
-        // Arrange: token vacío
+    @DisplayName("revokeAccessToken - Registra el jti del token hasta su expiración")
+    void testRevokeAccessTokenRegistersTokenId() {
+        // Arrange
+        AccessTokenClaims claims = accessTokenClaims(0);
+        when(tokenService.verifyAccessToken(TEST_TOKEN)).thenReturn(claims);
 
-        // Act & Assert: se verifica que se lanza la excepción correcta
-        assertThatThrownBy(() -> authenticationService.validateTokenAndGetUsername("   "))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage(INVALID_TOKEN_MESSAGE);
+        // Act
+        authenticationService.revokeAccessToken(TEST_TOKEN);
 
-        verify(tokenService, never()).validateTokenAndGetUsername(anyString());
-        verify(userRepository, never()).isTokenValid(anyString(), anyString());
+        // Assert
+        verify(revokedTokenRepository, times(1)).revokeTokenId(TEST_TOKEN_ID, claims.getExpiresAtMillis());
     }
 
     @Test
-    @DisplayName("validateTokenAndGetUsername - Token no válido en repositorio lanza RuntimeException")
-    void testValidateTokenAndGetUsernameWithInvalidTokenInRepository() {
-        // Arrange: token válido en servicio pero no en repositorio
-        when(tokenService.validateTokenAndGetUsername(TEST_TOKEN)).thenReturn(TEST_USERNAME);
-        when(userRepository.isTokenValid(TEST_USERNAME, TEST_TOKEN)).thenReturn(false);
+    @DisplayName("validateTokenAndGetUsername - Token nulo lanza RuntimeException")
+    void testValidateTokenAndGetUsernameWithNullToken() {
+        // Arrange: token nulo
 
         // Act & Assert: se verifica que se lanza la excepción correcta
-        assertThatThrownBy(() -> authenticationService.validateTokenAndGetUsername(TEST_TOKEN))
+        assertThatThrownBy(() -> authenticationService.validateTokenAndGetUsername(null))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage(INVALID_TOKEN_MESSAGE);
 
-        verify(tokenService, times(1)).validateTokenAndGetUsername(TEST_TOKEN);
-        verify(userRepository, times(1)).isTokenValid(TEST_USERNAME, TEST_TOKEN);
+        verify(accessTokenVerifier, never()).verify(anyString());
     }
 
     @Test
-    @DisplayName("validateTokenAndGetUsername - Excepción en validación de token lanza RuntimeException")
-    void testValidateTokenAndGetUsernameWithTokenServiceException() {
-        // Arrange: servicio de tokens lanza excepción
-        when(tokenService.validateTokenAndGetUsername(TEST_TOKEN))
-                .thenThrow(new RuntimeException("Token malformado"));
+    @DisplayName("validateTokenAndGetUsername - Token vacío lanza RuntimeException")
+    void testValidateTokenAndGetUsernameWithEmptyToken() {
+        // Arrange: token vacío
 
         // Act & Assert: se verifica que se lanza la excepción correcta
-        assertThatThrownBy(() -> authenticationService.validateTokenAndGetUsername(TEST_TOKEN))
+        assertThatThrownBy(() -> authenticationService.validateTokenAndGetUsername("   "))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage(INVALID_TOKEN_MESSAGE);
 
-        verify(tokenService, times(1)).validateTokenAndGetUsername(TEST_TOKEN);
-        verify(userRepository, never()).isTokenValid(anyString(), anyString());
+        verify(accessTokenVerifier, never()).verify(anyString());
+    }
+
+    private AccessTokenClaims accessTokenClaims(int revocationEpoch) {
+        long now = System.currentTimeMillis();
+        return new AccessTokenClaims(TEST_USERNAME, TEST_TOKEN_ID, now, now + 900_000, revocationEpoch);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+package com.techcorp.authapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests para IdempotencyKeyStore
+ * Cobertura: reintentos servidos desde el resultado guardado, duplicados concurrentes,
+ * clave reutilizada con otra petición, fallos transitorios no guardados, expiración y límite de entradas
+ */
+@DisplayName("IdempotencyKeyStore - Reintentos con Idempotency-Key")
+class IdempotencyKeyStoreTest {
+
+    private static final String USERNAME = "mobile.client";
+    private static final String PASSWORD = "Mobile-Passw0rd";
+    private static final String KEY = "5f1c2a9e-retry";
+
+    private final IdempotencyKeyStore store = new IdempotencyKeyStore(new CredentialDigester(), true, 600, 100);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("execute - Un reintento con la misma clave recibe el resultado guardado sin recalcular")
+    void testRetryReturnsStoredResult() {
+        AtomicInteger computations = new AtomicInteger();
+
+        String first = store.execute("register", KEY, USERNAME, PASSWORD, () -> "user-" + computations.incrementAndGet());
+        String retry = store.execute("register", KEY, USERNAME, PASSWORD, () -> "user-" + computations.incrementAndGet());
+
+        assertThat(retry).isEqualTo(first).isEqualTo("user-1");
+        assertThat(computations).hasValue(1);
+        assertThat(store.getReplayedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("execute - Un duplicado concurrente espera a la ejecución en curso")
+    void testConcurrentDuplicateWaitsForInFlight() throws Exception {
+        // Arrange: la primera ejecución queda bloqueada hasta que llega el duplicado
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> store.execute("register", KEY, USERNAME, PASSWORD, () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "registered";
+        }), callers);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() -> store.execute("register", KEY, USERNAME, PASSWORD, () -> {
+            computations.incrementAndGet();
+            return "duplicate";
+        }), callers);
+        waitUntilReplayed(1);
+
+        // Act
+        release.countDown();
+
+        // Assert: ambos reciben el resultado de la única ejecución
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("registered");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("registered");
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute - La misma clave con otra petición del mismo usuario se rechaza")
+    void testKeyReusedWithDifferentRequestIsRejected() {
+        store.execute("login", KEY, USERNAME, PASSWORD, () -> "session");
+
+        assertThatThrownBy(() -> store.execute("login", KEY, USERNAME, "Other-Passw0rd", () -> "other"))
+            .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    @DisplayName("execute - La clave se aplica por usuario: otro cliente con la misma clave no la ve ni la bloquea")
+    void testKeysAreScopedByUsername() {
+        store.execute("login", KEY, USERNAME, PASSWORD, () -> "session");
+
+        assertThat(store.execute("login", KEY, "other.user", PASSWORD, () -> "other")).isEqualTo("other");
+        assertThat(store.execute("login", KEY, USERNAME, PASSWORD, () -> "recomputed")).isEqualTo("session");
+        assertThat(store.countStoredKeys()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("execute - La clave se aplica por operación")
+    void testKeysAreScopedByOperation() {
+        store.execute("register", KEY, USERNAME, PASSWORD, () -> "registered");
+
+        assertThat(store.execute("login", KEY, USERNAME, PASSWORD, () -> "session")).isEqualTo("session");
+    }
+
+    @Test
+    @DisplayName("execute - Los fallos definitivos se repiten sin recalcular")
+    void testDefinitiveFailuresAreReplayed() {
+        AtomicInteger computations = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> store.execute("register", KEY, USERNAME, PASSWORD, () -> {
+                computations.incrementAndGet();
+                throw AuthenticationFailure.USER_ALREADY_EXISTS.toException();
+            })).isInstanceOf(UserAlreadyExistsException.class);
+        }
+
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute - Los fallos transitorios no se guardan: el siguiente reintento vuelve a ejecutar")
+    void testTransientFailuresAreNotStored() {
+        assertThatThrownBy(() -> store.execute("register", KEY, USERNAME, PASSWORD, () -> {
+            throw new ServiceOverloadedException("Servicio saturado, reintente en unos segundos", 1);
+        })).isInstanceOf(ServiceOverloadedException.class);
+
+        assertThat(store.execute("register", KEY, USERNAME, PASSWORD, () -> "registered")).isEqualTo("registered");
+        assertThat(store.getReplayedRequests()).isZero();
+    }
+
+    @Test
+    @DisplayName("execute - Un resultado expirado se vuelve a calcular")
+    void testExpiredResultIsRecomputed() {
+        IdempotencyKeyStore expiring = new IdempotencyKeyStore(new CredentialDigester(), true, 0, 100);
+
+        expiring.execute("register", KEY, USERNAME, PASSWORD, () -> "first");
+
+        assertThat(expiring.execute("register", KEY, USERNAME, PASSWORD, () -> "second")).isEqualTo("second");
+    }
+
+    @Test
+    @DisplayName("execute - Con el almacén lleno la petición se atiende sin guardar el resultado")
+    void testFullStoreSkipsStoring() {
+        IdempotencyKeyStore small = new IdempotencyKeyStore(new CredentialDigester(), true, 600, 1);
+        small.execute("register", "first-key", USERNAME, PASSWORD, () -> "first");
+
+        assertThat(small.execute("register", KEY, USERNAME, PASSWORD, () -> "second")).isEqualTo("second");
+        assertThat(small.execute("register", KEY, USERNAME, PASSWORD, () -> "third")).isEqualTo("third");
+        assertThat(small.countStoredKeys()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("execute - Una clave vacía o demasiado larga se rechaza")
+    void testInvalidKeyIsRejected() {
+        assertThatThrownBy(() -> store.execute("register", " ", USERNAME, PASSWORD, () -> "user"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.execute("register", "k".repeat(256), USERNAME, PASSWORD, () -> "user"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void waitUntilReplayed(long expected) throws InterruptedException {
+        for (int i = 0; i < 500 && store.getReplayedRequests() < expected; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(store.getReplayedRequests()).isEqualTo(expected);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
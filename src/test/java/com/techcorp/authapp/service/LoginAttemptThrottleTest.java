@@ -0,0 +1,98 @@
+package com.techcorp.authapp.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests para LoginAttemptThrottle
+ * Cobertura: ráfaga por usuario y por cliente, Retry-After, memoria acotada y deshabilitado
+ */
+@DisplayName("LoginAttemptThrottle - Token buckets por usuario y cliente")
+class LoginAttemptThrottleTest {
+
+    @Test
+    @DisplayName("checkAttempt - Admite la ráfaga del usuario y rechaza el siguiente intento con Retry-After")
+    void testUserBurstExhausted() {
+        // Arrange: 3 intentos de ráfaga, 1 por minuto
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(true, 3, 1, 100, 100, 1000);
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAttempt("victima", "10.0.0." + i);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> throttle.checkAttempt("victima", "10.0.0.9"))
+                .isInstanceOf(LoginAttemptsExceededException.class)
+                .satisfies(e -> assertThat(((LoginAttemptsExceededException) e).getRetryAfterSeconds())
+                        .isBetween(1L, 60L));
+        assertThatCode(() -> throttle.checkAttempt("otro.usuario", "10.0.0.9")).doesNotThrowAnyException();
+        assertThat(throttle.getMetrics()).containsEntry("throttledAttempts", 1L);
+    }
+
+    @Test
+    @DisplayName("checkAttempt - Un cliente agotado se rechaza sin crear buckets de usuario")
+    void testClientBurstExhausted() {
+        // Arrange
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(true, 100, 100, 2, 1, 1000);
+        throttle.checkAttempt("usuario1", "203.0.113.7");
+        throttle.checkAttempt("usuario2", "203.0.113.7");
+
+        // Act & Assert
+        assertThatThrownBy(() -> throttle.checkAttempt("usuario3", "203.0.113.7"))
+                .isInstanceOf(LoginAttemptsExceededException.class);
+        assertThat(throttle.getMetrics())
+                .containsEntry("trackedUsers", 2)
+                .containsEntry("trackedClients", 1);
+    }
+
+    @Test
+    @DisplayName("checkAttempt - Con la tabla llena de claves activas no crece y desaloja la más inactiva")
+    void testTableStaysBounded() {
+        // Arrange
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(true, 5, 1, 5, 1, 10);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            throttle.checkAttempt("usuario" + i, null);
+        }
+
+        // Assert
+        assertThat(throttle.getMetrics())
+                .containsEntry("trackedUsers", 10)
+                .containsEntry("evictedEntries", 40L);
+    }
+
+    @Test
+    @DisplayName("checkAttempt - Con la tabla llena una clave nueva sigue limitada")
+    void testNewKeyIsThrottledWhenTableIsFull() {
+        // Arrange: la tabla de usuarios está llena de claves activas
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(true, 2, 1, 5, 1, 10);
+        for (int i = 0; i < 10; i++) {
+            throttle.checkAttempt("usuario" + i, null);
+        }
+
+        // Act: una clave nueva consume su ráfaga
+        throttle.checkAttempt("atacante", null);
+        throttle.checkAttempt("atacante", null);
+
+        // Assert: el siguiente intento se rechaza en lugar de pasar sin límite
+        assertThatThrownBy(() -> throttle.checkAttempt("atacante", null))
+                .isInstanceOf(LoginAttemptsExceededException.class);
+    }
+
+    @Test
+    @DisplayName("checkAttempt - Deshabilitado no limita ni registra claves")
+    void testDisabled() {
+        // Arrange
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(false, 1, 1, 1, 1, 10);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            throttle.checkAttempt("usuario", "10.0.0.1");
+        }
+        assertThat(throttle.getMetrics()).containsEntry("trackedUsers", 0);
+    }
+}
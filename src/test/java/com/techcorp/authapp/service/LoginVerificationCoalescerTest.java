@@ -0,0 +1,122 @@
+package com.techcorp.authapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests para LoginVerificationCoalescer
+ * Cobertura: intentos idénticos concurrentes comparten una verificación; intentos distintos no
+ */
+@DisplayName("LoginVerificationCoalescer - Deduplicación de logins concurrentes")
+class LoginVerificationCoalescerTest {
+
+    private static final String USERNAME = "retry.client";
+    private static final String PASSWORD = "Retry-Passw0rd";
+
+    private final LoginVerificationCoalescer coalescer = new LoginVerificationCoalescer(new CredentialDigester());
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("verify - Intentos idénticos concurrentes ejecutan una sola verificación")
+    void testConcurrentIdenticalAttemptsShareVerification() throws Exception {
+        // Arrange: la primera verificación queda bloqueada hasta que llega el segundo intento
+        AtomicInteger verifications = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> coalescer.verify(USERNAME, PASSWORD, () -> {
+            verifications.incrementAndGet();
+            started.countDown();
+            await(release);
+            return true;
+        }), callers);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> coalescer.verify(USERNAME, PASSWORD, () -> {
+            verifications.incrementAndGet();
+            return false;
+        }), callers);
+        waitUntilCoalesced(1);
+
+        // Act
+        release.countDown();
+
+        // Assert: ambos reciben el resultado de la única verificación
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("verify - Contraseñas distintas no se combinan")
+    void testDifferentPasswordsAreVerifiedIndependently() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> correct = CompletableFuture.supplyAsync(() -> coalescer.verify(USERNAME, PASSWORD, () -> {
+            started.countDown();
+            await(release);
+            return true;
+        }), callers);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act: un intento con otra contraseña corre su propia verificación mientras la primera sigue en curso
+        boolean wrong = coalescer.verify(USERNAME, "wrong-password", () -> false);
+        release.countDown();
+
+        // Assert
+        assertThat(wrong).isFalse();
+        assertThat(correct.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(coalescer.getCoalescedVerifications()).isZero();
+    }
+
+    @Test
+    @DisplayName("verify - Los intentos secuenciales no reutilizan resultados ya terminados")
+    void testSequentialAttemptsAreNotCached() {
+        AtomicInteger verifications = new AtomicInteger();
+
+        coalescer.verify(USERNAME, PASSWORD, () -> verifications.incrementAndGet() > 0);
+        coalescer.verify(USERNAME, PASSWORD, () -> verifications.incrementAndGet() > 0);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("verify - Los errores de la verificación se propagan")
+    void testVerificationErrorsPropagate() {
+        assertThatThrownBy(() -> coalescer.verify(USERNAME, PASSWORD, () -> {
+            throw new PasswordHashingRejectedException("Servicio saturado, reintente en unos segundos", 1);
+        })).isInstanceOf(PasswordHashingRejectedException.class);
+    }
+
+    private void waitUntilCoalesced(long expected) throws InterruptedException {
+        for (int i = 0; i < 500 && coalescer.getCoalescedVerifications() < expected; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(coalescer.getCoalescedVerifications()).isEqualTo(expected);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
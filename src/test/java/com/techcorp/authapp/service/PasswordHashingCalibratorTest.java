@@ -0,0 +1,71 @@
+package com.techcorp.authapp.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests para PasswordHashingCalibrator
+ * Se usan costes bajos (4-6) para que la calibración sea inmediata
+ */
+@DisplayName("PasswordHashingCalibrator - Calibración del coste de BCrypt")
+class PasswordHashingCalibratorTest {
+
+    @Test
+    @DisplayName("calibrate - Con presupuesto holgado elige el coste máximo permitido")
+    void testCalibrateChoosesMaxStrengthWithinBudget() {
+        // Arrange
+        PasswordHashingCalibrator calibrator = new PasswordHashingCalibrator(true, 12, 10_000, 4, 6);
+
+        // Act
+        calibrator.calibrate();
+
+        // Assert
+        assertThat(calibrator.getStrength()).isEqualTo(6);
+        Map<String, Object> report = calibrator.getCalibrationReport();
+        assertThat(report)
+                .containsEntry("strength", 6)
+                .containsEntry("calibrated", true)
+                .containsEntry("targetHashMillis", 10_000L);
+        assertThat(measuredMillis(report)).containsOnlyKeys(4, 5, 6);
+    }
+
+    @Test
+    @DisplayName("calibrate - Sin presupuesto suficiente nunca baja del coste mínimo")
+    void testCalibrateNeverGoesBelowMinStrength() {
+        // Arrange: presupuesto imposible de cumplir
+        PasswordHashingCalibrator calibrator = new PasswordHashingCalibrator(true, 12, -1, 5, 8);
+
+        // Act
+        calibrator.calibrate();
+
+        // Assert: se mide solo el mínimo y se queda en él
+        assertThat(calibrator.getStrength()).isEqualTo(5);
+        assertThat(measuredMillis(calibrator.getCalibrationReport())).containsOnlyKeys(5);
+    }
+
+    @Test
+    @DisplayName("calibrate - Deshabilitada usa el coste configurado sin medir")
+    void testCalibrationDisabledUsesConfiguredStrength() {
+        // Arrange
+        PasswordHashingCalibrator calibrator = new PasswordHashingCalibrator(false, 11, 250, 10, 16);
+
+        // Act
+        calibrator.calibrate();
+
+        // Assert
+        assertThat(calibrator.getStrength()).isEqualTo(11);
+        assertThat(calibrator.getCalibrationReport())
+                .containsEntry("calibrated", false)
+                .containsEntry("strength", 11);
+        assertThat(measuredMillis(calibrator.getCalibrationReport())).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, Long> measuredMillis(Map<String, Object> report) {
+        return (Map<Integer, Long>) report.get("measuredMillisByStrength");
+    }
+}
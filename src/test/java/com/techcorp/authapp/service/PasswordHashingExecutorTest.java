@@ -0,0 +1,269 @@
+package com.techcorp.authapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests para PasswordHashingExecutor
+ * Cobertura: ejecución en el pool, tareas sin espera, rechazo con cola llena, propagación de errores, prioridades y métricas
+ */
+@DisplayName("PasswordHashingExecutor - Pool acotado de hashing")
+class PasswordHashingExecutorTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(10);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("execute - Ejecuta la tarea en un hilo del pool y registra métricas")
+    void testExecuteRunsOnHashingPool() {
+        // Arrange
+        executor = new PasswordHashingExecutor(2, 4, 1);
+
+        // Act
+        String threadName = executor.execute(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertThat(threadName).startsWith("password-hashing-");
+        Map<String, Object> metrics = executor.getMetrics();
+        assertThat(metrics)
+                .containsEntry("threads", 2)
+                .containsEntry("queueCapacity", 4)
+                .containsEntry("completedTasks", 1L)
+                .containsEntry("rejectedTasks", 0L)
+                .containsKeys("avgQueueWaitMs", "maxQueueWaitMs", "avgExecutionMs");
+    }
+
+    @Test
+    @DisplayName("submit - Encola sin esperar y el hashing anidado corre en el mismo hilo del pool")
+    void testSubmitRunsNestedHashingInline() throws Exception {
+        // Arrange: un solo hilo, que una tarea anidada encolada bloquearía
+        executor = new PasswordHashingExecutor(1, 4, 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        Future<String> submitted = executor.submit(HashingPriority.BULK, () -> {
+            release.await(5, TimeUnit.SECONDS);
+            String outer = Thread.currentThread().getName();
+            return outer + "/" + executor.execute(HashingPriority.REGISTRATION, () -> Thread.currentThread().getName());
+        });
+
+        // Assert: submit vuelve antes de que la tarea termine
+        assertThat(submitted.isDone()).isFalse();
+        release.countDown();
+        String[] threadNames = submitted.get(5, TimeUnit.SECONDS).split("/");
+        assertThat(threadNames[0]).startsWith("password-hashing-").isEqualTo(threadNames[1]);
+        assertThat(executor.getMetrics()).containsEntry("completedTasks", 1L);
+    }
+
+    @Test
+    @DisplayName("execute - Con el pool y la cola llenos rechaza de inmediato con Retry-After")
+    void testExecuteRejectsWhenSaturated() throws Exception {
+        // Arrange: un hilo ocupado y una tarea en cola
+        executor = new PasswordHashingExecutor(1, 1, 3);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }), callers);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> true), callers);
+        waitUntilQueued(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.execute(() -> true))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .satisfies(e -> assertThat(((PasswordHashingRejectedException) e).getRetryAfterSeconds()).isEqualTo(3));
+        assertThat(executor.getMetrics()).containsEntry("rejectedTasks", 1L);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("execute - Propaga las RuntimeException de la tarea sin envolverlas")
+    void testExecutePropagatesRuntimeExceptions() {
+        // Arrange
+        executor = new PasswordHashingExecutor(1, 1, 1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw new IllegalArgumentException("hash inválido");
+        }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("hash inválido");
+    }
+
+    @Test
+    @DisplayName("Constructor - Sin hilos configurados usa tantos hilos como núcleos")
+    void testDefaultsToAvailableProcessors() {
+        executor = new PasswordHashingExecutor(0, 8, 1);
+
+        assertThat(executor.getMetrics()).containsEntry("threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    @DisplayName("execute - Con el pool ocupado despacha login, luego registro y por último el trabajo masivo")
+    void testExecuteDispatchesByPriority() throws Exception {
+        // Arrange: un hilo ocupado y una tarea en cola por prioridad, encoladas de menor a mayor urgencia
+        executor = new PasswordHashingExecutor(1, 8, 1);
+        CountDownLatch release = blockSingleThread();
+        List<HashingPriority> executionOrder = new CopyOnWriteArrayList<>();
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[3];
+        HashingPriority[] arrivalOrder = {HashingPriority.BULK, HashingPriority.REGISTRATION, HashingPriority.LOGIN};
+        for (int i = 0; i < arrivalOrder.length; i++) {
+            HashingPriority priority = arrivalOrder[i];
+            pending[i] = CompletableFuture.supplyAsync(
+                    () -> executor.execute(priority, () -> executionOrder.add(priority)), callers);
+            waitUntilQueued(i + 1);
+        }
+
+        // Act
+        release.countDown();
+        CompletableFuture.allOf(pending).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(executionOrder).containsExactly(
+                HashingPriority.LOGIN, HashingPriority.REGISTRATION, HashingPriority.BULK);
+    }
+
+    @Test
+    @DisplayName("execute - Una tarea que supera el umbral de inanición se adelanta a las más prioritarias")
+    void testExecutePromotesStarvingTasks() throws Exception {
+        // Arrange: peso mínimo para masivo y umbral de 50 ms
+        executor = new PasswordHashingExecutor(1, 8, 1, 100, 10, 1, 50, 4, 2);
+        CountDownLatch release = blockSingleThread();
+        List<HashingPriority> executionOrder = new CopyOnWriteArrayList<>();
+        CompletableFuture<Boolean> bulk = CompletableFuture.supplyAsync(
+                () -> executor.execute(HashingPriority.BULK, () -> executionOrder.add(HashingPriority.BULK)), callers);
+        waitUntilQueued(1);
+        Thread.sleep(100);
+        CompletableFuture<Boolean> login = CompletableFuture.supplyAsync(
+                () -> executor.execute(HashingPriority.LOGIN, () -> executionOrder.add(HashingPriority.LOGIN)), callers);
+        waitUntilQueued(2);
+
+        // Act
+        release.countDown();
+        CompletableFuture.allOf(bulk, login).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(executionOrder).containsExactly(HashingPriority.BULK, HashingPriority.LOGIN);
+        assertThat(priorityMetrics("bulk")).containsEntry("starvationPromotions", 1L);
+    }
+
+    @Test
+    @DisplayName("execute - Los logins siguen saliendo primero con una cola de registros más antigua que el umbral")
+    void testLoginsDispatchFirstDespiteStarvingBacklog() throws Exception {
+        // Arrange: seis registros esperan más que el umbral de 50 ms antes de que lleguen dos logins
+        executor = new PasswordHashingExecutor(1, 16, 1, 8, 2, 1, 50, 4, 2);
+        CountDownLatch release = blockSingleThread();
+        List<HashingPriority> executionOrder = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            tasks.add(CompletableFuture.supplyAsync(() -> executor.execute(HashingPriority.REGISTRATION,
+                    () -> executionOrder.add(HashingPriority.REGISTRATION)), callers));
+        }
+        waitUntilQueued(6);
+        Thread.sleep(100);
+        for (int i = 0; i < 2; i++) {
+            tasks.add(CompletableFuture.supplyAsync(() -> executor.execute(HashingPriority.LOGIN,
+                    () -> executionOrder.add(HashingPriority.LOGIN)), callers));
+        }
+        waitUntilQueued(8);
+
+        // Act
+        release.countDown();
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        // Assert: como mucho un registro adelantado y los dos logins justo detrás
+        assertThat(executionOrder).hasSize(8);
+        assertThat(executionOrder.subList(0, 3)).containsOnlyOnce(HashingPriority.REGISTRATION);
+        assertThat(executionOrder.subList(1, 3)).containsOnly(HashingPriority.LOGIN);
+        assertThat(executionOrder.subList(3, 8)).containsOnly(HashingPriority.REGISTRATION);
+    }
+
+    @Test
+    @DisplayName("execute - Los registros no ocupan la capacidad reservada para los logins")
+    void testRegistrationsCannotTakeLoginReservedCapacity() throws Exception {
+        // Arrange: 1 hilo + 4 en cola, 2 plazas reservadas para login
+        executor = new PasswordHashingExecutor(1, 4, 1, 8, 2, 1, 500, 4, 2);
+        CountDownLatch release = blockSingleThread();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture.supplyAsync(() -> executor.execute(HashingPriority.REGISTRATION, () -> true), callers);
+        }
+        waitUntilQueued(3);
+
+        // Act & Assert: el siguiente registro se rechaza, pero un login todavía entra en cola
+        assertThatThrownBy(() -> executor.execute(HashingPriority.REGISTRATION, () -> true))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+        CompletableFuture<Boolean> login = CompletableFuture.supplyAsync(
+                () -> executor.execute(HashingPriority.LOGIN, () -> true), callers);
+        waitUntilQueued(4);
+        release.countDown();
+        assertThat(login.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getMetrics()).containsEntry("loginReservedCapacity", 2);
+        assertThat(priorityMetrics("registration")).containsEntry("rejectedTasks", 1L);
+    }
+
+    @Test
+    @DisplayName("withPriority - Las tareas del trabajo se contabilizan en la prioridad indicada")
+    void testWithPriorityOverridesTaskPriority() {
+        // Arrange
+        executor = new PasswordHashingExecutor(1, 4, 1);
+
+        // Act: el encoder pediría LOGIN, pero el trabajo se ha marcado como masivo
+        executor.withPriority(HashingPriority.BULK, () -> executor.execute(HashingPriority.LOGIN, () -> true));
+        executor.execute(HashingPriority.LOGIN, () -> true);
+
+        // Assert
+        assertThat(priorityMetrics("bulk")).containsEntry("completedTasks", 1L).containsEntry("weight", 1);
+        assertThat(priorityMetrics("login")).containsEntry("completedTasks", 1L).containsEntry("weight", 8);
+        assertThat(priorityMetrics("registration")).containsEntry("completedTasks", 0L)
+                .containsKeys("queuedTasks", "rejectedTasks", "avgQueueWaitMs", "maxQueueWaitMs");
+    }
+
+    private CountDownLatch blockSingleThread() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }), callers);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return release;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> priorityMetrics(String priority) {
+        return (Map<String, Object>) ((Map<String, Object>) executor.getMetrics().get("priorities")).get(priority);
+    }
+
+    private void waitUntilQueued(int expected) throws InterruptedException {
+        for (int i = 0; i < 500 && !Integer.valueOf(expected).equals(executor.getMetrics().get("queuedTasks")); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.getMetrics()).containsEntry("queuedTasks", expected);
+    }
+}
@@ -0,0 +1,111 @@
+package com.techcorp.authapp.service;
+
+import com.techcorp.authapp.repository.InMemoryRefreshTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para RefreshTokenService
+ * Cobertura: emisión, rotación, detección de reuso y revocación de sesiones
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService - Rotación y detección de reuso")
+class RefreshTokenServiceTest {
+
+    private static final String USERNAME = "test.user";
+    private static final String INVALID_REFRESH_TOKEN_MESSAGE = "Refresh token inválido";
+
+    @Spy
+    private InMemoryRefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @Test
+    @DisplayName("issueRefreshToken - Emite token opaco con familia y secreto")
+    void testIssueRefreshTokenCreatesFamily() {
+        // Act
+        String refreshToken = refreshTokenService.issueRefreshToken(USERNAME);
+
+        // Assert
+        assertThat(refreshToken).contains(".");
+        assertThat(refreshTokenRepository.countFamilies()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("rotateRefreshToken - Token vigente se rota dentro de la misma familia")
+    void testRotateRefreshTokenReturnsNewTokenForSameFamily() {
+        // Arrange
+        String refreshToken = refreshTokenService.issueRefreshToken(USERNAME);
+
+        // Act
+        RotatedRefreshToken rotated = refreshTokenService.rotateRefreshToken(refreshToken);
+
+        // Assert
+        assertThat(rotated.getUsername()).isEqualTo(USERNAME);
+        assertThat(rotated.getRefreshToken()).isNotEqualTo(refreshToken);
+        assertThat(familyId(rotated.getRefreshToken())).isEqualTo(familyId(refreshToken));
+        assertThat(refreshTokenRepository.countFamilies()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("rotateRefreshToken - Reusar un token rotado revoca la familia completa")
+    void testRotateRefreshTokenDetectsReuse() {
+        // Arrange
+        String original = refreshTokenService.issueRefreshToken(USERNAME);
+        RotatedRefreshToken rotated = refreshTokenService.rotateRefreshToken(original);
+
+        // Act & Assert: el token original ya fue consumido
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(original))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessage(INVALID_REFRESH_TOKEN_MESSAGE);
+
+        // El token legítimo más reciente también queda revocado
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(rotated.getRefreshToken()))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThat(refreshTokenRepository.countFamilies()).isZero();
+    }
+
+    @Test
+    @DisplayName("rotateRefreshToken - Formatos inválidos o familias desconocidas son rechazados")
+    void testRotateRefreshTokenRejectsMalformedTokens() {
+        String[] invalidTokens = {null, "", "sin-separador", ".secreto", "familia.", "desconocida.secreto"};
+
+        for (String invalidToken : invalidTokens) {
+            assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(invalidToken))
+                    .isInstanceOf(InvalidCredentialsException.class)
+                    .hasMessage(INVALID_REFRESH_TOKEN_MESSAGE);
+        }
+    }
+
+    @Test
+    @DisplayName("revokeUserSessions - Invalida todas las sesiones del usuario")
+    void testRevokeUserSessionsInvalidatesAllFamilies() {
+        // Arrange
+        String firstSession = refreshTokenService.issueRefreshToken(USERNAME);
+        String secondSession = refreshTokenService.issueRefreshToken(USERNAME);
+        String otherUserSession = refreshTokenService.issueRefreshToken("other.user");
+
+        // Act
+        refreshTokenService.revokeUserSessions(USERNAME);
+
+        // Assert
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(firstSession))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotateRefreshToken(secondSession))
+                .isInstanceOf(InvalidCredentialsException.class);
+        assertThat(refreshTokenService.rotateRefreshToken(otherUserSession).getUsername())
+                .isEqualTo("other.user");
+    }
+
+    private String familyId(String refreshToken) {
+        return refreshToken.substring(0, refreshToken.indexOf('.'));
+    }
+}
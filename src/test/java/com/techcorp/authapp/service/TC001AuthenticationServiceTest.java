@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -42,6 +43,9 @@ class TC001AuthenticationServiceTest {
     @Mock
     private TokenGenerationService tokenService;
 
+    @Spy
+    private AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(true, 20, 4, 200, 0.2, 1);
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -0,0 +1,90 @@
+package com.techcorp.authapp.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests para VerifiedCredentialCache
+ * Cobertura: aciertos, contraseñas distintas, cambio de hash, invalidación, TTL y límites
+ */
+@DisplayName("VerifiedCredentialCache - Cache de credenciales verificadas")
+class VerifiedCredentialCacheTest {
+
+    private static final String USERNAME = "service.account";
+    private static final String PASSWORD = "S3rvice-Passw0rd";
+    private static final String ENCODED_PASSWORD = "$2a$12$encodedPasswordHash";
+
+    @Test
+    @DisplayName("matches - La misma contraseña recién verificada es un acierto")
+    void testMatchesRememberedCredential() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(new CredentialDigester(), true, 60, 100);
+        cache.remember(USERNAME, PASSWORD, ENCODED_PASSWORD);
+
+        assertThat(cache.matches(USERNAME, PASSWORD, ENCODED_PASSWORD)).isTrue();
+    }
+
+    @Test
+    @DisplayName("matches - Una contraseña distinta no coincide y debe pasar por BCrypt")
+    void testDifferentPasswordDoesNotMatch() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(new CredentialDigester(), true, 60, 100);
+        cache.remember(USERNAME, PASSWORD, ENCODED_PASSWORD);
+
+        assertThat(cache.matches(USERNAME, "wrong-password", ENCODED_PASSWORD)).isFalse();
+        assertThat(cache.matches("other.user", PASSWORD, ENCODED_PASSWORD)).isFalse();
+        // El acierto original sigue vigente
+        assertThat(cache.matches(USERNAME, PASSWORD, ENCODED_PASSWORD)).isTrue();
+    }
+
+    @Test
+    @DisplayName("matches - Un cambio de hash almacenado invalida la entrada")
+    void testChangedEncodedPasswordInvalidatesEntry() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(new CredentialDigester(), true, 60, 100);
+        cache.remember(USERNAME, PASSWORD, ENCODED_PASSWORD);
+
+        assertThat(cache.matches(USERNAME, PASSWORD, "$2a$12$newPasswordHash")).isFalse();
+        assertThat(cache.countCachedCredentials()).isZero();
+    }
+
+    @Test
+    @DisplayName("invalidate - Descarta la credencial del usuario")
+    void testInvalidateRemovesCredential() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(new CredentialDigester(), true, 60, 100);
+        cache.remember(USERNAME, PASSWORD, ENCODED_PASSWORD);
+
+        cache.invalidate(USERNAME);
+
+        assertThat(cache.matches(USERNAME, PASSWORD, ENCODED_PASSWORD)).isFalse();
+    }
+
+    @Test
+    @DisplayName("matches - Las entradas expiradas no coinciden")
+    void testExpiredEntryDoesNotMatch() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(new CredentialDigester(), true, 0, 100);
+        cache.remember(USERNAME, PASSWORD, ENCODED_PASSWORD);
+
+        assertThat(cache.matches(USERNAME, PASSWORD, ENCODED_PASSWORD)).isFalse();
+    }
+
+    @Test
+    @DisplayName("remember - Con la cache llena no se agregan usuarios nuevos")
+    void testRememberRespectsMaxEntries() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(new CredentialDigester(), true, 60, 1);
+        cache.remember(USERNAME, PASSWORD, ENCODED_PASSWORD);
+        cache.remember("other.user", PASSWORD, ENCODED_PASSWORD);
+
+        assertThat(cache.countCachedCredentials()).isEqualTo(1);
+        assertThat(cache.matches("other.user", PASSWORD, ENCODED_PASSWORD)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deshabilitada - Nunca guarda ni coincide")
+    void testDisabledCacheNeverMatches() {
+        VerifiedCredentialCache cache = new VerifiedCredentialCache(new CredentialDigester(), false, 60, 100);
+        cache.remember(USERNAME, PASSWORD, ENCODED_PASSWORD);
+
+        assertThat(cache.matches(USERNAME, PASSWORD, ENCODED_PASSWORD)).isFalse();
+        assertThat(cache.countCachedCredentials()).isZero();
+    }
+}